@@ -5,52 +5,103 @@ const ctx = canvas.getContext("2d");
 
 document.getElementById("runBtn").addEventListener("click", runDijkstra);
 
-async function runDijkstra() {
-  const source = document.getElementById("startVertex").value.trim() || "A";
+// Streams the search from /shortest-path/stream: visited nodes are drawn as "step"
+// events arrive, and the path and table once the "result" event comes in.
+let source = null;
+
+function runDijkstra() {
+  const start = document.getElementById("startVertex").value.trim() || "A";
   const destination = document.getElementById("endVertex").value.trim() || "I";
 
+  if (source) source.close();
   tableBody.innerHTML = "<tr><td colspan='4'>Loading...</td></tr>";
 
-  try {
-    const response = await fetch(`${BASE}/shortest-path`, {
-      method: "POST",
-      headers: { "Content-Type": "application/json" },
-      body: JSON.stringify({ start: source, end: destination, algorithm: "dijkstra" })
-    });
-
-    if (!response.ok) throw new Error("Server error: " + response.status);
+  const params = new URLSearchParams({ start, end: destination, algorithm: "dijkstra" });
+  // Folded in as each step arrives, so a redraw costs the same however long the trace is
+  const state = { distances: {}, visited: new Set(), backwardDistances: {}, backwardVisited: new Set() };
+  let pending = false;
+  source = new EventSource(`${BASE}/shortest-path/stream?${params}`);
+
+  source.addEventListener("step", event => {
+    applyStep(state, JSON.parse(event.data));
+    // Redraw at most once per frame however fast the steps come in
+    if (!pending) {
+      pending = true;
+      requestAnimationFrame(() => {
+        pending = false;
+        drawGraph([], state.visited, state.backwardVisited);
+      });
+    }
+  });
 
-    const data = await response.json();
+  source.addEventListener("result", event => {
+    source.close();
+    source = null;
+    const data = JSON.parse(event.data);
     console.log("Response:", data);
+    renderResult(data, state);
+  });
 
-    const path = data.path || data.result?.path;
-    const distance = data.totalDistance || data.result?.totalDistance || data.distance;
-
-    if (!Array.isArray(path)) {
-      tableBody.innerHTML = `<tr><td colspan="4" style="color:red;">Error: Invalid path data</td></tr>`;
-      return;
+  source.addEventListener("timeout", event => {
+    source.close();
+    source = null;
+    const data = JSON.parse(event.data);
+    console.log("Timed out:", data);
+    if (data.partial) {
+      renderResult(data.partial, state);
+    } else {
+      tableBody.innerHTML = `<tr><td colspan='4' style="color:red;">Error: ${data.message}</td></tr>`;
     }
+  });
+
+  source.onerror = () => {
+    // The server closes the stream after the result; only report errors before that
+    if (!source) return;
+    source.close();
+    source = null;
+    tableBody.innerHTML = `<tr><td colspan='4' style="color:red;">Error: stream failed</td></tr>`;
+  };
+}
+
+function renderResult(data, state) {
+  const path = data.path;
+  const distance = data.totalDistance;
+
+  if (!Array.isArray(path)) {
+    tableBody.innerHTML = `<tr><td colspan="4" style="color:red;">Error: Invalid path data</td></tr>`;
+    return;
+  }
+
+  tableBody.innerHTML = "";
+  path.forEach((node, i) => {
+    const row = document.createElement("tr");
+    row.innerHTML = `
+      <td>${node}</td>
+      <td>${i === 0 ? "Yes" : "No"}</td>
+      <td>${i === path.length - 1 ? distance : "..."}</td>
+      <td>${path.slice(0, i + 1).join(" → ")}</td>
+    `;
+    tableBody.appendChild(row);
+  });
+
+  drawGraph(path, state.visited, state.backwardVisited);
+}
 
-    tableBody.innerHTML = "";
-    path.forEach((node, i) => {
-      const row = document.createElement("tr");
-      row.innerHTML = `
-        <td>${node}</td>
-        <td>${i === 0 ? "Yes" : "No"}</td>
-        <td>${i === path.length - 1 ? distance : "..."}</td>
-        <td>${path.slice(0, i + 1).join(" → ")}</td>
-      `;
-      tableBody.appendChild(row);
-    });
-
-    drawGraph(path);
-  } catch (err) {
-    console.error(err);
-    tableBody.innerHTML = `<tr><td colspan='4' style="color:red;">Error: ${err.message}</td></tr>`;
+// Applies one step of a delta trace to the distances and visited set (mirrors
+// TraceState.replay on the server). Unreached nodes are absent. Backward steps of a
+// bidirectional search have their own state; a backward relax labels the arc's tail.
+function applyStep(state, step) {
+  const backward = step.direction === "backward";
+  const distances = backward ? state.backwardDistances : state.distances;
+  if (step.action === "relax") {
+    distances[backward ? step.currentNode : step.targetNode] = step.distance;
+  } else {
+    distances[step.currentNode] = step.distance;
+    if (step.action === "visit") (backward ? state.backwardVisited : state.visited).add(step.currentNode);
   }
 }
 
-function drawGraph(path) {
+function drawGraph(path, visited = new Set(), backwardVisited = new Set()) {
   ctx.clearRect(0, 0, canvas.width, canvas.height);
 
   const nodes = {
@@ -98,7 +149,10 @@ function drawGraph(path) {
   Object.entries(nodes).forEach(([id, pos]) => {
     ctx.beginPath();
     ctx.arc(pos.x, pos.y, 22, 0, 2 * Math.PI);
-    ctx.fillStyle = path.includes(id) ? "#28a745" : "#fff";
+    ctx.fillStyle = path.includes(id) ? "#28a745"
+      : visited.has(id) ? "#cde8d4"
+      : backwardVisited.has(id) ? "#d4def0"
+      : "#fff";
     ctx.fill();
     ctx.lineWidth = 2;
     ctx.strokeStyle = "#333";
@@ -0,0 +1,104 @@
+package com.Vishal.FindShortestPath.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Compares a JMH JSON result file against a saved baseline and exits with status 1
+ * when any benchmark got slower, or allocates more per operation, by more than the
+ * threshold. Scores are average times, so higher is worse. Without a baseline file the
+ * comparison is skipped; numbers are only comparable on the machine and JDK that
+ * recorded the baseline (noted at the benchmark profile in pom.xml), so a JVM mismatch
+ * is reported first.
+ * <p>
+ * Usage: {@code BaselineComparator <baseline.json> <result.json> [thresholdPercent]}
+ */
+public final class BaselineComparator {
+    private static final String ALLOC_METRIC = "gc.alloc.rate.norm";
+
+    private BaselineComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: BaselineComparator <baseline.json> <result.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        File baselineFile = new File(args[0]);
+        File resultFile = new File(args[1]);
+        if (!baselineFile.isFile()) {
+            System.out.println("No baseline at " + baselineFile + "; skipping the comparison. To record one, "
+                    + "copy a result file from the reference machine there (see the benchmark profile in pom.xml).");
+            return;
+        }
+        if (!resultFile.isFile()) {
+            System.err.println("No results at " + resultFile + "; run mvn -Pbenchmark test-compile exec:exec first");
+            System.exit(2);
+        }
+        Map<String, JsonNode> baseline = load(baselineFile);
+        Map<String, JsonNode> current = load(resultFile);
+        String baselineJvm = jvm(baseline);
+        String currentJvm = jvm(current);
+        if (!baselineJvm.equals(currentJvm)) {
+            System.out.println("WARNING: baseline ran on " + baselineJvm + ", these results on " + currentJvm);
+        }
+
+        int regressions = 0;
+        System.out.printf("%-90s %12s %12s %8s %8s%n", "benchmark", "baseline", "current", "time", "alloc");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-90s %12s%n", entry.getKey(), "(new)");
+                continue;
+            }
+            JsonNode after = entry.getValue();
+            double oldScore = before.path("primaryMetric").path("score").asDouble();
+            double newScore = after.path("primaryMetric").path("score").asDouble();
+            double timeChange = change(oldScore, newScore);
+            double allocChange = change(allocation(before), allocation(after));
+            boolean regressed = timeChange > threshold || allocChange > threshold;
+            if (regressed) regressions++;
+            System.out.printf("%-90s %12.3f %12.3f %+7.1f%% %+7.1f%%%s%n", entry.getKey(), oldScore, newScore,
+                    timeChange, allocChange, regressed ? "  REGRESSION" : "");
+        }
+        System.out.printf("%d regression(s) over %.1f%%%n", regressions, threshold);
+        System.exit(regressions == 0 ? 0 : 1);
+    }
+
+    // Results keyed by benchmark name plus parameters
+    private static Map<String, JsonNode> load(File file) throws IOException {
+        Map<String, JsonNode> results = new TreeMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            result.path("params").properties().forEach(param ->
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+
+    // JDK of the first result; every result of one run has the same
+    private static String jvm(Map<String, JsonNode> results) {
+        if (results.isEmpty()) return "(no results)";
+        JsonNode first = results.values().iterator().next();
+        return first.path("vmName").asText() + " " + first.path("jdkVersion").asText();
+    }
+
+    // Bytes per operation from the GC profiler, or NaN when it was not enabled
+    private static double allocation(JsonNode result) {
+        for (Map.Entry<String, JsonNode> metric : result.path("secondaryMetrics").properties()) {
+            if (metric.getKey().endsWith(ALLOC_METRIC)) return metric.getValue().path("score").asDouble();
+        }
+        return Double.NaN;
+    }
+
+    private static double change(double before, double after) {
+        if (Double.isNaN(before) || Double.isNaN(after) || before == 0) return 0.0;
+        return (after - before) / before * 100.0;
+    }
+}
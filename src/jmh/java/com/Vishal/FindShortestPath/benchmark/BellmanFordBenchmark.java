@@ -0,0 +1,52 @@
+package com.Vishal.FindShortestPath.benchmark;
+
+import com.Vishal.FindShortestPath.model.CompiledGraph;
+import com.Vishal.FindShortestPath.model.PathResult;
+import com.Vishal.FindShortestPath.service.DijkstraService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/** Bellman-Ford variants are O(VE) in the worst case, so they only run on the smaller sizes. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BellmanFordBenchmark {
+
+    @Param({"grid", "geometric", "scalefree"})
+    public String type;
+
+    @Param({"1000", "10000"})
+    public int edges;
+
+    private final DijkstraService service = new DijkstraService();
+    private CompiledGraph graph;
+    private Queries queries;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = GraphGenerators.generate(type, edges, 42);
+        queries = new Queries(graph, 7);
+    }
+
+    @Benchmark
+    public PathResult bellmanFord() {
+        int q = queries.advance();
+        return service.bellmanFord(graph, queries.start(q), queries.end(q));
+    }
+
+    @Benchmark
+    public PathResult spfa() {
+        int q = queries.advance();
+        return service.spfa(graph, queries.start(q), queries.end(q));
+    }
+
+    @Benchmark
+    public PathResult parallelBellmanFord() {
+        int q = queries.advance();
+        return service.parallelBellmanFord(graph, queries.start(q), queries.end(q));
+    }
+}
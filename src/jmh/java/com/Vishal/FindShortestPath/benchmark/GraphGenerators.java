@@ -0,0 +1,145 @@
+package com.Vishal.FindShortestPath.benchmark;
+
+import com.Vishal.FindShortestPath.model.CompiledGraph;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Reproducible synthetic graphs for the benchmarks. All graphs are undirected, have
+ * coordinates, and use weights of at least the Euclidean distance so the A* and
+ * bidirectional A* heuristics stay admissible. Sizes are given in undirected
+ * edges; every edge becomes two arcs.
+ */
+public final class GraphGenerators {
+
+    private GraphGenerators() {
+    }
+
+    public static CompiledGraph generate(String type, int edges, long seed) {
+        switch (type) {
+            case "grid":
+                return grid(edges, seed);
+            case "geometric":
+                return randomGeometric(edges, seed);
+            case "scalefree":
+                return scaleFree(edges, seed);
+            default:
+                throw new IllegalArgumentException("Unknown graph type: " + type);
+        }
+    }
+
+    /** Square 4-connected grid with unit spacing and weights in [1, 1.5). */
+    public static CompiledGraph grid(int edges, long seed) {
+        Random random = new Random(seed);
+        int side = Math.max(2, (int) Math.sqrt(edges / 2.0));
+        CompiledGraph.Builder builder = new CompiledGraph.Builder();
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                builder.addNode("g" + (r * side + c), c, r);
+            }
+        }
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                int v = r * side + c;
+                if (c + 1 < side) addEdge(builder, v, v + 1, 1.0 + random.nextDouble() * 0.5);
+                if (r + 1 < side) addEdge(builder, v, v + side, 1.0 + random.nextDouble() * 0.5);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Points placed uniformly at unit density, each joined to every point within a
+     * radius chosen for an average degree of about eight.
+     */
+    public static CompiledGraph randomGeometric(int edges, long seed) {
+        Random random = new Random(seed);
+        int n = Math.max(2, edges / 4);
+        double extent = Math.sqrt(n);
+        double radius = Math.sqrt(8.0 / Math.PI);
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        CompiledGraph.Builder builder = new CompiledGraph.Builder();
+        for (int v = 0; v < n; v++) {
+            xs[v] = random.nextDouble() * extent;
+            ys[v] = random.nextDouble() * extent;
+            builder.addNode("r" + v, xs[v], ys[v]);
+        }
+
+        // Bucket points into radius-sized cells so only neighbouring cells are compared
+        int cells = Math.max(1, (int) (extent / radius));
+        int[] head = new int[cells * cells];
+        int[] next = new int[n];
+        Arrays.fill(head, -1);
+        for (int v = 0; v < n; v++) {
+            int cell = cell(xs[v], cells, extent) * cells + cell(ys[v], cells, extent);
+            next[v] = head[cell];
+            head[cell] = v;
+        }
+        for (int v = 0; v < n; v++) {
+            int cx = cell(xs[v], cells, extent), cy = cell(ys[v], cells, extent);
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    int x = cx + dx, y = cy + dy;
+                    if (x < 0 || y < 0 || x >= cells || y >= cells) continue;
+                    for (int w = head[x * cells + y]; w != -1; w = next[w]) {
+                        if (w <= v) continue;
+                        double d = Math.hypot(xs[v] - xs[w], ys[v] - ys[w]);
+                        if (d <= radius) addEdge(builder, v, w, d * (1.0 + random.nextDouble() * 0.5));
+                    }
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    /** Barabasi-Albert preferential attachment with four edges per new node. */
+    public static CompiledGraph scaleFree(int edges, long seed) {
+        Random random = new Random(seed);
+        int m = 4;
+        int n = Math.max(m + 1, edges / m);
+        double extent = Math.sqrt(n);
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        CompiledGraph.Builder builder = new CompiledGraph.Builder();
+        for (int v = 0; v < n; v++) {
+            xs[v] = random.nextDouble() * extent;
+            ys[v] = random.nextDouble() * extent;
+            builder.addNode("s" + v, xs[v], ys[v]);
+        }
+
+        // Every edge endpoint is recorded once, so sampling it is degree-proportional
+        int[] endpoints = new int[2 * m * n];
+        int count = 0;
+        for (int v = 0; v <= m; v++) {
+            for (int w = v + 1; w <= m; w++) {
+                addEdge(builder, v, w, weight(xs, ys, v, w, random));
+                endpoints[count++] = v;
+                endpoints[count++] = w;
+            }
+        }
+        for (int v = m + 1; v < n; v++) {
+            for (int i = 0; i < m; i++) {
+                int w = endpoints[random.nextInt(count)];
+                addEdge(builder, v, w, weight(xs, ys, v, w, random));
+                endpoints[count++] = v;
+                endpoints[count++] = w;
+            }
+        }
+        return builder.build();
+    }
+
+    private static int cell(double coordinate, int cells, double extent) {
+        return Math.min(cells - 1, (int) (coordinate / extent * cells));
+    }
+
+    private static double weight(double[] xs, double[] ys, int v, int w, Random random) {
+        return Math.hypot(xs[v] - xs[w], ys[v] - ys[w]) * (1.0 + random.nextDouble()) + 0.01;
+    }
+
+    private static void addEdge(CompiledGraph.Builder builder, int v, int w, double weight) {
+        builder.addArc(v, w, weight);
+        builder.addArc(w, v, weight);
+    }
+}
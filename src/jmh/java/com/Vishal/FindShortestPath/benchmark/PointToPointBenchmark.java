@@ -0,0 +1,77 @@
+package com.Vishal.FindShortestPath.benchmark;
+
+import com.Vishal.FindShortestPath.model.CompiledGraph;
+import com.Vishal.FindShortestPath.model.PathResult;
+import com.Vishal.FindShortestPath.model.QueueType;
+import com.Vishal.FindShortestPath.service.DijkstraService;
+import com.Vishal.FindShortestPath.service.SearchContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/** Single queries on the plain graph; no preprocessing. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Thread)
+public class PointToPointBenchmark {
+
+    @Param({"grid", "geometric", "scalefree"})
+    public String type;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int edges;
+
+    private final DijkstraService service = new DijkstraService();
+    private CompiledGraph graph;
+    private Queries queries;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = GraphGenerators.generate(type, edges, 42);
+        queries = new Queries(graph, 7);
+    }
+
+    @Benchmark
+    public PathResult dijkstra() {
+        int q = queries.advance();
+        return service.findShortestPath(graph, queries.start(q), queries.end(q));
+    }
+
+    @Benchmark
+    public PathResult dijkstraDaryHeap() {
+        int q = queries.advance();
+        return service.findShortestPath(graph, queries.start(q), queries.end(q),
+                SearchContext.untraced().withQueue(QueueType.DARY_HEAP));
+    }
+
+    // Target one arc from the start: with pooled workspaces this should not grow with the graph
+    @Benchmark
+    public PathResult dijkstraLocal() {
+        int q = queries.advance();
+        int start = graph.indexOf(queries.start(q));
+        int end = graph.firstEdge(start) < graph.endEdge(start) ? graph.target(graph.firstEdge(start)) : start;
+        return service.findShortestPath(graph, graph.id(start), graph.id(end),
+                SearchContext.untraced().withQueue(QueueType.DARY_HEAP));
+    }
+
+    @Benchmark
+    public PathResult aStar() {
+        int q = queries.advance();
+        return service.aStar(graph, queries.start(q), queries.end(q));
+    }
+
+    @Benchmark
+    public PathResult bidirectionalDijkstra() {
+        int q = queries.advance();
+        return service.bidirectionalDijkstra(graph, queries.start(q), queries.end(q), SearchContext.untraced());
+    }
+
+    @Benchmark
+    public PathResult bidirectionalAStar() {
+        int q = queries.advance();
+        return service.bidirectionalAStar(graph, queries.start(q), queries.end(q), SearchContext.untraced());
+    }
+}
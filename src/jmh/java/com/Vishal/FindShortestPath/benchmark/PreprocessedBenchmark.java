@@ -0,0 +1,67 @@
+package com.Vishal.FindShortestPath.benchmark;
+
+import com.Vishal.FindShortestPath.model.CompiledGraph;
+import com.Vishal.FindShortestPath.model.ContractionHierarchy;
+import com.Vishal.FindShortestPath.model.LandmarkIndex;
+import com.Vishal.FindShortestPath.model.PathResult;
+import com.Vishal.FindShortestPath.service.ContractionHierarchyService;
+import com.Vishal.FindShortestPath.service.DijkstraService;
+import com.Vishal.FindShortestPath.service.LandmarkService;
+import com.Vishal.FindShortestPath.service.SearchContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/** Queries on the ALT and CH indexes; preprocessing runs once per trial and is not measured. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Thread)
+public class PreprocessedBenchmark {
+
+    @Param({"grid", "geometric", "scalefree"})
+    public String type;
+
+    @Param({"1000", "100000", "1000000"})
+    public int edges;
+
+    private final DijkstraService service = new DijkstraService();
+    private final ContractionHierarchyService chService = new ContractionHierarchyService();
+    private LandmarkIndex landmarks;
+    private ContractionHierarchy hierarchy;
+    private Queries queries;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        CompiledGraph graph = GraphGenerators.generate(type, edges, 42);
+        queries = new Queries(graph, 7);
+        landmarks = new LandmarkService(service).build(graph, 8, "avoid");
+
+        chService.preprocess(graph);
+        while ((hierarchy = chService.ready(graph)) == null) {
+            if ("failed".equals(chService.status().get("state"))) {
+                throw new IllegalStateException("CH preprocessing failed: " + chService.status());
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        chService.shutdown();
+    }
+
+    @Benchmark
+    public PathResult alt() {
+        int q = queries.advance();
+        return service.alt(landmarks, queries.start(q), queries.end(q), SearchContext.untraced());
+    }
+
+    @Benchmark
+    public PathResult ch() {
+        int q = queries.advance();
+        return chService.query(hierarchy, queries.start(q), queries.end(q), SearchContext.untraced());
+    }
+}
@@ -0,0 +1,31 @@
+package com.Vishal.FindShortestPath.benchmark;
+
+import com.Vishal.FindShortestPath.model.CompiledGraph;
+
+import java.util.Random;
+
+/** Fixed, seeded list of random (start, end) pairs that benchmarks cycle through. */
+final class Queries {
+    private static final int COUNT = 256;
+
+    private final String[] starts = new String[COUNT];
+    private final String[] ends = new String[COUNT];
+    private int next;
+
+    Queries(CompiledGraph graph, long seed) {
+        Random random = new Random(seed);
+        for (int i = 0; i < COUNT; i++) {
+            starts[i] = graph.id(random.nextInt(graph.nodeCount()));
+            ends[i] = graph.id(random.nextInt(graph.nodeCount()));
+        }
+    }
+
+    /** Advances to the next pair and returns its index. */
+    int advance() {
+        next = (next + 1) % COUNT;
+        return next;
+    }
+
+    String start(int i) { return starts[i]; }
+    String end(int i) { return ends[i]; }
+}
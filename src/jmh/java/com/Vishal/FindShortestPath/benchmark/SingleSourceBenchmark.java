@@ -0,0 +1,56 @@
+package com.Vishal.FindShortestPath.benchmark;
+
+import com.Vishal.FindShortestPath.model.CompiledGraph;
+import com.Vishal.FindShortestPath.model.ShortestPathTree;
+import com.Vishal.FindShortestPath.service.DeltaSteppingService;
+import com.Vishal.FindShortestPath.service.DijkstraService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/** Full shortest path trees: sequential Dijkstra against parallel delta-stepping. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class SingleSourceBenchmark {
+
+    @Param({"grid", "geometric", "scalefree"})
+    public String type;
+
+    @Param({"100000", "1000000", "10000000"})
+    public int edges;
+
+    // 0 = one thread per core
+    @Param({"0"})
+    public int threads;
+
+    private final DijkstraService dijkstra = new DijkstraService();
+    private DeltaSteppingService deltaStepping;
+    private CompiledGraph graph;
+    private int source;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = GraphGenerators.generate(type, edges, 42);
+        source = graph.nodeCount() / 2;
+        deltaStepping = new DeltaSteppingService(threads, 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        deltaStepping.shutdown();
+    }
+
+    @Benchmark
+    public ShortestPathTree dijkstraTree() {
+        return dijkstra.shortestPathTree(graph, source);
+    }
+
+    @Benchmark
+    public ShortestPathTree deltaSteppingTree() {
+        return deltaStepping.shortestPathTree(graph, source);
+    }
+}
@@ -1,11 +1,18 @@
 package com.Vishal.FindShortestPath;
 
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 @SpringBootApplication
 public class FindShortestPathApplication {
 
@@ -27,4 +34,21 @@ public class FindShortestPathApplication {
             }
         };
     }
+
+    // CBOR (application/cbor) for clients that ask for it; appended after the JSON converter so
+    // JSON stays the default for the browser. Repeated strings such as node ids are written once
+    // and referenced after that (stringref), doubles as 4 bytes when that loses nothing.
+    @Bean
+    public WebMvcConfigurer cborConverter(Jackson2ObjectMapperBuilder builder) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+                CBORFactory factory = CBORFactory.builder()
+                        .enable(CBORGenerator.Feature.STRINGREF)
+                        .enable(CBORGenerator.Feature.WRITE_MINIMAL_DOUBLES)
+                        .build();
+                converters.add(new MappingJackson2CborHttpMessageConverter(builder.factory(factory).build()));
+            }
+        };
+    }
 }
@@ -2,14 +2,58 @@ package com.Vishal.FindShortestPath.controller;
 
 
 
+import com.Vishal.FindShortestPath.model.AllPairsTable;
+import com.Vishal.FindShortestPath.model.CompiledGraph;
+import com.Vishal.FindShortestPath.model.ContractionHierarchy;
 import com.Vishal.FindShortestPath.model.Graph;
+import com.Vishal.FindShortestPath.model.GraphSnapshot;
+import com.Vishal.FindShortestPath.model.LandmarkIndex;
 import com.Vishal.FindShortestPath.model.PathResult;
+import com.Vishal.FindShortestPath.model.QueueType;
+import com.Vishal.FindShortestPath.model.ShortestPathTree;
+import com.Vishal.FindShortestPath.model.SpatialIndex;
+import com.Vishal.FindShortestPath.model.TraceLevel;
+import com.Vishal.FindShortestPath.service.AdmissionControl;
+import com.Vishal.FindShortestPath.service.AdmissionRejectedException;
+import com.Vishal.FindShortestPath.service.AllPairsService;
+import com.Vishal.FindShortestPath.service.ContractionHierarchyService;
+import com.Vishal.FindShortestPath.service.DeltaSteppingService;
 import com.Vishal.FindShortestPath.service.DijkstraService;
+import com.Vishal.FindShortestPath.service.GraphLoader;
+import com.Vishal.FindShortestPath.service.GraphStore;
+import com.Vishal.FindShortestPath.service.GraphUpdater;
+import com.Vishal.FindShortestPath.service.LandmarkService;
+import com.Vishal.FindShortestPath.service.MatrixService;
+import com.Vishal.FindShortestPath.service.PathCache;
+import com.Vishal.FindShortestPath.service.SearchContext;
+import com.Vishal.FindShortestPath.service.SearchMetrics;
+import com.Vishal.FindShortestPath.service.SearchTimeoutException;
+import com.Vishal.FindShortestPath.service.SnapshotFileService;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.Callable;
 
 
 @RestController
@@ -17,19 +61,93 @@ import java.util.*;
 @CrossOrigin(origins = "*") // For production, replace * with your frontend domain
 public class GraphController {
 
+    private static final Logger log = LoggerFactory.getLogger(GraphController.class);
+
     @Autowired
     private DijkstraService dijkstraService;
 
-    private Graph graph;
+    @Autowired
+    private GraphStore graphStore;
+
+    @Autowired
+    private ContractionHierarchyService chService;
+
+    @Autowired
+    private LandmarkService landmarkService;
+
+    @Autowired
+    private PathCache pathCache;
+
+    @Autowired
+    private MatrixService matrixService;
+
+    @Autowired
+    private GraphLoader graphLoader;
+
+    @Autowired
+    private SnapshotFileService snapshotFiles;
+
+    @Autowired
+    private GraphUpdater graphUpdater;
+
+    @Autowired
+    private SearchMetrics searchMetrics;
+
+    @Autowired
+    private DeltaSteppingService deltaSteppingService;
 
-    public GraphController() {
+    @Autowired
+    private AdmissionControl admissionControl;
+
+    @Autowired
+    private AllPairsService allPairsService;
+
+    // Graph file mapped at startup and written by /snapshot/save; empty disables both
+    @Value("${graph.snapshot.path:}")
+    private String snapshotPath;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    // Step events written between flushes of the event stream
+    @Value("${graph.stream.flush-steps:64}")
+    private int flushSteps = 64;
+
+    // Default deadline for every search endpoint and the most a request may ask for; 0 means none
+    @Value("${graph.search.timeout-ms:30000}")
+    private long searchTimeoutMs;
+
+    // Where built and updated graphs keep their columns: heap or off-heap
+    @Value("${graph.storage:heap}")
+    private String storage = "heap";
+
+    // Build a Contraction Hierarchy in the background whenever the graph is replaced
+    @Value("${graph.ch.auto-preprocess:true}")
+    private boolean autoPreprocess;
+
+    @PostConstruct
+    void init() {
+        if (!snapshotPath.isBlank() && Files.exists(Path.of(snapshotPath))) {
+            try {
+                long start = System.nanoTime();
+                SnapshotFileService.Loaded loaded = snapshotFiles.load(Path.of(snapshotPath));
+                publish(loaded.graph(), loaded.landmarks(), loaded.hierarchy());
+                log.info("Mapped graph snapshot {} ({} nodes, {} arcs) in {} ms", snapshotPath,
+                        loaded.graph().nodeCount(), loaded.graph().edgeCount(), (System.nanoTime() - start) / 1_000_000);
+                return;
+            } catch (IOException | IllegalArgumentException e) {
+                log.warn("Could not load graph snapshot {}; starting with the default graph", snapshotPath, e);
+            }
+        }
         initializeDefaultGraph();
     }
 
 
     @PostMapping("/create")
     public ResponseEntity<Map<String, Object>> createGraph(@RequestBody GraphRequest request) {
-        graph = new Graph();
+        Graph graph = new Graph();
 
         // Add nodes
         for (NodeRequest node : request.getNodes()) {
@@ -40,6 +158,7 @@ public class GraphController {
         for (EdgeRequest edge : request.getEdges()) {
             graph.addEdge(edge.getFrom(), edge.getTo(), edge.getWeight());
         }
+        publish(graph);
 
         // Prepare response
         Map<String, Object> response = new HashMap<>();
@@ -58,73 +177,412 @@ public class GraphController {
     }
 
 
+    /**
+     * Bulk upload that streams the body straight into the compiled graph. The format
+     * comes from the format parameter or else the Content-Type: application/json,
+     * text/csv, text/tab-separated-values or application/octet-stream (binary).
+     */
+    @PostMapping("/load")
+    public ResponseEntity<Map<String, Object>> loadGraph(HttpServletRequest request,
+                                                         @RequestParam(required = false) String format,
+                                                         @RequestParam(defaultValue = "false") boolean directed)
+            throws IOException {
+        GraphLoader.Load load = graphLoader.load(request.getInputStream(), loadFormat(format, request.getContentType()),
+                directed);
+        GraphSnapshot snapshot = publish(load.graph());
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("success", true);
+        response.put("version", snapshot.version());
+        response.putAll(load.report());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Applies a batch of edge changes to the live graph as one new version. Cached paths
+     * and landmark tables that the batch cannot have invalidated are kept; the CH is rebuilt.
+     */
+    @PatchMapping("/edges")
+    public ResponseEntity<Map<String, Object>> updateEdges(@RequestBody EdgeUpdateRequest request) {
+        if (request.getUpdates() == null) {
+            throw new IllegalArgumentException("No edge updates given");
+        }
+        List<GraphUpdater.EdgeUpdate> updates = request.getUpdates().stream()
+                .map(u -> new GraphUpdater.EdgeUpdate(GraphUpdater.Op.parse(u.getOp()), u.getFrom(), u.getTo(),
+                        u.getWeight() == null ? Double.NaN : u.getWeight(), u.isDirected()))
+                .toList();
+
+        long start = System.nanoTime();
+        GraphSnapshot base;
+        GraphSnapshot snapshot;
+        GraphUpdater.Update update;
+        do {
+            // Another writer got in first: apply the batch again on top of its graph
+            base = graphStore.current();
+            update = graphUpdater.apply(base.graph(), updates);
+            update.graph().spatialIndex();
+            snapshot = graphStore.publishIfCurrent(base, stored(update.graph()));
+        } while (snapshot == null);
+        Map<String, Object> repaired = repair(base, snapshot, update);
+        long end = System.nanoTime();
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("success", true);
+        response.put("version", snapshot.version());
+        response.put("previousVersion", base.version());
+        response.put("set", update.set());
+        response.put("added", update.added());
+        response.put("removed", update.removed());
+        response.put("nodes", update.graph().nodeCount());
+        response.put("arcs", update.graph().edgeCount());
+        response.put("structural", update.structural());
+        response.putAll(repaired);
+        response.put("elapsedMs", (end - start) / 1_000_000.0);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportGraph() {
+        CompiledGraph compiledGraph = graphStore.current().graph();
+        StreamingResponseBody body = out -> graphLoader.writeBinary(compiledGraph, out);
+        return ResponseEntity.ok(body);
+    }
+
+
     @GetMapping("/default")
     public ResponseEntity<Map<String, Object>> getDefaultGraph() {
-        initializeDefaultGraph();
-        return ResponseEntity.ok(serializeGraph());
+        return ResponseEntity.ok(serializeGraph(initializeDefaultGraph()));
     }
 
     @PostMapping("/shortest-path")
-    public ResponseEntity<?> findShortestPath(@RequestBody PathRequest request) {
-        if (graph == null) {
-            initializeDefaultGraph();
-        }
-
+    public ResponseEntity<?> findShortestPath(@RequestBody PathRequest request,
+                                              @RequestHeader(value = "X-Request-Timeout", required = false) Long timeoutHeader) {
         String algorithm = (request.getAlgorithm() == null)
                 ? "dijkstra"
                 : request.getAlgorithm().toLowerCase();
 
-        PathResult result;
+        SearchContext ctx = SearchContext.of(traceLevel(request))
+                .withQueue(QueueType.parse(request.getQueue()))
+                .withTimeout(searchTimeout(request.getTimeoutMs() != null ? request.getTimeoutMs() : timeoutHeader));
+        long started = System.nanoTime();
+        // Pin one snapshot for the whole query; a concurrent /create cannot affect it
+        GraphSnapshot snapshot = graphStore.current();
+        CompiledGraph compiled = snapshot.graph();
+        long version = snapshot.version();
+        snap(request, compiled);
 
-        switch (algorithm) {
-            case "bellman-ford":
-                result = dijkstraService.bellmanFord(graph, request.getStart(), request.getEnd());
-                break;
-            case "a-star":
-            case "astar":
-            case "a*":
-                result = dijkstraService.aStar(graph, request.getStart(), request.getEnd());
-                break;
-            default:
-                result = dijkstraService.findShortestPath(graph, request.getStart(), request.getEnd());
+        // Only untraced results are cached; traces describe one particular search. Entries are
+        // keyed by what really runs, so a fallback never answers for an index built later
+        boolean cacheable = ctx.getTraceLevel() == TraceLevel.NONE;
+        String ran = resolve(algorithm, compiled);
+        if (cacheable) {
+            PathResult cached = pathCache.get(version, request.getStart(), request.getEnd(), ran);
+            if (cached != null) {
+                searchMetrics.record(cached, null, System.nanoTime() - started);
+                return ResponseEntity.ok(cached);
+            }
+        }
+
+        // Cached answers above cost nothing; only real searches take a slot
+        PathResult result;
+        try (AdmissionControl.Permit permit = admissionControl.admit(algorithm, compiled)) {
+            result = runAlgorithm(ran, snapshot, request.getStart(), request.getEnd(), ctx, cacheable);
         }
 
+        searchMetrics.record(result, ctx, System.nanoTime() - started);
+        if (request.getStep() != null) {
+            result = result.withStateAt(request.getStep());
+        }
+        // An index replaced mid-search by a newer graph's makes runAlgorithm fall back after all
+        if (cacheable && ran.equals(resolve(algorithm, compiled))) {
+            pathCache.put(version, request.getStart(), request.getEnd(), ran, result);
+        }
         return ResponseEntity.ok(result);
     }
 
 
+    /**
+     * Server-Sent Events form of /shortest-path with a delta trace: a "step" event for
+     * each step as the search makes it, then a "result" event with the path and stats
+     * (its steps list is empty). Steps go straight to the response, so the server never
+     * holds the trace; once the socket buffer is full, writes block and the search waits
+     * for the client. A search that passes its deadline ends the stream with a "timeout"
+     * event instead, carrying the same fields as the 504 body of /shortest-path.
+     */
+    @GetMapping(value = "/shortest-path/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamShortestPath(@RequestParam String start,
+                                                                    @RequestParam String end,
+                                                                    @RequestParam(defaultValue = "dijkstra") String algorithm,
+                                                                    @RequestParam(required = false) String queue,
+                                                                    @RequestParam(required = false) Long timeoutMs,
+                                                                    @RequestHeader(value = "X-Request-Timeout", required = false) Long timeoutHeader,
+                                                                    HttpServletRequest request) {
+        GraphSnapshot snapshot = graphStore.current();
+        QueueType queueType = QueueType.parse(queue);
+        // The clock starts with the request, not when the stream begins
+        SearchContext deadline = SearchContext.untraced()
+                .withTimeout(searchTimeout(timeoutMs != null ? timeoutMs : timeoutHeader));
+        AdmissionControl.Permit permit = admissionControl.admit(algorithm.toLowerCase(), snapshot.graph());
+        releaseWhenDone(request, permit);
+
+        StreamingResponseBody body = out -> {
+            try (permit) {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 13);
+                int[] unflushed = {0};
+                SearchContext ctx = SearchContext.streaming(step -> {
+                    try {
+                        writeEvent(writer, "step", objectMapper.writeValueAsString(step));
+                        if (++unflushed[0] >= flushSteps) {
+                            writer.flush();
+                            unflushed[0] = 0;
+                        }
+                    } catch (IOException e) {
+                        // Client went away; abandon the search
+                        throw new UncheckedIOException(e);
+                    }
+                }).withQueue(queueType).withDeadlineOf(deadline);
+                try {
+                    PathResult result = runAlgorithm(algorithm.toLowerCase(), snapshot, start, end, ctx, false);
+                    writeEvent(writer, "result", objectMapper.writeValueAsString(result));
+                    writer.flush();
+                } catch (SearchTimeoutException e) {
+                    writeEvent(writer, "timeout", objectMapper.writeValueAsString(timeoutBody(e)));
+                    writer.flush();
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+            }
+        };
+        return ResponseEntity.ok().header("Cache-Control", "no-cache").body(body);
+    }
+
     @PostMapping("/compare")
-    public ResponseEntity<Map<String, Object>> compareAlgorithms(@RequestBody PathRequest request) {
-        if (graph == null) {
-            initializeDefaultGraph();
+    public ResponseEntity<Map<String, Object>> compareAlgorithms(@RequestBody PathRequest request,
+                                                                 @RequestHeader(value = "X-Request-Timeout", required = false) Long timeoutHeader) {
+        // One deadline for all six searches
+        SearchContext deadline = SearchContext.untraced()
+                .withTimeout(searchTimeout(request.getTimeoutMs() != null ? request.getTimeoutMs() : timeoutHeader));
+        CompiledGraph compiledGraph = graphStore.current().graph();
+        snap(request, compiledGraph);
+        try (AdmissionControl.Permit permit = admissionControl.admit("compare", compiledGraph)) {
+            return ResponseEntity.ok(compare(compiledGraph, request, deadline));
         }
+    }
+
+    private Map<String, Object> compare(CompiledGraph compiledGraph, PathRequest request, SearchContext deadline) {
+        // Counters are always reported here; steps only when explicitly asked for
+        TraceLevel trace = TraceLevel.parse(request.getTrace());
+        TraceLevel level = trace == TraceLevel.NONE ? TraceLevel.SUMMARY : trace;
+        QueueType queue = QueueType.parse(request.getQueue());
 
         Map<String, Object> comparison = new LinkedHashMap<>();
 
         // --- Dijkstra ---
         long start = System.nanoTime();
-        PathResult dijkstra = dijkstraService.findShortestPath(graph, request.getStart(), request.getEnd());
+        PathResult dijkstra = dijkstraService.findShortestPath(compiledGraph, request.getStart(), request.getEnd(),
+                SearchContext.of(level).withQueue(queue).withDeadlineOf(deadline));
         long end = System.nanoTime();
         comparison.put("Dijkstra", buildResultMap(dijkstra, start, end));
 
         // --- Bellman-Ford ---
         start = System.nanoTime();
-        PathResult bellman = dijkstraService.bellmanFord(graph, request.getStart(), request.getEnd());
+        PathResult bellman = dijkstraService.bellmanFord(compiledGraph, request.getStart(), request.getEnd(),
+                SearchContext.of(level).withQueue(queue).withDeadlineOf(deadline));
         end = System.nanoTime();
         comparison.put("Bellman-Ford", buildResultMap(bellman, start, end));
 
+        // --- SPFA ---
+        start = System.nanoTime();
+        PathResult spfa = dijkstraService.spfa(compiledGraph, request.getStart(), request.getEnd(),
+                SearchContext.of(level).withQueue(queue).withDeadlineOf(deadline));
+        end = System.nanoTime();
+        comparison.put("SPFA", buildResultMap(spfa, start, end));
+
         // --- A* ---
         start = System.nanoTime();
-        PathResult aStar = dijkstraService.aStar(graph, request.getStart(), request.getEnd());
+        PathResult aStar = dijkstraService.aStar(compiledGraph, request.getStart(), request.getEnd(),
+                SearchContext.of(level).withQueue(queue).withDeadlineOf(deadline));
         end = System.nanoTime();
         comparison.put("A*", buildResultMap(aStar, start, end));
 
-        return ResponseEntity.ok(comparison);
+        // --- Bidirectional Dijkstra ---
+        start = System.nanoTime();
+        PathResult biDijkstra = dijkstraService.bidirectionalDijkstra(compiledGraph, request.getStart(), request.getEnd(),
+                SearchContext.of(level).withQueue(queue).withDeadlineOf(deadline));
+        end = System.nanoTime();
+        comparison.put("Bidirectional Dijkstra", buildResultMap(biDijkstra, start, end));
+
+        // --- Bidirectional A* ---
+        start = System.nanoTime();
+        PathResult biAStar = dijkstraService.bidirectionalAStar(compiledGraph, request.getStart(), request.getEnd(),
+                SearchContext.of(level).withQueue(queue).withDeadlineOf(deadline));
+        end = System.nanoTime();
+        comparison.put("Bidirectional A*", buildResultMap(biAStar, start, end));
+
+        return comparison;
+    }
+
+
+    @PostMapping("/matrix")
+    public ResponseEntity<Map<String, Object>> distanceMatrix(@RequestBody MatrixRequest request,
+                                                              @RequestHeader(value = "X-Request-Timeout", required = false) Long timeoutHeader) {
+        SearchContext deadline = SearchContext.untraced()
+                .withTimeout(searchTimeout(request.getTimeoutMs() != null ? request.getTimeoutMs() : timeoutHeader));
+        CompiledGraph compiledGraph = graphStore.current().graph();
+        long start = System.nanoTime();
+        Map<String, Object> matrix;
+        try (AdmissionControl.Permit permit = admissionControl.admit("matrix", compiledGraph)) {
+            matrix = matrixService.matrix(compiledGraph, allPairsService.readyForDijkstra(compiledGraph),
+                    request.getSources(), request.getTargets(), request.isPaths(), deadline);
+        }
+        searchMetrics.recordMatrix(System.nanoTime() - start);
+        return ResponseEntity.ok(matrix);
+    }
+
+
+    /**
+     * Every node within the budget of the source, streamed in order of distance as the
+     * search settles them, each with its parent so clients can draw the tree. If the
+     * deadline passes first, the nodes so far are followed by {@code "timedOut": true}.
+     */
+    @PostMapping(value = "/isochrone", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> isochrone(@RequestBody IsochroneRequest request,
+                                                           @RequestHeader(value = "X-Request-Timeout", required = false) Long timeoutHeader,
+                                                           HttpServletRequest httpRequest) {
+        GraphSnapshot snapshot = graphStore.current();
+        CompiledGraph compiledGraph = snapshot.graph();
+        String sourceId = request.getSource() != null || request.getSourcePoint() == null
+                ? request.getSource()
+                : nearestId(compiledGraph, request.getSourcePoint());
+        int source = compiledGraph.indexOf(sourceId);
+        if (source < 0) {
+            throw new IllegalArgumentException("Unknown source node: " + sourceId);
+        }
+        double budget = request.getBudget();
+        if (!(budget >= 0)) {
+            throw new IllegalArgumentException("budget must be a non-negative number");
+        }
+        SearchContext ctx = SearchContext.untraced().withQueue(QueueType.parse(request.getQueue()))
+                .withTimeout(searchTimeout(request.getTimeoutMs() != null ? request.getTimeoutMs() : timeoutHeader));
+        AdmissionControl.Permit permit = admissionControl.admit("isochrone", compiledGraph);
+        releaseWhenDone(httpRequest, permit);
+
+        StreamingResponseBody body = out -> {
+            try (permit) {
+                try (JsonGenerator json = jsonFactory.createGenerator(out)) {
+                    json.writeStartObject();
+                    json.writeStringField("source", sourceId);
+                    json.writeNumberField("budget", budget);
+                    json.writeNumberField("version", snapshot.version());
+                    json.writeArrayFieldStart("nodes");
+                    int[] count = {0};
+                    boolean timedOut = false;
+                    try {
+                        dijkstraService.withinBudget(compiledGraph, source, budget, ctx, (node, distance, parent) -> {
+                            try {
+                                json.writeStartObject();
+                                json.writeStringField("id", compiledGraph.id(node));
+                                json.writeNumberField("distance", distance);
+                                json.writeStringField("parent", parent < 0 ? null : compiledGraph.id(parent));
+                                json.writeEndObject();
+                                count[0]++;
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+                    } catch (SearchTimeoutException e) {
+                        timedOut = true;
+                    }
+                    json.writeEndArray();
+                    json.writeNumberField("count", count[0]);
+                    if (timedOut) {
+                        json.writeBooleanField("timedOut", true);
+                    }
+                    json.writeEndObject();
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+            }
+        };
+        return ResponseEntity.ok(body);
+    }
+
+    /** Snaps each point to its nearest node; entries are null when no node has coordinates. */
+    @PostMapping("/nearest")
+    public ResponseEntity<Map<String, Object>> nearestNodes(@RequestBody NearestRequest request) {
+        if (request.getPoints() == null) {
+            throw new IllegalArgumentException("No points given");
+        }
+        GraphSnapshot snapshot = graphStore.current();
+        CompiledGraph compiledGraph = snapshot.graph();
+        SpatialIndex index = compiledGraph.spatialIndex();
+
+        List<Map<String, Object>> nodes = new ArrayList<>(request.getPoints().size());
+        for (PointRequest point : request.getPoints()) {
+            int node = index.nearest(point.getX(), point.getY());
+            if (node < 0) {
+                nodes.add(null);
+                continue;
+            }
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("id", compiledGraph.id(node));
+            entry.put("x", compiledGraph.x(node));
+            entry.put("y", compiledGraph.y(node));
+            entry.put("distance", Math.hypot(compiledGraph.x(node) - point.getX(), compiledGraph.y(node) - point.getY()));
+            nodes.add(entry);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("version", snapshot.version());
+        response.put("nodes", nodes);
+        return ResponseEntity.ok(response);
+    }
+
+    /** Writes the current graph plus any finished ALT/CH indexes to the snapshot file. */
+    @PostMapping("/snapshot/save")
+    public ResponseEntity<Map<String, Object>> saveSnapshot() throws IOException {
+        if (snapshotPath.isBlank()) {
+            throw new IllegalArgumentException("graph.snapshot.path is not configured");
+        }
+        GraphSnapshot snapshot = graphStore.current();
+        LandmarkIndex landmarks = landmarkService.ready(snapshot.graph());
+        ContractionHierarchy ch = chService.ready(snapshot.graph());
+
+        long start = System.nanoTime();
+        long bytes = snapshotFiles.save(Path.of(snapshotPath), snapshot.version(), snapshot.graph(), landmarks, ch);
+        long end = System.nanoTime();
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("success", true);
+        response.put("path", Path.of(snapshotPath).toAbsolutePath().toString());
+        response.put("version", snapshot.version());
+        response.put("bytes", bytes);
+        response.put("elapsedMs", (end - start) / 1_000_000.0);
+        response.put("landmarks", landmarks != null);
+        response.put("contractionHierarchy", ch != null);
+        return ResponseEntity.ok(response);
     }
 
 
-    private void initializeDefaultGraph() {
-        graph = new Graph();
+    @GetMapping("/ch/status")
+    public ResponseEntity<Map<String, Object>> chStatus() {
+        return ResponseEntity.ok(chService.status());
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> cacheStats() {
+        return ResponseEntity.ok(pathCache.stats());
+    }
+
+    @PostMapping("/ch/preprocess")
+    public ResponseEntity<Map<String, Object>> chPreprocess() {
+        chService.preprocess(graphStore.current().graph());
+        return ResponseEntity.accepted().body(chService.status());
+    }
+
+
+    private GraphSnapshot initializeDefaultGraph() {
+        Graph graph = new Graph();
 
         // Nodes
         graph.addNode("A", 100, 100);
@@ -150,24 +608,290 @@ public class GraphController {
         graph.addEdge("F", "I", 2);
         graph.addEdge("G", "H", 1);
         graph.addEdge("H", "I", 3);
+
+        return publish(graph);
+    }
+
+    private GraphSnapshot publish(Graph graph) {
+        return publish(CompiledGraph.compile(graph));
+    }
+
+    // Graphs are built on the calling thread, then swapped in for all later requests
+    private GraphSnapshot publish(CompiledGraph compiledGraph) {
+        return publish(stored(compiledGraph), null, null);
+    }
+
+    // Loaded, updated and mapped graphs are in place already; graphs built on the heap are moved if configured
+    private CompiledGraph stored(CompiledGraph compiledGraph) {
+        return switch (storage) {
+            case "heap" -> compiledGraph;
+            case "off-heap" -> compiledGraph.isOffHeap() ? compiledGraph : compiledGraph.offHeap();
+            default -> throw new IllegalStateException("Unknown graph.storage: " + storage);
+        };
+    }
+
+    // Indexes that come with the graph are installed; missing ones are built in the background
+    private GraphSnapshot publish(CompiledGraph compiledGraph, LandmarkIndex landmarks, ContractionHierarchy ch) {
+        // Built here so the first coordinate query does not pay for it
+        compiledGraph.spatialIndex();
+        GraphSnapshot snapshot = graphStore.publish(compiledGraph);
+        synchronized (this) {
+            // A newer graph may already have been published by another request
+            if (graphStore.current() == snapshot) {
+                pathCache.invalidateAll();
+                if (landmarks != null) {
+                    landmarkService.install(landmarks);
+                } else {
+                    landmarkService.preprocess(snapshot.graph());
+                }
+                if (ch != null) {
+                    chService.install(ch);
+                } else if (autoPreprocess) {
+                    chService.preprocess(snapshot.graph());
+                }
+                allPairsService.preprocess(snapshot.graph());
+            }
+        }
+        return snapshot;
+    }
+
+    // Keeps whatever the update cannot have made wrong; see GraphUpdater.Update#keeps
+    private Map<String, Object> repair(GraphSnapshot base, GraphSnapshot snapshot, GraphUpdater.Update update) {
+        Map<String, Object> repaired = new LinkedHashMap<>();
+        synchronized (this) {
+            if (graphStore.current() != snapshot) return repaired;
+
+            if (update.nonDecreasing()) {
+                repaired.put("cacheEntriesKept",
+                        pathCache.carryOver(base.version(), snapshot.version(), update::keeps, update::keeps));
+            } else {
+                // A shorter arc can improve any cached path
+                pathCache.invalidateAll();
+                repaired.put("cacheEntriesKept", 0);
+            }
+
+            // Lengthening arcs never makes the old lower bounds overestimate
+            LandmarkIndex landmarks = landmarkService.ready(base.graph());
+            if (landmarks != null && update.nonDecreasing()) {
+                landmarkService.install(landmarks.withGraph(snapshot.graph()));
+                repaired.put("landmarks", "kept");
+            } else {
+                landmarkService.preprocess(snapshot.graph());
+                repaired.put("landmarks", "rebuilding");
+            }
+
+            // Shortcuts encode old distances in both directions, so the CH is rebuilt
+            if (autoPreprocess || chService.ready(base.graph()) != null) {
+                chService.preprocess(snapshot.graph());
+                repaired.put("contractionHierarchy", "rebuilding");
+            }
+            allPairsService.preprocess(snapshot.graph());
+        }
+        return repaired;
     }
 
     /** ====================== HELPER METHODS ====================== **/
-    private Map<String, Object> serializeGraph() {
+    // The algorithm switch shared by /shortest-path and its streaming variant
+    private PathResult runAlgorithm(String algorithm, GraphSnapshot snapshot, String start, String end,
+                                    SearchContext ctx, boolean useTrees) {
+        CompiledGraph compiled = snapshot.graph();
+        switch (algorithm) {
+            case "bellman-ford":
+                return dijkstraService.bellmanFord(compiled, start, end, ctx);
+            case "spfa":
+                return dijkstraService.spfa(compiled, start, end, ctx);
+            case "parallel-bellman-ford":
+            case "bellman-ford-parallel":
+                return dijkstraService.parallelBellmanFord(compiled, start, end, ctx);
+            case "delta-stepping":
+                return deltaSteppingService.deltaStepping(compiled, start, end, ctx);
+            case "a-star":
+            case "astar":
+            case "a*":
+                return dijkstraService.aStar(compiled, start, end, ctx);
+            case "bidirectional-dijkstra":
+                return dijkstraService.bidirectionalDijkstra(compiled, start, end, ctx);
+            case "bidirectional-astar":
+            case "bidirectional-a*":
+                return dijkstraService.bidirectionalAStar(compiled, start, end, ctx);
+            case "alt":
+                // Landmark tables are built in the background; A* until they are ready
+                LandmarkIndex landmarks = landmarkService.ready(compiled);
+                return (landmarks != null)
+                        ? dijkstraService.alt(landmarks, start, end, ctx)
+                        : dijkstraService.aStar(compiled, start, end, ctx);
+            case "ch":
+                // Plain Dijkstra until preprocessing has finished
+                ContractionHierarchy ch = chService.ready(compiled);
+                return (ch != null)
+                        ? chService.query(ch, start, end, ctx)
+                        : dijkstraService.findShortestPath(compiled, start, end, ctx);
+            case "all-pairs":
+                // Explicit opt-in: Floyd-Warshall answers on graphs with negative arcs too
+                AllPairsTable allPairs = allPairsService.ready(compiled);
+                return (allPairs != null)
+                        ? allPairsService.query(allPairs, start, end)
+                        : dijkstraService.findShortestPath(compiled, start, end, ctx);
+            default:
+                // Small graphs have every pair precomputed; traced requests still search
+                AllPairsTable table = useTrees ? allPairsService.readyForDijkstra(compiled) : null;
+                if (table != null) {
+                    return allPairsService.query(table, start, end, "Dijkstra");
+                }
+                int source = compiled.indexOf(start);
+                if (useTrees && pathCache.treesEnabled() && source >= 0) {
+                    // Whole tree per source, so every destination from it is answered from memory
+                    ShortestPathTree tree = pathCache.getTree(snapshot.version(), source);
+                    if (tree == null) {
+                        tree = dijkstraService.shortestPathTree(compiled, source, ctx);
+                        pathCache.putTree(snapshot.version(), tree);
+                    }
+                    return dijkstraService.pathFromTree(compiled, tree, end);
+                }
+                return dijkstraService.findShortestPath(compiled, start, end, ctx);
+        }
+    }
+
+    /**
+     * Streaming bodies run later on the MVC async executor. Their permit is taken on the
+     * request thread, so a full class answers 429 at once rather than after a wait in the
+     * executor's queue, and is held until the body ends. It also goes back when async
+     * processing completes without the body finishing, e.g. on an async timeout or a
+     * client that disconnected while the body was still queued.
+     */
+    private static void releaseWhenDone(HttpServletRequest request, AdmissionControl.Permit permit) {
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(permit, new CallableProcessingInterceptor() {
+            @Override
+            public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                permit.close();
+            }
+        });
+    }
+
+    // The algorithm runAlgorithm will run: indexed ones fall back until their index is ready
+    private String resolve(String algorithm, CompiledGraph compiled) {
+        return switch (algorithm) {
+            case "alt" -> landmarkService.ready(compiled) != null ? algorithm : "a-star";
+            case "ch" -> chService.ready(compiled) != null ? algorithm : "dijkstra";
+            case "all-pairs" -> allPairsService.ready(compiled) != null ? algorithm : "dijkstra";
+            default -> algorithm;
+        };
+    }
+
+    // Asking for the state at a step implies a delta trace to replay
+    private TraceLevel traceLevel(PathRequest request) {
+        TraceLevel level = TraceLevel.parse(request.getTrace());
+        if (request.getStep() == null) return level;
+        if (request.getStep() < 0) {
+            throw new IllegalArgumentException("step must not be negative: " + request.getStep());
+        }
+        if (level == TraceLevel.SUMMARY) {
+            throw new IllegalArgumentException("step needs a delta trace, not summary");
+        }
+        return TraceLevel.DELTA;
+    }
+
+    // Requests may shorten the server's deadline but not extend it
+    private Duration searchTimeout(Long requestedMs) {
+        if (requestedMs != null && requestedMs <= 0) {
+            throw new IllegalArgumentException("Timeout must be positive: " + requestedMs);
+        }
+        long ms = searchTimeoutMs <= 0 ? (requestedMs == null ? 0 : requestedMs)
+                : requestedMs == null ? searchTimeoutMs
+                : Math.min(requestedMs, searchTimeoutMs);
+        return Duration.ofMillis(ms);
+    }
+
+    // Requests may give coordinates instead of node ids; those snap to the nearest node
+    private void snap(PathRequest request, CompiledGraph graph) {
+        if (request.getStart() == null && request.getStartPoint() != null) {
+            request.setStart(nearestId(graph, request.getStartPoint()));
+        }
+        if (request.getEnd() == null && request.getEndPoint() != null) {
+            request.setEnd(nearestId(graph, request.getEndPoint()));
+        }
+    }
+
+    private String nearestId(CompiledGraph graph, PointRequest point) {
+        int node = graph.spatialIndex().nearest(point.getX(), point.getY());
+        if (node < 0) {
+            throw new IllegalArgumentException("No node has coordinates to snap to");
+        }
+        return graph.id(node);
+    }
+
+    private Map<String, Object> serializeGraph(GraphSnapshot snapshot) {
         Map<String, Object> map = new HashMap<>();
-        map.put("nodes", graph.getNodes());
-        map.put("edges", graph.getAdjacencyList());
+        map.put("nodes", snapshot.nodes());
+        map.put("edges", snapshot.adjacencyList());
+        map.put("version", snapshot.version());
         return map;
     }
 
+    private static void writeEvent(Writer writer, String event, String json) throws IOException {
+        writer.write("event: ");
+        writer.write(event);
+        writer.write("\ndata: ");
+        writer.write(json);
+        writer.write("\n\n");
+    }
+
+    private String loadFormat(String format, String contentType) {
+        if (format != null) return format.toLowerCase();
+        String type = contentType == null ? "" : contentType.toLowerCase();
+        if (type.startsWith("text/csv")) return "csv";
+        if (type.startsWith("text/tab-separated-values")) return "tsv";
+        if (type.startsWith("application/octet-stream")) return "binary";
+        return "json";
+    }
+
     private Map<String, Object> buildResultMap(PathResult result, long start, long end) {
         Map<String, Object> map = new HashMap<>();
         map.put("result", result);
         map.put("executionTimeMs", (end - start) / 1_000_000.0);
         map.put("stepsCount", result.getSteps().size());
+        map.put("stats", result.getStats());
         return map;
     }
 
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, Object>> handleBadRequest(IllegalArgumentException e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", e.getMessage());
+        return ResponseEntity.badRequest().body(response);
+    }
+
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handleRejected(AdmissionRejectedException e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", e.getMessage());
+        response.put("costClass", e.getCostClass());
+        response.put("retryAfterSeconds", e.getRetryAfterSeconds());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header("Retry-After", String.valueOf(e.getRetryAfterSeconds()))
+                .body(response);
+    }
+
+    @ExceptionHandler(SearchTimeoutException.class)
+    public ResponseEntity<Map<String, Object>> handleTimeout(SearchTimeoutException e) {
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(timeoutBody(e));
+    }
+
+    private Map<String, Object> timeoutBody(SearchTimeoutException e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("timedOut", true);
+        response.put("message", e.getMessage());
+        response.put("timeoutMs", e.getTimeoutMillis());
+        if (e.getPartial() != null) {
+            // Best path found before the deadline; not necessarily the shortest
+            response.put("partial", e.getPartial());
+        }
+        return response;
+    }
+
     /** ====================== DTO CLASSES ====================== **/
     public static class GraphRequest {
         private List<NodeRequest> nodes;
@@ -205,16 +929,112 @@ public class GraphController {
         public void setWeight(double weight) { this.weight = weight; }
     }
 
+    public static class EdgeUpdateRequest {
+        private List<EdgeUpdateItem> updates;
+
+        public List<EdgeUpdateItem> getUpdates() { return updates; }
+        public void setUpdates(List<EdgeUpdateItem> updates) { this.updates = updates; }
+    }
+
+    public static class EdgeUpdateItem {
+        private String op; // set, add or remove
+        private String from;
+        private String to;
+        private Double weight; // not needed for remove
+        private boolean directed; // only from -> to; default is both directions
+
+        public String getOp() { return op; }
+        public void setOp(String op) { this.op = op; }
+        public String getFrom() { return from; }
+        public void setFrom(String from) { this.from = from; }
+        public String getTo() { return to; }
+        public void setTo(String to) { this.to = to; }
+        public Double getWeight() { return weight; }
+        public void setWeight(Double weight) { this.weight = weight; }
+        public boolean isDirected() { return directed; }
+        public void setDirected(boolean directed) { this.directed = directed; }
+    }
+
     public static class PathRequest {
         private String start;
         private String end;
+        private PointRequest startPoint; // used when start is not given
+        private PointRequest endPoint; // used when end is not given
         private String algorithm;
+        private String trace; // none (default), summary or delta
+        private String queue; // priority-queue (default) or dary
+        private Long timeoutMs; // overrides the X-Request-Timeout header; capped by graph.search.timeout-ms
+        private Integer step; // adds the state after this many steps; implies a delta trace
 
         public String getStart() { return start; }
         public void setStart(String start) { this.start = start; }
         public String getEnd() { return end; }
         public void setEnd(String end) { this.end = end; }
+        public PointRequest getStartPoint() { return startPoint; }
+        public void setStartPoint(PointRequest startPoint) { this.startPoint = startPoint; }
+        public PointRequest getEndPoint() { return endPoint; }
+        public void setEndPoint(PointRequest endPoint) { this.endPoint = endPoint; }
         public String getAlgorithm() { return algorithm; }
         public void setAlgorithm(String algorithm) { this.algorithm = algorithm; }
+        public String getTrace() { return trace; }
+        public void setTrace(String trace) { this.trace = trace; }
+        public String getQueue() { return queue; }
+        public void setQueue(String queue) { this.queue = queue; }
+        public Long getTimeoutMs() { return timeoutMs; }
+        public void setTimeoutMs(Long timeoutMs) { this.timeoutMs = timeoutMs; }
+        public Integer getStep() { return step; }
+        public void setStep(Integer step) { this.step = step; }
+    }
+
+    public static class IsochroneRequest {
+        private String source;
+        private PointRequest sourcePoint; // used when source is not given
+        private double budget;
+        private String queue; // priority-queue (default) or dary
+        private Long timeoutMs; // overrides the X-Request-Timeout header; capped by graph.search.timeout-ms
+
+        public String getSource() { return source; }
+        public void setSource(String source) { this.source = source; }
+        public PointRequest getSourcePoint() { return sourcePoint; }
+        public void setSourcePoint(PointRequest sourcePoint) { this.sourcePoint = sourcePoint; }
+        public double getBudget() { return budget; }
+        public void setBudget(double budget) { this.budget = budget; }
+        public String getQueue() { return queue; }
+        public void setQueue(String queue) { this.queue = queue; }
+        public Long getTimeoutMs() { return timeoutMs; }
+        public void setTimeoutMs(Long timeoutMs) { this.timeoutMs = timeoutMs; }
+    }
+
+    public static class PointRequest {
+        private double x;
+        private double y;
+
+        public double getX() { return x; }
+        public void setX(double x) { this.x = x; }
+        public double getY() { return y; }
+        public void setY(double y) { this.y = y; }
+    }
+
+    public static class NearestRequest {
+        private List<PointRequest> points;
+
+        public List<PointRequest> getPoints() { return points; }
+        public void setPoints(List<PointRequest> points) { this.points = points; }
+    }
+
+    public static class MatrixRequest {
+        private List<String> sources;
+        private List<String> targets;
+        private boolean paths; // include node ids of every path
+        private Long timeoutMs; // overrides the X-Request-Timeout header; capped by graph.search.timeout-ms
+
+        public List<String> getSources() { return sources; }
+        public void setSources(List<String> sources) { this.sources = sources; }
+        public List<String> getTargets() { return targets; }
+        public void setTargets(List<String> targets) { this.targets = targets; }
+        public boolean isPaths() { return paths; }
+        public void setPaths(boolean paths) { this.paths = paths; }
+        public Long getTimeoutMs() { return timeoutMs; }
+        public void setTimeoutMs(Long timeoutMs) { this.timeoutMs = timeoutMs; }
     }
 }
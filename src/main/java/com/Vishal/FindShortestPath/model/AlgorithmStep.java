@@ -1,24 +1,36 @@
 package com.Vishal.FindShortestPath.model;
 
-
-import java.util.*;
-
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One change made by a search: "initialize" and "visit" concern {@code currentNode},
+ * "relax" sets the distance of {@code targetNode}. Steps carry no copy of the
+ * search state; use {@link TraceState#replay} to rebuild it.
+ * <p>
+ * Steps of the backward half of a bidirectional search have direction "backward". Their
+ * distances are to the target, and a "relax" names the arc as it runs in the graph,
+ * {@code currentNode -> targetNode}, so it is {@code currentNode} whose distance is set.
+ */
 public class AlgorithmStep {
+    public static final String BACKWARD = "backward";
+
     private String action;
     private String currentNode;
     private String targetNode;
     private double distance;
-    private Map<String, Double> distances;
-    private Set<String> visited;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String direction; // null for forward steps
+
+    public AlgorithmStep(String action, String currentNode, String targetNode, double distance) {
+        this(action, currentNode, targetNode, distance, null);
+    }
 
-    public AlgorithmStep(String action, String currentNode, String targetNode,
-                         double distance, Map<String, Double> distances, Set<String> visited) {
+    public AlgorithmStep(String action, String currentNode, String targetNode, double distance, String direction) {
         this.action = action;
         this.currentNode = currentNode;
         this.targetNode = targetNode;
         this.distance = distance;
-        this.distances = distances;
-        this.visited = visited;
+        this.direction = direction;
     }
 
     public String getAction() {
@@ -37,11 +49,11 @@ public class AlgorithmStep {
         return distance;
     }
 
-    public Map<String, Double> getDistances() {
-        return distances;
+    public String getDirection() {
+        return direction;
     }
 
-    public Set<String> getVisited() {
-        return visited;
+    public boolean isBackward() {
+        return BACKWARD.equals(direction);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,68 @@
+package com.Vishal.FindShortestPath.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Distances and first hops between every pair of nodes of one graph, row-major
+ * ({@code from * n + to}). {@code next(from, to)} is the node after {@code from} on a
+ * shortest path to {@code to}, so a path is read by following it from the source in
+ * O(path length). Unreachable pairs have an infinite distance and no next hop.
+ * Tables of graphs with negative arcs come from Floyd-Warshall and hold answers that
+ * Dijkstra would not give.
+ */
+public final class AllPairsTable {
+    private final CompiledGraph graph;
+    private final int n;
+    private final double[] distances;
+    private final int[] next;
+    private final boolean negativeArcs;
+
+    public AllPairsTable(CompiledGraph graph, double[] distances, int[] next, boolean negativeArcs) {
+        int n = graph.nodeCount();
+        long cells = (long) n * n;
+        if (distances.length != cells || next.length != cells) {
+            throw new IllegalArgumentException("All-pairs tables need " + n + " x " + n + " entries");
+        }
+        this.graph = graph;
+        this.n = n;
+        this.distances = distances;
+        this.next = next;
+        this.negativeArcs = negativeArcs;
+    }
+
+    public CompiledGraph graph() { return graph; }
+    public int nodeCount() { return n; }
+    public boolean hasNegativeArcs() { return negativeArcs; }
+
+    /** d(from, to), or {@link Double#POSITIVE_INFINITY} if unreachable. */
+    public double distance(int from, int to) { return distances[from * n + to]; }
+
+    /** Node after from on a shortest path to to; from itself when equal, -1 when unreachable. */
+    public int next(int from, int to) { return next[from * n + to]; }
+
+    public boolean reachable(int from, int to) { return next[from * n + to] >= 0; }
+
+    /** Node ids of a shortest path, empty when unreachable. */
+    public List<String> path(int from, int to) {
+        if (!reachable(from, to)) return Collections.emptyList();
+        List<String> path = new ArrayList<>();
+        path.add(graph.id(from));
+        for (int v = from; v != to; ) {
+            v = next(v, to);
+            path.add(graph.id(v));
+        }
+        return path;
+    }
+
+    /** Bytes held by the two tables. */
+    public long sizeInBytes() {
+        return bytesFor(n);
+    }
+
+    /** Bytes the two tables of an n-node graph take. */
+    public static long bytesFor(int n) {
+        return (long) n * n * (Double.BYTES + Integer.BYTES);
+    }
+}
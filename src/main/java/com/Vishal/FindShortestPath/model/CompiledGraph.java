@@ -0,0 +1,343 @@
+package com.Vishal.FindShortestPath.model;
+
+
+import java.util.*;
+
+/**
+ * Immutable, column-backed form of a {@link Graph} that the search algorithms run on.
+ * String ids are interned once to dense ints {@code 0..nodeCount-1}, and the adjacency
+ * is stored in CSR layout: the edges leaving node {@code v} are the indices
+ * {@code firstEdge(v) .. endEdge(v) - 1} of the target/weight columns. Columns are heap
+ * arrays when built in-process, file views when loaded from a mapped snapshot and
+ * direct memory when built by an off-heap {@link Builder} or copied by {@link #offHeap()}.
+ * <p>
+ * The edge accessors read heap arrays directly and only call through the column
+ * interfaces for the other storage. A process that serves heap and mapped or off-heap
+ * graphs side by side would otherwise see three column classes at every relax loop's
+ * call sites, which the JIT no longer inlines.
+ */
+public final class CompiledGraph {
+    private final IdIndex ids;
+    private final DoubleColumn xs;
+    private final DoubleColumn ys;
+    private final IntColumn offsets;
+    private final IntColumn targets;
+    private final DoubleColumn weights;
+    // The heap arrays behind the CSR columns, or null when they are mapped or off-heap
+    private final int[] offsetArray;
+    private final int[] targetArray;
+    private final double[] weightArray;
+    private volatile CompiledGraph reverse;
+    private volatile SpatialIndex spatial;
+
+    private CompiledGraph(IdIndex ids, DoubleColumn xs, DoubleColumn ys,
+                          IntColumn offsets, IntColumn targets, DoubleColumn weights) {
+        this.ids = ids;
+        this.xs = xs;
+        this.ys = ys;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.offsetArray = offsets instanceof IntColumn.OnHeap heap ? heap.array() : null;
+        this.targetArray = targets instanceof IntColumn.OnHeap heap ? heap.array() : null;
+        this.weightArray = weights instanceof DoubleColumn.OnHeap heap ? heap.array() : null;
+    }
+
+    /**
+     * Assembles a graph and its reverse from existing columns, e.g. views of a snapshot
+     * file. The reverse columns must be the transpose of the forward ones.
+     */
+    public static CompiledGraph of(IdIndex ids, DoubleColumn xs, DoubleColumn ys,
+                                   IntColumn offsets, IntColumn targets, DoubleColumn weights,
+                                   IntColumn reverseOffsets, IntColumn reverseTargets, DoubleColumn reverseWeights) {
+        CompiledGraph graph = new CompiledGraph(ids, xs, ys, offsets, targets, weights);
+        CompiledGraph reverse = new CompiledGraph(ids, xs, ys, reverseOffsets, reverseTargets, reverseWeights);
+        graph.reverse = reverse;
+        reverse.reverse = graph;
+        return graph;
+    }
+
+    private static CompiledGraph of(IdIndex ids, DoubleColumn xs, DoubleColumn ys,
+                                    OffHeapStore.Csr forward, OffHeapStore.Csr backward) {
+        return of(ids, xs, ys, forward.offsets(), forward.targets(), forward.weights(),
+                backward.offsets(), backward.targets(), backward.weights());
+    }
+
+    /**
+     * The same nodes and arcs with some weights replaced, sharing everything else with
+     * this graph: arc {@code arcs[i]} gets {@code weights[i]}, and arc
+     * {@code reverseArcs[i]} of {@link #reverse()} gets {@code reverseWeights[i]}. The
+     * new weight columns live on the heap or off it like this graph's.
+     */
+    public CompiledGraph withWeights(int[] arcs, double[] weights, int[] reverseArcs, double[] reverseWeights) {
+        if (arcs.length != weights.length || reverseArcs.length != reverseWeights.length) {
+            throw new IllegalArgumentException("Expected one weight per arc");
+        }
+        CompiledGraph r = reverse();
+        CompiledGraph graph = of(ids, xs, ys, offsets, targets, patched(this.weights, arcs, weights),
+                r.offsets, r.targets, patched(r.weights, reverseArcs, reverseWeights));
+        graph.spatial = spatial;
+        return graph;
+    }
+
+    private DoubleColumn patched(DoubleColumn column, int[] arcs, double[] values) {
+        if (isOffHeap()) {
+            return OffHeapStore.doubles(column, arcs, values);
+        }
+        double[] copy = new double[column.size()];
+        for (int e = 0; e < copy.length; e++) {
+            copy[e] = column.get(e);
+        }
+        for (int i = 0; i < arcs.length; i++) {
+            copy[arcs[i]] = values[i];
+        }
+        return DoubleColumn.of(copy);
+    }
+
+    /**
+     * A copy of this graph and its reverse with every column in direct memory (see
+     * {@link OffHeapStore}), sharing the spatial index. Searches run on it unchanged.
+     * A reverse that was not built yet is transposed straight into direct memory.
+     */
+    public CompiledGraph offHeap() {
+        OffHeapStore.Csr forward = OffHeapStore.csr(offsets, targets, weights);
+        CompiledGraph r = reverse;
+        OffHeapStore.Csr backward = r != null
+                ? OffHeapStore.csr(r.offsets, r.targets, r.weights)
+                : OffHeapStore.transpose(forward);
+        CompiledGraph graph = of(OffHeapStore.ids(ids), OffHeapStore.doubles(xs), OffHeapStore.doubles(ys),
+                forward, backward);
+        graph.spatial = spatial;
+        return graph;
+    }
+
+    /**
+     * Whether the CSR columns are outside the heap: built or copied off-heap, or mapped
+     * from a snapshot.
+     */
+    public boolean isOffHeap() {
+        return offsetArray == null && targetArray == null && weightArray == null;
+    }
+
+    public static CompiledGraph compile(Graph graph) {
+        Builder builder = new Builder();
+        for (Node node : graph.getNodes().values()) {
+            builder.addNode(node.getId(), node.getX(), node.getY());
+        }
+        // Graph.addEdge accepts ids that were never added as nodes
+        for (String id : graph.getAdjacencyList().keySet()) {
+            builder.internNode(id);
+        }
+        for (Map.Entry<String, List<Edge>> entry : graph.getAdjacencyList().entrySet()) {
+            int from = builder.internNode(entry.getKey());
+            for (Edge edge : entry.getValue()) {
+                builder.addArc(from, builder.internNode(edge.getTo()), edge.getWeight());
+            }
+        }
+        return builder.build();
+    }
+
+    public int nodeCount() { return ids.size(); }
+    public int edgeCount() { return targets.size(); }
+
+    /** Dense index of the given id, or -1 if the graph has no such node. */
+    public int indexOf(String id) {
+        if (id == null) return -1;
+        return ids.indexOf(id);
+    }
+
+    public String id(int node) { return ids.id(node); }
+
+    /** X coordinate of the node, or NaN when it was only referenced by an edge. */
+    public double x(int node) { return xs.get(node); }
+    public double y(int node) { return ys.get(node); }
+
+    public int firstEdge(int node) { return offsetArray != null ? offsetArray[node] : offsets.get(node); }
+    public int endEdge(int node) { return offsetArray != null ? offsetArray[node + 1] : offsets.get(node + 1); }
+    public int target(int edge) { return targetArray != null ? targetArray[edge] : targets.get(edge); }
+    public double weight(int edge) { return weightArray != null ? weightArray[edge] : weights.get(edge); }
+
+    /**
+     * The same nodes with every arc reversed, built on first use and cached.
+     * Backward searches run forward on it.
+     */
+    public CompiledGraph reverse() {
+        CompiledGraph r = reverse;
+        if (r == null) {
+            r = transpose();
+            r.reverse = this;
+            reverse = r;
+        }
+        return r;
+    }
+
+    /** Nearest-node index over the coordinates, built on first use and cached. */
+    public SpatialIndex spatialIndex() {
+        SpatialIndex index = spatial;
+        if (index == null) {
+            index = SpatialIndex.build(this);
+            spatial = index;
+        }
+        return index;
+    }
+
+    private CompiledGraph transpose() {
+        int n = nodeCount();
+        int m = edgeCount();
+        int[] reverseOffsets = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            reverseOffsets[targets.get(e) + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            reverseOffsets[v + 1] += reverseOffsets[v];
+        }
+
+        int[] reverseTargets = new int[m];
+        double[] reverseWeights = new double[m];
+        int[] cursor = Arrays.copyOf(reverseOffsets, n);
+        for (int v = 0; v < n; v++) {
+            for (int e = firstEdge(v), end = endEdge(v); e < end; e++) {
+                int slot = cursor[targets.get(e)]++;
+                reverseTargets[slot] = v;
+                reverseWeights[slot] = weights.get(e);
+            }
+        }
+        return new CompiledGraph(ids, xs, ys, IntColumn.of(reverseOffsets), IntColumn.of(reverseTargets),
+                DoubleColumn.of(reverseWeights));
+    }
+
+    /**
+     * Collects nodes and directed arcs, then lays them out in CSR order with a
+     * counting sort. Arcs of the same source keep their insertion order.
+     * <p>
+     * An off-heap builder appends arcs to an {@link OffHeapStore.ArcLog} and lays out
+     * both directions in direct memory, so only the node arrays and id map are on the
+     * heap while a graph is read.
+     */
+    public static final class Builder {
+        private final Map<String, Integer> index;
+        private String[] ids;
+        private double[] xs;
+        private double[] ys;
+        private int nodeCount;
+
+        private int[] sources;
+        private int[] arcTargets;
+        private double[] arcWeights;
+        private int arcCount;
+        // Replaces the arc arrays in an off-heap builder
+        private OffHeapStore.ArcLog log;
+
+        public Builder() {
+            this(16, 16);
+        }
+
+        /** Pre-sizes the arrays when the counts are known up front, e.g. from a file header. */
+        public Builder(int expectedNodes, int expectedArcs) {
+            this(expectedNodes, expectedArcs, false);
+        }
+
+        /** Like {@link #Builder(int, int)}, keeping the arcs and built columns off-heap if asked. */
+        public Builder(int expectedNodes, int expectedArcs, boolean offHeap) {
+            int nodes = Math.max(1, expectedNodes);
+            index = new HashMap<>(nodes * 4 / 3 + 1);
+            ids = new String[nodes];
+            xs = new double[nodes];
+            ys = new double[nodes];
+            if (offHeap) {
+                log = new OffHeapStore.ArcLog();
+            } else {
+                int arcs = Math.max(1, expectedArcs);
+                sources = new int[arcs];
+                arcTargets = new int[arcs];
+                arcWeights = new double[arcs];
+            }
+        }
+
+        public int nodeCount() { return nodeCount; }
+        public int arcCount() { return log != null ? log.size() : arcCount; }
+
+        public int addNode(String id, double x, double y) {
+            int node = internNode(id);
+            xs[node] = x;
+            ys[node] = y;
+            return node;
+        }
+
+        /** Returns the index of the id, adding it without coordinates if unseen. */
+        public int internNode(String id) {
+            Integer existing = index.get(id);
+            if (existing != null) return existing;
+
+            if (nodeCount == ids.length) {
+                int capacity = ids.length * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                xs = Arrays.copyOf(xs, capacity);
+                ys = Arrays.copyOf(ys, capacity);
+            }
+            ids[nodeCount] = id;
+            xs[nodeCount] = Double.NaN;
+            ys[nodeCount] = Double.NaN;
+            index.put(id, nodeCount);
+            return nodeCount++;
+        }
+
+        public void addArc(int from, int to, double weight) {
+            if (log != null) {
+                log.add(from, to, weight);
+                return;
+            }
+            if (arcCount == sources.length) {
+                int capacity = sources.length * 2;
+                sources = Arrays.copyOf(sources, capacity);
+                arcTargets = Arrays.copyOf(arcTargets, capacity);
+                arcWeights = Arrays.copyOf(arcWeights, capacity);
+            }
+            sources[arcCount] = from;
+            arcTargets[arcCount] = to;
+            arcWeights[arcCount] = weight;
+            arcCount++;
+        }
+
+        /** Lays out the graph; the builder hands its id index over and must not be reused. */
+        public CompiledGraph build() {
+            if (log != null) {
+                return buildOffHeap();
+            }
+            int[] offsets = new int[nodeCount + 1];
+            for (int i = 0; i < arcCount; i++) {
+                offsets[sources[i] + 1]++;
+            }
+            for (int v = 0; v < nodeCount; v++) {
+                offsets[v + 1] += offsets[v];
+            }
+
+            int[] targets = new int[arcCount];
+            double[] weights = new double[arcCount];
+            int[] cursor = Arrays.copyOf(offsets, nodeCount);
+            for (int i = 0; i < arcCount; i++) {
+                int slot = cursor[sources[i]]++;
+                targets[slot] = arcTargets[i];
+                weights[slot] = arcWeights[i];
+            }
+
+            return new CompiledGraph(
+                    IdIndex.of(Arrays.copyOf(ids, nodeCount), index),
+                    DoubleColumn.of(Arrays.copyOf(xs, nodeCount)),
+                    DoubleColumn.of(Arrays.copyOf(ys, nodeCount)),
+                    IntColumn.of(offsets), IntColumn.of(targets), DoubleColumn.of(weights));
+        }
+
+        private CompiledGraph buildOffHeap() {
+            OffHeapStore.Csr forward = OffHeapStore.csr(log, nodeCount);
+            // The log's memory is freed once collected, before the reverse needs as much again
+            log = null;
+            OffHeapStore.Csr backward = OffHeapStore.transpose(forward);
+            String[] names = ids;
+            return of(OffHeapStore.ids(nodeCount, v -> names[v]),
+                    OffHeapStore.doubles(DoubleColumn.of(Arrays.copyOf(xs, nodeCount))),
+                    OffHeapStore.doubles(DoubleColumn.of(Arrays.copyOf(ys, nodeCount))),
+                    forward, backward);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.Vishal.FindShortestPath.model;
+
+
+import java.util.*;
+
+/**
+ * Contraction Hierarchy over a {@link CompiledGraph}. Every node has a rank (its
+ * contraction order) and the original arcs plus shortcuts are split into two
+ * CSR search graphs that only lead to higher-ranked nodes:
+ * <ul>
+ *   <li>{@link #upward()}: arcs {@code u -> v} with {@code rank(v) > rank(u)}, for the forward search;</li>
+ *   <li>{@link #downward()}: for each arc {@code u -> v} with {@code rank(u) > rank(v)}, the
+ *       entry {@code v -> u}, for the backward search.</li>
+ * </ul>
+ * A shortcut remembers the node it bypasses, so paths can be unpacked to original arcs.
+ */
+public final class ContractionHierarchy {
+    private final CompiledGraph graph;
+    private final IntColumn rank;
+    private final SearchGraph upward;
+    private final SearchGraph downward;
+    private final int shortcutCount;
+
+    public ContractionHierarchy(CompiledGraph graph, int[] rank, SearchGraph upward,
+                                SearchGraph downward, int shortcutCount) {
+        this(graph, IntColumn.of(rank), upward, downward, shortcutCount);
+    }
+
+    public ContractionHierarchy(CompiledGraph graph, IntColumn rank, SearchGraph upward,
+                                SearchGraph downward, int shortcutCount) {
+        this.graph = graph;
+        this.rank = rank;
+        this.upward = upward;
+        this.downward = downward;
+        this.shortcutCount = shortcutCount;
+    }
+
+    public CompiledGraph graph() { return graph; }
+    public int rank(int node) { return rank.get(node); }
+    public SearchGraph upward() { return upward; }
+    public SearchGraph downward() { return downward; }
+    public int shortcutCount() { return shortcutCount; }
+
+    /**
+     * Appends the ids of the original path behind arc {@code from -> to} (excluding
+     * {@code from}) to {@code path}. {@code middle} is the bypassed node, or -1.
+     */
+    public void unpack(int from, int to, int middle, List<String> path) {
+        Deque<int[]> stack = new ArrayDeque<>();
+        stack.push(new int[]{from, to, middle});
+        while (!stack.isEmpty()) {
+            int[] arc = stack.pop();
+            int m = arc[2];
+            if (m < 0) {
+                path.add(graph.id(arc[1]));
+                continue;
+            }
+            // from -> m was an incoming arc of m when it was contracted, m -> to an outgoing one
+            int first = downward.find(m, arc[0]);
+            int second = upward.find(m, arc[1]);
+            stack.push(new int[]{m, arc[1], upward.middle(second)});
+            stack.push(new int[]{arc[0], m, downward.middle(first)});
+        }
+    }
+
+    /** One direction of the hierarchy in CSR layout; {@code middle(e)} is -1 for original arcs. */
+    public static final class SearchGraph {
+        private final IntColumn offsets;
+        private final IntColumn targets;
+        private final DoubleColumn weights;
+        private final IntColumn middles;
+
+        public SearchGraph(int[] offsets, int[] targets, double[] weights, int[] middles) {
+            this(IntColumn.of(offsets), IntColumn.of(targets), DoubleColumn.of(weights), IntColumn.of(middles));
+        }
+
+        public SearchGraph(IntColumn offsets, IntColumn targets, DoubleColumn weights, IntColumn middles) {
+            this.offsets = offsets;
+            this.targets = targets;
+            this.weights = weights;
+            this.middles = middles;
+        }
+
+        public int firstEdge(int node) { return offsets.get(node); }
+        public int endEdge(int node) { return offsets.get(node + 1); }
+        public int target(int edge) { return targets.get(edge); }
+        public double weight(int edge) { return weights.get(edge); }
+        public int middle(int edge) { return middles.get(edge); }
+        public int edgeCount() { return targets.size(); }
+
+        /** Index of the arc from {@code node} to {@code target}, or -1. */
+        public int find(int node, int target) {
+            for (int e = firstEdge(node), end = endEdge(node); e < end; e++) {
+                if (targets.get(e) == target) return e;
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.Vishal.FindShortestPath.model;
+
+import java.nio.DoubleBuffer;
+
+/**
+ * Read-only column of doubles for weights, coordinates and distance tables. Works on a
+ * plain heap array or on a view of a memory-mapped snapshot file.
+ */
+public interface DoubleColumn {
+
+    double get(int index);
+
+    int size();
+
+    static DoubleColumn of(double[] values) {
+        return new OnHeap(values);
+    }
+
+    static DoubleColumn of(DoubleBuffer buffer) {
+        return new Mapped(buffer);
+    }
+
+    final class OnHeap implements DoubleColumn {
+        private final double[] values;
+
+        OnHeap(double[] values) {
+            this.values = values;
+        }
+
+        @Override public double get(int index) { return values[index]; }
+        @Override public int size() { return values.length; }
+
+        double[] array() { return values; }
+    }
+
+    /** Absolute reads from a buffer, typically a view of a {@link java.nio.MappedByteBuffer}. */
+    final class Mapped implements DoubleColumn {
+        private final DoubleBuffer buffer;
+
+        Mapped(DoubleBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override public double get(int index) { return buffer.get(index); }
+        @Override public int size() { return buffer.limit(); }
+    }
+}
@@ -0,0 +1,44 @@
+package com.Vishal.FindShortestPath.model;
+
+import java.util.*;
+
+/**
+ * One published version of the graph. Snapshots are never modified after they are
+ * built, so a request can pin one and search it without locks while a newer
+ * version is being prepared.
+ */
+public final class GraphSnapshot {
+    private final long version;
+    private final CompiledGraph graph;
+
+    public GraphSnapshot(long version, CompiledGraph graph) {
+        this.version = version;
+        this.graph = graph;
+    }
+
+    public long version() { return version; }
+    public CompiledGraph graph() { return graph; }
+
+    /** Nodes with coordinates, keyed by id. */
+    public Map<String, Node> nodes() {
+        Map<String, Node> nodes = new LinkedHashMap<>();
+        for (int v = 0; v < graph.nodeCount(); v++) {
+            if (Double.isNaN(graph.x(v))) continue;
+            nodes.put(graph.id(v), new Node(graph.id(v), graph.x(v), graph.y(v)));
+        }
+        return nodes;
+    }
+
+    /** Outgoing edges of every node, keyed by id; undirected edges appear once per direction. */
+    public Map<String, List<Edge>> adjacencyList() {
+        Map<String, List<Edge>> adjacency = new LinkedHashMap<>();
+        for (int v = 0; v < graph.nodeCount(); v++) {
+            List<Edge> edges = new ArrayList<>(graph.endEdge(v) - graph.firstEdge(v));
+            for (int e = graph.firstEdge(v); e < graph.endEdge(v); e++) {
+                edges.add(new Edge(graph.id(v), graph.id(graph.target(e)), graph.weight(e)));
+            }
+            adjacency.put(graph.id(v), edges);
+        }
+        return adjacency;
+    }
+}
@@ -0,0 +1,98 @@
+package com.Vishal.FindShortestPath.model;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/** Two-way mapping between string node ids and dense node indices. */
+public interface IdIndex {
+
+    String id(int node);
+
+    /** Dense index of the id, or -1 if there is no such node. */
+    int indexOf(String id);
+
+    int size();
+
+    static IdIndex of(String[] ids, Map<String, Integer> index) {
+        return new OnHeap(ids, index);
+    }
+
+    static IdIndex of(ByteBuffer blob, IntColumn offsets, IntColumn sorted) {
+        return new Mapped(blob, offsets, sorted);
+    }
+
+    final class OnHeap implements IdIndex {
+        private final String[] ids;
+        private final Map<String, Integer> index;
+
+        OnHeap(String[] ids, Map<String, Integer> index) {
+            this.ids = ids;
+            this.index = index;
+        }
+
+        @Override public String id(int node) { return ids[node]; }
+        @Override public int size() { return ids.length; }
+
+        @Override
+        public int indexOf(String id) {
+            Integer i = index.get(id);
+            return i == null ? -1 : i;
+        }
+    }
+
+    /**
+     * Ids stored as UTF-8 in one byte blob: node {@code v} spans
+     * {@code offsets[v] .. offsets[v+1]-1}, and {@code sorted} lists the nodes in unsigned
+     * byte order of their ids so lookups are a binary search. Nothing is copied to the heap
+     * except the id strings that are actually asked for.
+     */
+    final class Mapped implements IdIndex {
+        private final ByteBuffer blob;
+        private final IntColumn offsets;
+        private final IntColumn sorted;
+
+        Mapped(ByteBuffer blob, IntColumn offsets, IntColumn sorted) {
+            this.blob = blob;
+            this.offsets = offsets;
+            this.sorted = sorted;
+        }
+
+        @Override public int size() { return sorted.size(); }
+
+        @Override
+        public String id(int node) {
+            int start = offsets.get(node);
+            byte[] bytes = new byte[offsets.get(node + 1) - start];
+            blob.get(start, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public int indexOf(String id) {
+            byte[] key = id.getBytes(StandardCharsets.UTF_8);
+            int lo = 0, hi = sorted.size() - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                int node = sorted.get(mid);
+                int cmp = compare(node, key);
+                if (cmp < 0) lo = mid + 1;
+                else if (cmp > 0) hi = mid - 1;
+                else return node;
+            }
+            return -1;
+        }
+
+        // Unsigned lexicographic comparison of the stored id against key
+        private int compare(int node, byte[] key) {
+            int start = offsets.get(node);
+            int length = offsets.get(node + 1) - start;
+            int common = Math.min(length, key.length);
+            for (int i = 0; i < common; i++) {
+                int c = Integer.compare(blob.get(start + i) & 0xff, key[i] & 0xff);
+                if (c != 0) return c;
+            }
+            return Integer.compare(length, key.length);
+        }
+    }
+}
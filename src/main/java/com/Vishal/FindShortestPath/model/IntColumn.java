@@ -0,0 +1,47 @@
+package com.Vishal.FindShortestPath.model;
+
+import java.nio.IntBuffer;
+
+/**
+ * Read-only column of ints backing the CSR arrays. The same search code runs on a
+ * plain heap array or on a view of a memory-mapped snapshot file.
+ */
+public interface IntColumn {
+
+    int get(int index);
+
+    int size();
+
+    static IntColumn of(int[] values) {
+        return new OnHeap(values);
+    }
+
+    static IntColumn of(IntBuffer buffer) {
+        return new Mapped(buffer);
+    }
+
+    final class OnHeap implements IntColumn {
+        private final int[] values;
+
+        OnHeap(int[] values) {
+            this.values = values;
+        }
+
+        @Override public int get(int index) { return values[index]; }
+        @Override public int size() { return values.length; }
+
+        int[] array() { return values; }
+    }
+
+    /** Absolute reads from a buffer, typically a view of a {@link java.nio.MappedByteBuffer}. */
+    final class Mapped implements IntColumn {
+        private final IntBuffer buffer;
+
+        Mapped(IntBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override public int get(int index) { return buffer.get(index); }
+        @Override public int size() { return buffer.limit(); }
+    }
+}
@@ -0,0 +1,80 @@
+package com.Vishal.FindShortestPath.model;
+
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Landmark distance tables for the ALT heuristic. For every landmark L and node v
+ * it stores d(L, v) and d(v, L), node-major ({@code v * k + i}) so one lower bound
+ * reads two contiguous runs. By the triangle inequality
+ * {@code d(v, t) >= max(d(L, t) - d(L, v), d(v, L) - d(t, L))} for every L.
+ */
+public final class LandmarkIndex {
+    private final CompiledGraph graph;
+    private final int[] landmarks;
+    private final DoubleColumn fromLandmark;
+    private final DoubleColumn toLandmark;
+
+    public LandmarkIndex(CompiledGraph graph, int[] landmarks, double[] fromLandmark, double[] toLandmark) {
+        this(graph, landmarks, DoubleColumn.of(fromLandmark), DoubleColumn.of(toLandmark));
+    }
+
+    public LandmarkIndex(CompiledGraph graph, int[] landmarks, DoubleColumn fromLandmark, DoubleColumn toLandmark) {
+        this.graph = graph;
+        this.landmarks = landmarks;
+        this.fromLandmark = fromLandmark;
+        this.toLandmark = toLandmark;
+    }
+
+    /**
+     * The same tables attached to another graph over the same nodes. The bounds stay
+     * admissible as long as no distance in that graph is shorter than in this one,
+     * i.e. arcs were only lengthened or removed.
+     */
+    public LandmarkIndex withGraph(CompiledGraph other) {
+        if (other.nodeCount() != graph.nodeCount()) {
+            throw new IllegalArgumentException("Landmark tables need the same nodes");
+        }
+        return new LandmarkIndex(other, landmarks, fromLandmark, toLandmark);
+    }
+
+    public CompiledGraph graph() { return graph; }
+    public int landmarkCount() { return landmarks.length; }
+    public int landmark(int i) { return landmarks[i]; }
+
+    /** d(landmark i, node), or {@link Double#MAX_VALUE} if unreachable. */
+    public double fromLandmark(int i, int node) { return fromLandmark.get(node * landmarks.length + i); }
+
+    /** d(node, landmark i), or {@link Double#MAX_VALUE} if unreachable. */
+    public double toLandmark(int i, int node) { return toLandmark.get(node * landmarks.length + i); }
+
+    /** Lower bound on d(node, target); terms with an unreachable side are skipped. */
+    public double lowerBound(int node, int target) {
+        return heuristicTo(target).applyAsDouble(node);
+    }
+
+    /** Lower bound on the distance to a fixed target, with the target's table rows read once. */
+    public IntToDoubleFunction heuristicTo(int target) {
+        int k = landmarks.length;
+        double[] fromT = new double[k];
+        double[] toT = new double[k];
+        for (int i = 0; i < k; i++) {
+            fromT[i] = fromLandmark.get(target * k + i);
+            toT[i] = toLandmark.get(target * k + i);
+        }
+        return node -> {
+            double best = 0.0;
+            int base = node * k;
+            for (int i = 0; i < k; i++) {
+                double lv = fromLandmark.get(base + i);
+                if (lv != Double.MAX_VALUE && fromT[i] != Double.MAX_VALUE) {
+                    best = Math.max(best, fromT[i] - lv);
+                }
+                double vl = toLandmark.get(base + i);
+                if (vl != Double.MAX_VALUE && toT[i] != Double.MAX_VALUE) {
+                    best = Math.max(best, vl - toT[i]);
+                }
+            }
+            return best;
+        };
+    }
+}
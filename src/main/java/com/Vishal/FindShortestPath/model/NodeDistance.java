@@ -1,16 +1,16 @@
 package com.Vishal.FindShortestPath.model;
 
 public class NodeDistance implements Comparable<NodeDistance> {
-    private String nodeId;
+    private int node;
     private double distance;
 
-    public NodeDistance(String nodeId, double distance) {
-        this.nodeId = nodeId;
+    public NodeDistance(int node, double distance) {
+        this.node = node;
         this.distance = distance;
     }
 
-    public String getNodeId() {
-        return nodeId;
+    public int getNode() {
+        return node;
     }
 
     public double getDistance() {
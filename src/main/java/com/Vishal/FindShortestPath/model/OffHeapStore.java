@@ -0,0 +1,336 @@
+package com.Vishal.FindShortestPath.model;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * Copies graph columns into direct memory, outside the Java heap, so a large graph
+ * adds nothing for the garbage collector to trace or copy. Memory is allocated in
+ * chunks of at most 1 GiB (a direct buffer is indexed by int), and a column reads
+ * element {@code i} from chunk {@code i >>> shift} at {@code (i & mask) * stride}.
+ * <p>
+ * Arcs are stored as 12-byte records, the target followed by the weight, so relaxing
+ * an arc touches one place in memory; the target and weight columns are two views of
+ * the same records. The memory is released when the graph becomes unreachable, and
+ * the JVM caps it at {@code -XX:MaxDirectMemorySize}, which defaults to the heap size.
+ * <p>
+ * A graph can also be built here directly: {@link ArcLog} collects arcs as they are
+ * read, and {@link #csr(ArcLog, int)} and {@link #transpose(Csr)} lay out both
+ * directions, so the arcs never pass through heap arrays.
+ */
+public final class OffHeapStore {
+
+    private static final int ARC_BYTES = Integer.BYTES + Double.BYTES;
+    private static final int CHUNK_BYTES = 1 << 30;
+
+    private OffHeapStore() { }
+
+    public record Arcs(IntColumn targets, DoubleColumn weights) { }
+
+    public static Arcs arcs(IntColumn targets, DoubleColumn weights) {
+        return arcs(targets, weights, CHUNK_BYTES);
+    }
+
+    // Smaller chunks let tests cross chunk boundaries without allocating gigabytes
+    static Arcs arcs(IntColumn targets, DoubleColumn weights, int chunkBytes) {
+        Chunks chunks = new Chunks(targets.size(), ARC_BYTES, chunkBytes);
+        for (int e = 0; e < targets.size(); e++) {
+            put(chunks, e, targets.get(e), weights.get(e));
+        }
+        return new Arcs(new Ints(chunks, 0), new Doubles(chunks, Integer.BYTES));
+    }
+
+    /** One direction of a graph's adjacency in CSR layout. */
+    public record Csr(IntColumn offsets, IntColumn targets, DoubleColumn weights) { }
+
+    /** Copies a CSR into direct memory, arcs as target/weight records. */
+    public static Csr csr(IntColumn offsets, IntColumn targets, DoubleColumn weights) {
+        Arcs arcs = arcs(targets, weights);
+        return new Csr(ints(offsets), arcs.targets(), arcs.weights());
+    }
+
+    /**
+     * Arcs in the order they were added, as 16-byte from/to/weight records in direct
+     * memory that grow chunk by chunk. {@link #csr(ArcLog, int)} sorts them into CSR
+     * layout without copying them to the heap.
+     */
+    public static final class ArcLog {
+        private static final int RECORD_BYTES = 2 * Integer.BYTES + Double.BYTES;
+
+        private final Chunks chunks;
+
+        public ArcLog() {
+            this(CHUNK_BYTES);
+        }
+
+        ArcLog(int chunkBytes) {
+            chunks = Chunks.growable(RECORD_BYTES, chunkBytes);
+        }
+
+        public void add(int from, int to, double weight) {
+            int i = chunks.append();
+            ByteBuffer chunk = chunks.chunk(i);
+            int at = chunks.offset(i);
+            chunk.putInt(at, from);
+            chunk.putInt(at + Integer.BYTES, to);
+            chunk.putDouble(at + 2 * Integer.BYTES, weight);
+        }
+
+        public int size() { return chunks.size; }
+
+        int from(int i) { return chunks.chunk(i).getInt(chunks.offset(i)); }
+        int to(int i) { return chunks.chunk(i).getInt(chunks.offset(i) + Integer.BYTES); }
+        double weight(int i) { return chunks.chunk(i).getDouble(chunks.offset(i) + 2 * Integer.BYTES); }
+    }
+
+    /**
+     * Lays the logged arcs out in CSR order with a counting sort, like
+     * {@link CompiledGraph.Builder}: one pass counts arcs per source, a second writes
+     * each into its slot. Arcs of the same source keep their order in the log. Only the
+     * per-node counts are on the heap.
+     */
+    public static Csr csr(ArcLog log, int nodeCount) {
+        return csr(log, nodeCount, CHUNK_BYTES);
+    }
+
+    static Csr csr(ArcLog log, int nodeCount, int chunkBytes) {
+        int m = log.size();
+        int[] offsets = new int[nodeCount + 1];
+        for (int i = 0; i < m; i++) {
+            offsets[log.from(i) + 1]++;
+        }
+        for (int v = 0; v < nodeCount; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        Chunks records = new Chunks(m, ARC_BYTES, chunkBytes);
+        int[] cursor = Arrays.copyOf(offsets, nodeCount);
+        for (int i = 0; i < m; i++) {
+            put(records, cursor[log.from(i)]++, log.to(i), log.weight(i));
+        }
+        return new Csr(ints(IntColumn.of(offsets), chunkBytes), new Ints(records, 0), new Doubles(records, Integer.BYTES));
+    }
+
+    /**
+     * The reverse of a CSR, built in direct memory: one pass counts the arcs into each
+     * node, a second writes every arc into its target's slot.
+     */
+    public static Csr transpose(Csr forward) {
+        return transpose(forward, CHUNK_BYTES);
+    }
+
+    static Csr transpose(Csr forward, int chunkBytes) {
+        IntColumn targets = forward.targets();
+        int n = forward.offsets().size() - 1;
+        int m = targets.size();
+        int[] offsets = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            offsets[targets.get(e) + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        Chunks records = new Chunks(m, ARC_BYTES, chunkBytes);
+        int[] cursor = Arrays.copyOf(offsets, n);
+        for (int v = 0; v < n; v++) {
+            for (int e = forward.offsets().get(v), end = forward.offsets().get(v + 1); e < end; e++) {
+                put(records, cursor[targets.get(e)]++, v, forward.weights().get(e));
+            }
+        }
+        return new Csr(ints(IntColumn.of(offsets), chunkBytes), new Ints(records, 0), new Doubles(records, Integer.BYTES));
+    }
+
+    private static void put(Chunks arcs, int slot, int target, double weight) {
+        ByteBuffer chunk = arcs.chunk(slot);
+        int at = arcs.offset(slot);
+        chunk.putInt(at, target);
+        chunk.putDouble(at + Integer.BYTES, weight);
+    }
+
+    public static IntColumn ints(IntColumn source) {
+        return ints(source, CHUNK_BYTES);
+    }
+
+    static IntColumn ints(IntColumn source, int chunkBytes) {
+        Chunks chunks = new Chunks(source.size(), Integer.BYTES, chunkBytes);
+        for (int i = 0; i < source.size(); i++) {
+            chunks.chunk(i).putInt(chunks.offset(i), source.get(i));
+        }
+        return new Ints(chunks, 0);
+    }
+
+    public static DoubleColumn doubles(DoubleColumn source) {
+        return doubles(source, new int[0], new double[0]);
+    }
+
+    /** A copy of the column with {@code values[i]} at {@code indices[i]}, e.g. a few changed weights. */
+    public static DoubleColumn doubles(DoubleColumn source, int[] indices, double[] values) {
+        Chunks chunks = new Chunks(source.size(), Double.BYTES, CHUNK_BYTES);
+        for (int i = 0; i < source.size(); i++) {
+            chunks.chunk(i).putDouble(chunks.offset(i), source.get(i));
+        }
+        for (int i = 0; i < indices.length; i++) {
+            chunks.chunk(indices[i]).putDouble(chunks.offset(indices[i]), values[i]);
+        }
+        return new Doubles(chunks, 0);
+    }
+
+    /**
+     * Ids as one UTF-8 blob with a sorted node list for lookups, in the layout of the
+     * snapshot file's id sections (see {@link IdIndex.Mapped}). The blob is a single
+     * buffer, so all ids together must fit in 2 GiB.
+     */
+    public static IdIndex ids(IdIndex source) {
+        return ids(source.size(), source::id);
+    }
+
+    // Encodes each id twice (once to size the blob, once to fill it) rather than keeping n byte arrays
+    static IdIndex ids(int n, IntFunction<String> id) {
+        int[] offsets = new int[n + 1];
+        long total = 0;
+        for (int v = 0; v < n; v++) {
+            total += id.apply(v).getBytes(StandardCharsets.UTF_8).length;
+            if (total > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Node ids take more than 2 GiB; they do not fit off-heap");
+            }
+            offsets[v + 1] = (int) total;
+        }
+
+        ByteBuffer blob = ByteBuffer.allocateDirect((int) total);
+        for (int v = 0; v < n; v++) {
+            blob.put(offsets[v], id.apply(v).getBytes(StandardCharsets.UTF_8));
+        }
+        int[] sorted = new int[n];
+        for (int v = 0; v < n; v++) {
+            sorted[v] = v;
+        }
+        sortIds(sorted, blob, offsets);
+        return IdIndex.of(blob.asReadOnlyBuffer(), ints(IntColumn.of(offsets)), ints(IntColumn.of(sorted)));
+    }
+
+    // Bottom-up merge sort of node indices by unsigned id bytes; stable, and no boxed indices
+    private static void sortIds(int[] nodes, ByteBuffer blob, int[] offsets) {
+        int n = nodes.length;
+        int[] from = nodes;
+        int[] to = new int[n];
+        for (long width = 1; width < n; width *= 2) {
+            for (long lo = 0; lo < n; lo += 2 * width) {
+                int mid = (int) Math.min(lo + width, n);
+                int hi = (int) Math.min(lo + 2 * width, n);
+                int i = (int) lo, j = mid, k = (int) lo;
+                while (i < mid && j < hi) {
+                    to[k++] = compareIds(blob, offsets, from[j], from[i]) < 0 ? from[j++] : from[i++];
+                }
+                while (i < mid) to[k++] = from[i++];
+                while (j < hi) to[k++] = from[j++];
+            }
+            int[] swap = from;
+            from = to;
+            to = swap;
+        }
+        if (from != nodes) {
+            System.arraycopy(from, 0, nodes, 0, n);
+        }
+    }
+
+    // Unsigned lexicographic comparison, as IdIndex.Mapped looks ids up
+    private static int compareIds(ByteBuffer blob, int[] offsets, int a, int b) {
+        int aStart = offsets[a], aLength = offsets[a + 1] - aStart;
+        int bStart = offsets[b], bLength = offsets[b + 1] - bStart;
+        int common = Math.min(aLength, bLength);
+        for (int i = 0; i < common; i++) {
+            int c = Integer.compare(blob.get(aStart + i) & 0xff, blob.get(bStart + i) & 0xff);
+            if (c != 0) return c;
+        }
+        return Integer.compare(aLength, bLength);
+    }
+
+    // Fixed-size records spread over direct buffers; records never straddle two chunks
+    private static final class Chunks {
+        // Records in a chunk that grows on append before it doubles
+        private static final int FIRST_RECORDS = 1 << 12;
+
+        ByteBuffer[] chunks;
+        int size;
+        final int stride;
+        final int shift;
+        final int mask;
+
+        Chunks(int size, int stride, int chunkBytes) {
+            this(stride, chunkBytes);
+            this.size = size;
+            int count = size == 0 ? 0 : ((size - 1) >>> shift) + 1;
+            chunks = new ByteBuffer[count];
+            for (int c = 0; c < count; c++) {
+                chunks[c] = allocate(Math.min(1 << shift, size - (c << shift)));
+            }
+        }
+
+        // Starts empty for append()
+        private Chunks(int stride, int chunkBytes) {
+            this.stride = stride;
+            // Largest power-of-two record count that fits in one chunk
+            this.shift = 31 - Integer.numberOfLeadingZeros(chunkBytes / stride);
+            this.mask = (1 << shift) - 1;
+            this.chunks = new ByteBuffer[0];
+        }
+
+        static Chunks growable(int stride, int chunkBytes) {
+            return new Chunks(stride, chunkBytes);
+        }
+
+        /** Makes room for one more record and returns its index; the last chunk doubles as it fills. */
+        int append() {
+            int index = size;
+            int c = index >>> shift;
+            if (c == chunks.length) {
+                chunks = Arrays.copyOf(chunks, c + 1);
+                chunks[c] = allocate(Math.min(FIRST_RECORDS, 1 << shift));
+            } else if (offset(index) == chunks[c].capacity()) {
+                ByteBuffer old = chunks[c];
+                ByteBuffer grown = allocate(Math.min(2 * (old.capacity() / stride), 1 << shift));
+                grown.put(0, old, 0, old.capacity());
+                chunks[c] = grown;
+            }
+            size++;
+            return index;
+        }
+
+        private ByteBuffer allocate(int records) {
+            return ByteBuffer.allocateDirect(records * stride).order(ByteOrder.nativeOrder());
+        }
+
+        ByteBuffer chunk(int index) { return chunks[index >>> shift]; }
+        int offset(int index) { return (index & mask) * stride; }
+    }
+
+    private static final class Ints implements IntColumn {
+        private final Chunks chunks;
+        private final int field;
+
+        Ints(Chunks chunks, int field) {
+            this.chunks = chunks;
+            this.field = field;
+        }
+
+        @Override public int get(int index) { return chunks.chunk(index).getInt(chunks.offset(index) + field); }
+        @Override public int size() { return chunks.size; }
+    }
+
+    private static final class Doubles implements DoubleColumn {
+        private final Chunks chunks;
+        private final int field;
+
+        Doubles(Chunks chunks, int field) {
+            this.chunks = chunks;
+            this.field = field;
+        }
+
+        @Override public double get(int index) { return chunks.chunk(index).getDouble(chunks.offset(index) + field); }
+        @Override public int size() { return chunks.size; }
+    }
+}
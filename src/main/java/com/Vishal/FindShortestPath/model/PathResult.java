@@ -1,5 +1,7 @@
 package com.Vishal.FindShortestPath.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 
 public class PathResult {
@@ -7,13 +9,31 @@ public class PathResult {
     private double totalDistance;
     private List<AlgorithmStep> steps;
     private String algorithm;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private SearchStats stats;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<String> negativeCycle;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private TraceState state;
 
     public PathResult(List<String> path, double totalDistance,
                       List<AlgorithmStep> steps, String algorithm) {
+        this(path, totalDistance, steps, algorithm, null);
+    }
+
+    public PathResult(List<String> path, double totalDistance,
+                      List<AlgorithmStep> steps, String algorithm, SearchStats stats) {
+        this(path, totalDistance, steps, algorithm, stats, null);
+    }
+
+    public PathResult(List<String> path, double totalDistance, List<AlgorithmStep> steps,
+                      String algorithm, SearchStats stats, List<String> negativeCycle) {
         this.path = path;
         this.totalDistance = totalDistance;
         this.steps = steps;
         this.algorithm = algorithm;
+        this.stats = stats;
+        this.negativeCycle = negativeCycle;
     }
 
     public List<String> getPath() {
@@ -31,4 +51,30 @@ public class PathResult {
     public String getAlgorithm() {
         return algorithm;
     }
-}
\ No newline at end of file
+
+    /** Search counters, or null when the query ran with {@link TraceLevel#NONE}. */
+    public SearchStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Closed walk of node ids (first id repeated at the end) with negative total weight,
+     * or null when the search found none. When set, the path is empty and the distance
+     * is negative infinity.
+     */
+    public List<String> getNegativeCycle() {
+        return negativeCycle;
+    }
+
+    /** Search state after a requested number of delta steps, or null when none was asked for. */
+    public TraceState getState() {
+        return state;
+    }
+
+    /** A copy of this result that also carries the state after its first {@code step} steps. */
+    public PathResult withStateAt(int step) {
+        PathResult result = new PathResult(path, totalDistance, steps, algorithm, stats, negativeCycle);
+        result.state = TraceState.replay(steps, step);
+        return result;
+    }
+}
@@ -0,0 +1,27 @@
+package com.Vishal.FindShortestPath.model;
+
+import java.util.Locale;
+
+/** Priority queue used by Dijkstra-style searches. */
+public enum QueueType {
+    /** java.util.PriorityQueue with lazy deletion of stale entries. */
+    PRIORITY_QUEUE,
+    /** Indexed 4-ary heap with decrease-key; holds at most one entry per node. */
+    DARY_HEAP;
+
+    public static QueueType parse(String value) {
+        if (value == null || value.isBlank()) return PRIORITY_QUEUE;
+        switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "priority-queue":
+            case "pq":
+            case "binary":
+                return PRIORITY_QUEUE;
+            case "dary":
+            case "d-ary":
+            case "dary-heap":
+                return DARY_HEAP;
+            default:
+                throw new IllegalArgumentException("Unknown queue type: " + value);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.Vishal.FindShortestPath.model;
+
+public class SearchStats {
+    private long nodesSettled;
+    private long edgesRelaxed;
+    private long heapPushes;
+
+    public SearchStats(long nodesSettled, long edgesRelaxed, long heapPushes) {
+        this.nodesSettled = nodesSettled;
+        this.edgesRelaxed = edgesRelaxed;
+        this.heapPushes = heapPushes;
+    }
+
+    public long getNodesSettled() {
+        return nodesSettled;
+    }
+
+    public long getEdgesRelaxed() {
+        return edgesRelaxed;
+    }
+
+    public long getHeapPushes() {
+        return heapPushes;
+    }
+}
@@ -0,0 +1,23 @@
+package com.Vishal.FindShortestPath.model;
+
+/**
+ * Distances and parents of a full single-source search. Unreached nodes have
+ * distance {@link Double#MAX_VALUE} and parent -1.
+ */
+public final class ShortestPathTree {
+    private final int source;
+    private final double[] distances;
+    private final int[] parents;
+
+    public ShortestPathTree(int source, double[] distances, int[] parents) {
+        this.source = source;
+        this.distances = distances;
+        this.parents = parents;
+    }
+
+    public int source() { return source; }
+    public double distance(int node) { return distances[node]; }
+    public int parent(int node) { return parents[node]; }
+    public boolean reached(int node) { return distances[node] != Double.MAX_VALUE; }
+    public int nodeCount() { return distances.length; }
+}
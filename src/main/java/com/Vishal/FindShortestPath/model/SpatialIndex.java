@@ -0,0 +1,121 @@
+package com.Vishal.FindShortestPath.model;
+
+/**
+ * Static 2-d tree over the node coordinates, for snapping raw points to the nearest
+ * node in O(log n) expected time. The tree is implicit: the nodes are permuted so that
+ * the splitting node of a range {@code [lo, hi)} sits at its midpoint, with smaller
+ * coordinates on the left, alternating x and y by depth. Coordinates are copied in that
+ * order so a search walks contiguous memory. Nodes without coordinates are left out.
+ */
+public final class SpatialIndex {
+    private final int[] nodes;
+    private final double[] xs;
+    private final double[] ys;
+
+    private SpatialIndex(int[] nodes, double[] xs, double[] ys) {
+        this.nodes = nodes;
+        this.xs = xs;
+        this.ys = ys;
+    }
+
+    public static SpatialIndex build(CompiledGraph graph) {
+        int count = 0;
+        for (int v = 0; v < graph.nodeCount(); v++) {
+            if (!Double.isNaN(graph.x(v)) && !Double.isNaN(graph.y(v))) count++;
+        }
+        int[] nodes = new int[count];
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        int i = 0;
+        for (int v = 0; v < graph.nodeCount(); v++) {
+            if (Double.isNaN(graph.x(v)) || Double.isNaN(graph.y(v))) continue;
+            nodes[i] = v;
+            xs[i] = graph.x(v);
+            ys[i] = graph.y(v);
+            i++;
+        }
+        SpatialIndex index = new SpatialIndex(nodes, xs, ys);
+        index.split(0, count, true);
+        return index;
+    }
+
+    /** Number of nodes that have coordinates. */
+    public int size() { return nodes.length; }
+
+    /** Node closest to (x, y) by Euclidean distance, or -1 if no node has coordinates. */
+    public int nearest(double x, double y) {
+        if (nodes.length == 0) return -1;
+        Search search = new Search(x, y);
+        nearest(search, 0, nodes.length, true);
+        return nodes[search.best];
+    }
+
+    // Quickselect the median of [lo, hi) on one axis, then recurse on both halves
+    private void split(int lo, int hi, boolean byX) {
+        while (hi - lo > 1) {
+            int mid = (lo + hi) >>> 1;
+            select(lo, hi - 1, mid, byX);
+            split(lo, mid, !byX);
+            lo = mid + 1;
+            byX = !byX;
+        }
+    }
+
+    private void select(int left, int right, int k, boolean byX) {
+        while (left < right) {
+            double pivot = coordinate((left + right) >>> 1, byX);
+            int i = left, j = right;
+            while (i <= j) {
+                while (coordinate(i, byX) < pivot) i++;
+                while (coordinate(j, byX) > pivot) j--;
+                if (i <= j) swap(i++, j--);
+            }
+            if (k <= j) right = j;
+            else if (k >= i) left = i;
+            else return;
+        }
+    }
+
+    private void nearest(Search search, int lo, int hi, boolean byX) {
+        if (lo >= hi) return;
+        int mid = (lo + hi) >>> 1;
+        double dx = xs[mid] - search.x;
+        double dy = ys[mid] - search.y;
+        double d = dx * dx + dy * dy;
+        if (d < search.bestDistance) {
+            search.bestDistance = d;
+            search.best = mid;
+        }
+
+        double delta = byX ? search.x - xs[mid] : search.y - ys[mid];
+        if (delta < 0) {
+            nearest(search, lo, mid, !byX);
+            if (delta * delta < search.bestDistance) nearest(search, mid + 1, hi, !byX);
+        } else {
+            nearest(search, mid + 1, hi, !byX);
+            if (delta * delta < search.bestDistance) nearest(search, lo, mid, !byX);
+        }
+    }
+
+    private double coordinate(int i, boolean byX) {
+        return byX ? xs[i] : ys[i];
+    }
+
+    private void swap(int i, int j) {
+        int node = nodes[i]; nodes[i] = nodes[j]; nodes[j] = node;
+        double x = xs[i]; xs[i] = xs[j]; xs[j] = x;
+        double y = ys[i]; ys[i] = ys[j]; ys[j] = y;
+    }
+
+    private static final class Search {
+        final double x;
+        final double y;
+        int best = -1;
+        double bestDistance = Double.POSITIVE_INFINITY;
+
+        Search(double x, double y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
+}
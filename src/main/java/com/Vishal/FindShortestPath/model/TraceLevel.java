@@ -0,0 +1,23 @@
+package com.Vishal.FindShortestPath.model;
+
+import java.util.Locale;
+
+/**
+ * How much of a search is recorded in its {@link PathResult}.
+ * NONE records nothing, SUMMARY only the counters, DELTA the counters plus one
+ * {@link AlgorithmStep} per change (see {@link TraceState} to rebuild a full step).
+ */
+public enum TraceLevel {
+    NONE,
+    SUMMARY,
+    DELTA;
+
+    public static TraceLevel parse(String value) {
+        if (value == null || value.isBlank()) return NONE;
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown trace level: " + value);
+        }
+    }
+}
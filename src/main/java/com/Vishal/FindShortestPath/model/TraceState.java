@@ -0,0 +1,71 @@
+package com.Vishal.FindShortestPath.model;
+
+import java.util.*;
+
+/**
+ * Distances and visited set of a search after a given number of delta steps.
+ * Nodes missing from {@code distances} have not been reached yet. The backward half of
+ * a bidirectional search keeps its own distances (to the target) and visited set.
+ * /shortest-path returns it for the request's {@code step}; script.js keeps the same
+ * state step by step with {@code applyStep}.
+ */
+public class TraceState {
+    private Map<String, Double> distances;
+    private Set<String> visited;
+    private Map<String, Double> backwardDistances;
+    private Set<String> backwardVisited;
+
+    public TraceState(Map<String, Double> distances, Set<String> visited,
+                      Map<String, Double> backwardDistances, Set<String> backwardVisited) {
+        this.distances = distances;
+        this.visited = visited;
+        this.backwardDistances = backwardDistances;
+        this.backwardVisited = backwardVisited;
+    }
+
+    /** Applies the first {@code count} steps of a delta trace. */
+    public static TraceState replay(List<AlgorithmStep> steps, int count) {
+        Map<String, Double> distances = new HashMap<>();
+        Set<String> visited = new LinkedHashSet<>();
+        Map<String, Double> backwardDistances = new HashMap<>();
+        Set<String> backwardVisited = new LinkedHashSet<>();
+        int limit = Math.min(count, steps.size());
+        for (int i = 0; i < limit; i++) {
+            AlgorithmStep step = steps.get(i);
+            boolean backward = step.isBackward();
+            Map<String, Double> labels = backward ? backwardDistances : distances;
+            switch (step.getAction()) {
+                case "initialize":
+                    labels.put(step.getCurrentNode(), step.getDistance());
+                    break;
+                case "visit":
+                    labels.put(step.getCurrentNode(), step.getDistance());
+                    (backward ? backwardVisited : visited).add(step.getCurrentNode());
+                    break;
+                case "relax":
+                    // A backward relax names the arc in graph order; its tail gets the label
+                    labels.put(backward ? step.getCurrentNode() : step.getTargetNode(), step.getDistance());
+                    break;
+                default:
+                    break;
+            }
+        }
+        return new TraceState(distances, visited, backwardDistances, backwardVisited);
+    }
+
+    public Map<String, Double> getDistances() {
+        return distances;
+    }
+
+    public Set<String> getVisited() {
+        return visited;
+    }
+
+    public Map<String, Double> getBackwardDistances() {
+        return backwardDistances;
+    }
+
+    public Set<String> getBackwardVisited() {
+        return backwardVisited;
+    }
+}
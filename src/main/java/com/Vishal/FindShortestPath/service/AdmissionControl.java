@@ -0,0 +1,214 @@
+package com.Vishal.FindShortestPath.service;
+
+import com.Vishal.FindShortestPath.model.CompiledGraph;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps expensive queries from taking every request thread. Each query is put in a cost
+ * class from its algorithm and the graph size; each class has its own concurrency limit
+ * and a bounded number of requests allowed to wait for a slot, for at most a short time.
+ * Anything beyond that is rejected at once with a {@link AdmissionRejectedException}
+ * whose retry hint comes from how long recent queries of that class held their slot.
+ * <p>
+ * Heuristic searches, Dijkstra and CH queries are LIGHT on any graph. The O(V·E)
+ * Bellman-Ford family, delta-stepping, /compare, /matrix and /isochrone (whose budget
+ * may cover the whole graph) are HEAVY once the graph has at least {@code heavy-arcs}
+ * arcs, and LIGHT below that. Streaming endpoints hold their slot until the stream ends.
+ */
+@Service
+public class AdmissionControl {
+
+    public enum CostClass { LIGHT, HEAVY }
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissionControl.class);
+
+    @Value("${graph.admission.heavy-arcs:20000}")
+    private int heavyArcs = 20_000;
+
+    @Value("${graph.admission.light.max-concurrent:64}")
+    private int lightConcurrent = 64;
+
+    @Value("${graph.admission.light.max-queued:64}")
+    private int lightQueued = 64;
+
+    @Value("${graph.admission.light.max-wait-ms:1000}")
+    private long lightWaitMs = 1000;
+
+    // 0: half the cores
+    @Value("${graph.admission.heavy.max-concurrent:0}")
+    private int heavyConcurrent;
+
+    @Value("${graph.admission.heavy.max-queued:8}")
+    private int heavyQueued = 8;
+
+    @Value("${graph.admission.heavy.max-wait-ms:200}")
+    private long heavyWaitMs = 200;
+
+    // Running and queued queries each hold a request thread; past this many, clients
+    // stall waiting for a connection instead of getting a 429
+    @Value("${server.tomcat.threads.max:200}")
+    private int requestThreads = 200;
+
+    // Admitted streams run on the MVC async executor, at most this many at once; with no
+    // queue in front of it (queue-capacity=0) this is its thread limit
+    @Value("${spring.task.execution.pool.max-size:2147483647}")
+    private int streamThreads = Integer.MAX_VALUE;
+
+    private final Gate[] gates = new Gate[CostClass.values().length];
+
+    public AdmissionControl() {
+    }
+
+    AdmissionControl(int heavyArcs, int lightConcurrent, int lightQueued, long lightWaitMs,
+                     int heavyConcurrent, int heavyQueued, long heavyWaitMs) {
+        this.heavyArcs = heavyArcs;
+        this.lightConcurrent = lightConcurrent;
+        this.lightQueued = lightQueued;
+        this.lightWaitMs = lightWaitMs;
+        this.heavyConcurrent = heavyConcurrent;
+        this.heavyQueued = heavyQueued;
+        this.heavyWaitMs = heavyWaitMs;
+        init();
+    }
+
+    @PostConstruct
+    void init() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        Gate light = new Gate(CostClass.LIGHT, lightConcurrent, lightQueued, lightWaitMs);
+        Gate heavy = new Gate(CostClass.HEAVY,
+                heavyConcurrent > 0 ? heavyConcurrent : Math.max(1, cores / 2), heavyQueued, heavyWaitMs);
+        gates[CostClass.LIGHT.ordinal()] = light;
+        gates[CostClass.HEAVY.ordinal()] = heavy;
+        int admitted = light.maxConcurrent + light.maxQueued + heavy.maxConcurrent + heavy.maxQueued;
+        if (admitted > requestThreads) {
+            log.warn("Admission control lets {} queries run or wait but there are {} request threads; "
+                    + "lower graph.admission.* or raise server.tomcat.threads.max", admitted, requestThreads);
+        }
+        int running = light.maxConcurrent + heavy.maxConcurrent;
+        if (running > streamThreads) {
+            log.warn("Admission control lets {} queries run but the async executor has {} threads for streams; "
+                    + "lower graph.admission.* or raise spring.task.execution.pool.max-size", running, streamThreads);
+        }
+    }
+
+    /** Cost class of a query; algorithm is the lower-cased name used by the endpoints. */
+    public CostClass classify(String algorithm, CompiledGraph graph) {
+        if (graph.edgeCount() < heavyArcs) return CostClass.LIGHT;
+        return switch (algorithm) {
+            case "bellman-ford", "spfa", "parallel-bellman-ford", "bellman-ford-parallel",
+                 "delta-stepping", "compare", "matrix", "isochrone" -> CostClass.HEAVY;
+            default -> CostClass.LIGHT;
+        };
+    }
+
+    /**
+     * Waits for a slot in the class, or throws {@link AdmissionRejectedException} when its
+     * queue is full or no slot frees up in time. Close the permit when the query is done.
+     */
+    public Permit admit(CostClass costClass) {
+        return gates[costClass.ordinal()].admit();
+    }
+
+    public Permit admit(String algorithm, CompiledGraph graph) {
+        return admit(classify(algorithm, graph));
+    }
+
+    public int running(CostClass costClass) {
+        return gates[costClass.ordinal()].running();
+    }
+
+    public int queued(CostClass costClass) {
+        return gates[costClass.ordinal()].queued.get();
+    }
+
+    public long rejected(CostClass costClass) {
+        return gates[costClass.ordinal()].rejected.get();
+    }
+
+    /** A held slot; closing it twice, even from two threads, releases it once. */
+    public static final class Permit implements AutoCloseable {
+        private final Gate gate;
+        private final long acquired = System.nanoTime();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Permit(Gate gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void close() {
+            if (!closed.compareAndSet(false, true)) return;
+            gate.release(System.nanoTime() - acquired);
+        }
+    }
+
+    private static final class Gate {
+        // Weight of the newest sample in the moving average of slot hold times
+        private static final double ALPHA = 0.2;
+
+        final CostClass costClass;
+        final int maxConcurrent;
+        final int maxQueued;
+        final long maxWaitNanos;
+        final Semaphore slots;
+        final AtomicInteger queued = new AtomicInteger();
+        final AtomicLong rejected = new AtomicLong();
+        volatile double averageHoldNanos;
+
+        Gate(CostClass costClass, int maxConcurrent, int maxQueued, long maxWaitMs) {
+            if (maxConcurrent < 1) {
+                throw new IllegalArgumentException(costClass + " admission needs at least one slot");
+            }
+            this.costClass = costClass;
+            this.maxConcurrent = maxConcurrent;
+            this.maxQueued = Math.max(0, maxQueued);
+            this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxWaitMs));
+            this.slots = new Semaphore(maxConcurrent, true);
+        }
+
+        Permit admit() {
+            if (slots.tryAcquire()) return new Permit(this);
+            if (queued.incrementAndGet() > maxQueued) {
+                queued.decrementAndGet();
+                throw reject("queue full");
+            }
+            try {
+                if (slots.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) return new Permit(this);
+                throw reject("no slot within " + TimeUnit.NANOSECONDS.toMillis(maxWaitNanos) + " ms");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw reject("interrupted while queued");
+            } finally {
+                queued.decrementAndGet();
+            }
+        }
+
+        void release(long heldNanos) {
+            double average = averageHoldNanos;
+            averageHoldNanos = average == 0 ? heldNanos : average + ALPHA * (heldNanos - average);
+            slots.release();
+        }
+
+        int running() {
+            return maxConcurrent - slots.availablePermits();
+        }
+
+        // Time for the queries ahead to drain at the recent pace, in whole seconds
+        private AdmissionRejectedException reject(String reason) {
+            rejected.incrementAndGet();
+            double waves = (double) (queued.get() + 1) / maxConcurrent;
+            long seconds = (long) Math.ceil(waves * averageHoldNanos / 1e9);
+            return new AdmissionRejectedException(costClass.name().toLowerCase(), reason, Math.max(1, seconds));
+        }
+    }
+}
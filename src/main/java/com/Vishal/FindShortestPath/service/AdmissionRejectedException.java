@@ -0,0 +1,21 @@
+package com.Vishal.FindShortestPath.service;
+
+/** Thrown by {@link AdmissionControl} when a query's cost class is saturated. */
+public class AdmissionRejectedException extends RuntimeException {
+    private final String costClass;
+    private final long retryAfterSeconds;
+
+    public AdmissionRejectedException(String costClass, String reason, long retryAfterSeconds) {
+        super("Too many " + costClass + " queries (" + reason + "); retry in " + retryAfterSeconds + " s");
+        this.costClass = costClass;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public String getCostClass() {
+        return costClass;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,271 @@
+package com.Vishal.FindShortestPath.service;
+
+import com.Vishal.FindShortestPath.model.AllPairsTable;
+import com.Vishal.FindShortestPath.model.CompiledGraph;
+import com.Vishal.FindShortestPath.model.PathResult;
+import com.Vishal.FindShortestPath.model.ShortestPathTree;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.concurrent.*;
+import java.util.stream.IntStream;
+
+/**
+ * Precomputes an {@link AllPairsTable} for graphs of at most {@code max-nodes} nodes,
+ * in the background like the landmark tables, so point-to-point queries and matrices
+ * on small graphs become table lookups. {@link #ready} returns null until it is built.
+ * <p>
+ * Dense graphs and graphs with negative arcs use Floyd-Warshall over 64 x 64 blocks:
+ * for each diagonal block, the block itself, then its row and column, then every
+ * other block, with the last two phases spread over the fork-join pool. A block's
+ * rows stay in cache while the k loop runs over them. Sparse non-negative graphs run
+ * one Dijkstra per source in parallel instead, which is O(n m log n) against n^3.
+ * A negative cycle leaves the graph without a table.
+ */
+@Service
+public class AllPairsService {
+
+    private static final Logger log = LoggerFactory.getLogger(AllPairsService.class);
+    private static final int BLOCK = 64;
+    private static final double INF = Double.POSITIVE_INFINITY;
+    // Largest n whose n x n tables fit in a Java array
+    static final int MAX_TABLE_NODES = 46_340;
+
+    private final DijkstraService dijkstraService;
+
+    // Largest graph that gets a table (n^2 * 12 bytes); 0 disables
+    @Value("${graph.all-pairs.max-nodes:2048}")
+    private int maxNodes = 2048;
+
+    // Most memory one table may take; graphs below max-nodes are still skipped past this
+    @Value("${graph.all-pairs.max-bytes:268435456}")
+    private long maxBytes = 256L << 20;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "all-pairs");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile AllPairsTable current;
+    private Future<?> pending;
+
+    @Autowired
+    public AllPairsService(DijkstraService dijkstraService) {
+        this.dijkstraService = dijkstraService;
+    }
+
+    AllPairsService(DijkstraService dijkstraService, int maxNodes, long maxBytes) {
+        this.dijkstraService = dijkstraService;
+        this.maxNodes = maxNodes;
+        this.maxBytes = maxBytes;
+        checkLimits();
+    }
+
+    @PostConstruct
+    void checkLimits() {
+        if (maxNodes > MAX_TABLE_NODES) {
+            throw new IllegalStateException("graph.all-pairs.max-nodes is " + maxNodes
+                    + "; tables hold n^2 entries, so at most " + MAX_TABLE_NODES + " nodes fit");
+        }
+    }
+
+    /** Starts building the table for this graph if it is small enough; drops the old one either way. */
+    public synchronized void preprocess(CompiledGraph graph) {
+        if (pending != null) {
+            pending.cancel(true);
+            pending = null;
+        }
+        current = null;
+        int n = graph.nodeCount();
+        if (n == 0 || n > maxNodes) return;
+        if (AllPairsTable.bytesFor(n) > maxBytes) {
+            log.info("No all-pairs table: {} nodes need {} MB, more than graph.all-pairs.max-bytes",
+                    n, AllPairsTable.bytesFor(n) >> 20);
+            return;
+        }
+        pending = executor.submit(() -> {
+            long started = System.nanoTime();
+            AllPairsTable table = build(graph);
+            synchronized (this) {
+                if (Thread.currentThread().isInterrupted()) return;
+                current = table;
+            }
+            if (table != null) {
+                log.info("All-pairs table for {} nodes built in {} ms ({} MB)", graph.nodeCount(),
+                        (System.nanoTime() - started) / 1_000_000, table.sizeInBytes() >> 20);
+            } else {
+                log.info("No all-pairs table: the graph has a negative cycle");
+            }
+        });
+    }
+
+    /** Table for this graph, or null while none is available. */
+    public AllPairsTable ready(CompiledGraph graph) {
+        AllPairsTable table = current;
+        return table != null && table.graph() == graph ? table : null;
+    }
+
+    /**
+     * Table that can stand in for Dijkstra on this graph: null while none is available and
+     * when the graph has negative arcs, where the table's answers differ from Dijkstra's.
+     */
+    public AllPairsTable readyForDijkstra(CompiledGraph graph) {
+        AllPairsTable table = ready(graph);
+        return table != null && !table.hasNegativeArcs() ? table : null;
+    }
+
+    /** Reads one shortest path out of the table; the result is untraced. */
+    public PathResult query(AllPairsTable table, String startId, String endId) {
+        return query(table, startId, endId, "All-pairs");
+    }
+
+    /** Same, reported under the name of the algorithm the table answers for. */
+    public PathResult query(AllPairsTable table, String startId, String endId, String algorithm) {
+        SearchContext ctx = SearchContext.untraced();
+        CompiledGraph graph = table.graph();
+        int source = graph.indexOf(startId);
+        int target = graph.indexOf(endId);
+        if (source < 0 || target < 0 || !table.reachable(source, target)) {
+            return ctx.unreachable(algorithm);
+        }
+        return ctx.result(table.path(source, target), table.distance(source, target), algorithm);
+    }
+
+    /** Picks the method by density and sign of the weights; null on a negative cycle. */
+    public AllPairsTable build(CompiledGraph graph) {
+        int n = graph.nodeCount();
+        // Repeated Dijkstra costs about n * m * log n, Floyd-Warshall n^3
+        double logN = Math.max(1.0, Math.log(n) / Math.log(2));
+        return hasNegativeArcs(graph) || graph.edgeCount() * logN >= (double) n * n
+                ? floydWarshall(graph)
+                : repeatedDijkstra(graph);
+    }
+
+    private static boolean hasNegativeArcs(CompiledGraph graph) {
+        for (int e = 0; e < graph.edgeCount(); e++) {
+            if (graph.weight(e) < 0) return true;
+        }
+        return false;
+    }
+
+    public AllPairsTable floydWarshall(CompiledGraph graph) {
+        int n = tableSize(graph);
+        double[] dist = new double[n * n];
+        int[] next = new int[n * n];
+        Arrays.fill(dist, INF);
+        Arrays.fill(next, -1);
+        for (int v = 0; v < n; v++) {
+            dist[v * n + v] = 0.0;
+            next[v * n + v] = v;
+        }
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+                int v = graph.target(e);
+                if (graph.weight(e) < dist[u * n + v]) {
+                    dist[u * n + v] = graph.weight(e);
+                    next[u * n + v] = v;
+                }
+            }
+        }
+
+        int blocks = (n + BLOCK - 1) / BLOCK;
+        for (int kb = 0; kb < blocks; kb++) {
+            int k = kb;
+            relaxBlock(dist, next, n, k, k, k);
+            IntStream.range(0, blocks).filter(b -> b != k).parallel().forEach(b -> {
+                relaxBlock(dist, next, n, k, b, k);
+                relaxBlock(dist, next, n, b, k, k);
+            });
+            IntStream.range(0, blocks).filter(ib -> ib != k).parallel().forEach(ib -> {
+                for (int jb = 0; jb < blocks; jb++) {
+                    if (jb != k) relaxBlock(dist, next, n, ib, jb, k);
+                }
+            });
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("All-pairs build cancelled");
+            }
+        }
+
+        for (int v = 0; v < n; v++) {
+            if (dist[v * n + v] < 0) return null;
+        }
+        return new AllPairsTable(graph, dist, next, hasNegativeArcs(graph));
+    }
+
+    // Paths from block row ib to block column jb through the nodes of block kb. With k
+    // outermost this is also correct when ib or jb is kb and the block updates itself.
+    private static void relaxBlock(double[] dist, int[] next, int n, int ib, int jb, int kb) {
+        int iEnd = Math.min(n, (ib + 1) * BLOCK);
+        int jStart = jb * BLOCK, jEnd = Math.min(n, jStart + BLOCK);
+        int kEnd = Math.min(n, (kb + 1) * BLOCK);
+        for (int k = kb * BLOCK; k < kEnd; k++) {
+            int rowK = k * n;
+            for (int i = ib * BLOCK; i < iEnd; i++) {
+                int rowI = i * n;
+                double dik = dist[rowI + k];
+                if (dik == INF) continue;
+                int hop = next[rowI + k];
+                for (int j = jStart; j < jEnd; j++) {
+                    double through = dik + dist[rowK + j];
+                    if (through < dist[rowI + j]) {
+                        dist[rowI + j] = through;
+                        next[rowI + j] = hop;
+                    }
+                }
+            }
+        }
+    }
+
+    public AllPairsTable repeatedDijkstra(CompiledGraph graph) {
+        int n = tableSize(graph);
+        double[] dist = new double[n * n];
+        int[] next = new int[n * n];
+        // Sources run on pool threads; cancelling interrupts the thread that asked
+        Thread caller = Thread.currentThread();
+        IntStream.range(0, n).parallel().forEach(source -> {
+            if (caller.isInterrupted()) {
+                throw new CancellationException("All-pairs build cancelled");
+            }
+            ShortestPathTree tree = dijkstraService.shortestPathTree(graph, source);
+            int row = source * n;
+            Arrays.fill(next, row, row + n, -1);
+            next[row + source] = source;
+            int[] climb = new int[n];
+            for (int v = 0; v < n; v++) {
+                dist[row + v] = tree.reached(v) ? tree.distance(v) : INF;
+                if (!tree.reached(v) || next[row + v] >= 0) continue;
+                // Walk up the tree to a node whose first hop is known, or to a child of the source
+                int u = v, depth = 0;
+                while (next[row + u] < 0 && tree.parent(u) != source) {
+                    climb[depth++] = u;
+                    u = tree.parent(u);
+                }
+                if (next[row + u] < 0) next[row + u] = u;
+                int hop = next[row + u];
+                while (depth > 0) next[row + climb[--depth]] = hop;
+            }
+        });
+        return new AllPairsTable(graph, dist, next, false);
+    }
+
+    // n, once it is known that n * n neither overflows an int nor exceeds an array
+    private static int tableSize(CompiledGraph graph) {
+        int n = graph.nodeCount();
+        if (n > MAX_TABLE_NODES) {
+            throw new IllegalArgumentException("All-pairs tables support at most " + MAX_TABLE_NODES + " nodes, not " + n);
+        }
+        return n;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,300 @@
+package com.Vishal.FindShortestPath.service;
+
+import com.Vishal.FindShortestPath.model.CompiledGraph;
+import com.Vishal.FindShortestPath.model.ContractionHierarchy;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.function.IntConsumer;
+
+/**
+ * Contracts the nodes of a graph one at a time, cheapest first, and records the
+ * resulting hierarchy. The cost of a node is twice its edge difference (shortcuts
+ * it would add minus arcs it removes) plus the number of already contracted
+ * neighbours. Neighbours are re-rated after each contraction, and a node is
+ * re-rated again when it reaches the top of the queue.
+ * Witness searches are bounded, so a few unnecessary shortcuts may be added;
+ * that never affects correctness.
+ */
+class ContractionHierarchyBuilder {
+    private static final int SIMULATE_SETTLE_LIMIT = 30;
+    private static final int CONTRACT_SETTLE_LIMIT = 100;
+    private static final int PROGRESS_INTERVAL = 256;
+
+    private final CompiledGraph graph;
+    private final int n;
+    private final Arcs[] out;
+    private final Arcs[] in;
+    private final int[] deletedNeighbors;
+
+    // Witness search workspace, reset through the touched list
+    private final double[] witnessDist;
+    private final int[] targetStamp;
+    private int stamp;
+    private final int[] touched;
+    private int touchedCount;
+    private final IndexedDaryHeap witnessHeap;
+
+    private final ArcList upward = new ArcList();
+    private final ArcList downward = new ArcList();
+    private int shortcuts;
+
+    ContractionHierarchyBuilder(CompiledGraph graph) {
+        this.graph = graph;
+        this.n = graph.nodeCount();
+        this.out = new Arcs[n];
+        this.in = new Arcs[n];
+        this.deletedNeighbors = new int[n];
+        this.witnessDist = new double[n];
+        this.targetStamp = new int[n];
+        this.touched = new int[n];
+        this.witnessHeap = new IndexedDaryHeap(n);
+        Arrays.fill(witnessDist, Double.POSITIVE_INFINITY);
+
+        for (int v = 0; v < n; v++) {
+            out[v] = new Arcs();
+            in[v] = new Arcs();
+        }
+        for (int v = 0; v < n; v++) {
+            for (int e = graph.firstEdge(v); e < graph.endEdge(v); e++) {
+                int w = graph.target(e);
+                if (graph.weight(e) < 0) {
+                    throw new IllegalArgumentException("Contraction Hierarchies need non-negative weights");
+                }
+                if (w == v) continue;
+                out[v].put(w, graph.weight(e), -1);
+                in[w].put(v, graph.weight(e), -1);
+            }
+        }
+    }
+
+    /** Runs the contraction; reports the number of contracted nodes and stops when interrupted. */
+    ContractionHierarchy build(IntConsumer progress) {
+        IndexedDaryHeap order = new IndexedDaryHeap(n);
+        for (int v = 0; v < n; v++) {
+            order.offer(v, priority(v));
+        }
+
+        int[] rank = new int[n];
+        int contracted = 0;
+        while (!order.isEmpty()) {
+            int v = order.poll();
+            double p = priority(v);
+            if (!order.isEmpty() && p > order.peekKey()) {
+                order.offer(v, p);
+                continue;
+            }
+
+            int[] neighbors = contract(v);
+            rank[v] = contracted++;
+            for (int neighbor : neighbors) {
+                if (order.contains(neighbor)) order.update(neighbor, priority(neighbor));
+            }
+            if (contracted % PROGRESS_INTERVAL == 0) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("Contraction cancelled");
+                }
+                progress.accept(contracted);
+            }
+        }
+        progress.accept(contracted);
+
+        return new ContractionHierarchy(graph, rank, upward.toSearchGraph(n), downward.toSearchGraph(n), shortcuts);
+    }
+
+    private double priority(int v) {
+        int added = shortcutsFor(v, false);
+        int removed = in[v].size + out[v].size;
+        return 2 * (added - removed) + deletedNeighbors[v];
+    }
+
+    // Returns the neighbours whose priority may have changed
+    private int[] contract(int v) {
+        shortcutsFor(v, true);
+        int[] neighbors = new int[out[v].size + in[v].size];
+        int count = 0;
+
+        // Everything still attached to v leads to a higher rank
+        Arcs outs = out[v];
+        for (int j = 0; j < outs.size; j++) {
+            int x = outs.nodes[j];
+            upward.add(v, x, outs.weights[j], outs.middles[j]);
+            in[x].remove(v);
+            deletedNeighbors[x]++;
+            neighbors[count++] = x;
+        }
+        Arcs ins = in[v];
+        for (int i = 0; i < ins.size; i++) {
+            int u = ins.nodes[i];
+            downward.add(v, u, ins.weights[i], ins.middles[i]);
+            out[u].remove(v);
+            deletedNeighbors[u]++;
+            neighbors[count++] = u;
+        }
+        out[v] = null;
+        in[v] = null;
+        return neighbors;
+    }
+
+    // Counts (and with apply, inserts) the shortcuts u -> x needed to bypass v
+    private int shortcutsFor(int v, boolean apply) {
+        Arcs ins = in[v];
+        Arcs outs = out[v];
+        if (ins.size == 0 || outs.size == 0) return 0;
+
+        double maxOut = 0;
+        for (int j = 0; j < outs.size; j++) {
+            maxOut = Math.max(maxOut, outs.weights[j]);
+        }
+
+        // The witness search can stop once every out-neighbour of v has been settled
+        stamp++;
+        for (int j = 0; j < outs.size; j++) {
+            targetStamp[outs.nodes[j]] = stamp;
+        }
+
+        int count = 0;
+        for (int i = 0; i < ins.size; i++) {
+            int u = ins.nodes[i];
+            double w1 = ins.weights[i];
+            int targets = targetStamp[u] == stamp ? outs.size - 1 : outs.size;
+            witnessSearch(u, v, w1 + maxOut, targets, apply ? CONTRACT_SETTLE_LIMIT : SIMULATE_SETTLE_LIMIT);
+
+            for (int j = 0; j < outs.size; j++) {
+                int x = outs.nodes[j];
+                if (x == u) continue;
+                double via = w1 + outs.weights[j];
+                if (witnessDist[x] <= via) continue;
+
+                count++;
+                if (apply) {
+                    if (out[u].put(x, via, v)) shortcuts++;
+                    in[x].put(u, via, v);
+                }
+            }
+            resetWitness();
+        }
+        return count;
+    }
+
+    private void witnessSearch(int source, int excluded, double limit, int targets, int settleLimit) {
+        touch(source, 0.0);
+        witnessHeap.offer(source, 0.0);
+        int settled = 0;
+        while (!witnessHeap.isEmpty() && witnessHeap.peekKey() <= limit && settled++ < settleLimit) {
+            int u = witnessHeap.poll();
+            if (u != source && targetStamp[u] == stamp && --targets == 0) break;
+            double base = witnessDist[u];
+            Arcs arcs = out[u];
+            for (int i = 0; i < arcs.size; i++) {
+                int x = arcs.nodes[i];
+                if (x == excluded) continue;
+                double d = base + arcs.weights[i];
+                if (d < witnessDist[x]) {
+                    touch(x, d);
+                    witnessHeap.offer(x, d);
+                }
+            }
+        }
+        witnessHeap.clear();
+    }
+
+    private void touch(int node, double distance) {
+        if (witnessDist[node] == Double.POSITIVE_INFINITY) touched[touchedCount++] = node;
+        witnessDist[node] = distance;
+    }
+
+    private void resetWitness() {
+        for (int i = 0; i < touchedCount; i++) {
+            witnessDist[touched[i]] = Double.POSITIVE_INFINITY;
+        }
+        touchedCount = 0;
+    }
+
+    /** Mutable adjacency of one node during contraction; at most one arc per neighbour. */
+    private static final class Arcs {
+        int[] nodes = new int[4];
+        double[] weights = new double[4];
+        int[] middles = new int[4];
+        int size;
+
+        // Adds the arc or lowers its weight; returns true if a new arc was added
+        boolean put(int node, double weight, int middle) {
+            for (int i = 0; i < size; i++) {
+                if (nodes[i] == node) {
+                    if (weight < weights[i]) {
+                        weights[i] = weight;
+                        middles[i] = middle;
+                    }
+                    return false;
+                }
+            }
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+                middles = Arrays.copyOf(middles, size * 2);
+            }
+            nodes[size] = node;
+            weights[size] = weight;
+            middles[size] = middle;
+            size++;
+            return true;
+        }
+
+        void remove(int node) {
+            for (int i = 0; i < size; i++) {
+                if (nodes[i] == node) {
+                    size--;
+                    nodes[i] = nodes[size];
+                    weights[i] = weights[size];
+                    middles[i] = middles[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    /** Append-only arc list that is turned into a CSR search graph at the end. */
+    private static final class ArcList {
+        int[] sources = new int[16];
+        int[] targets = new int[16];
+        double[] weights = new double[16];
+        int[] middles = new int[16];
+        int size;
+
+        void add(int source, int target, double weight, int middle) {
+            if (size == sources.length) {
+                sources = Arrays.copyOf(sources, size * 2);
+                targets = Arrays.copyOf(targets, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+                middles = Arrays.copyOf(middles, size * 2);
+            }
+            sources[size] = source;
+            targets[size] = target;
+            weights[size] = weight;
+            middles[size] = middle;
+            size++;
+        }
+
+        ContractionHierarchy.SearchGraph toSearchGraph(int nodeCount) {
+            int[] offsets = new int[nodeCount + 1];
+            for (int i = 0; i < size; i++) {
+                offsets[sources[i] + 1]++;
+            }
+            for (int v = 0; v < nodeCount; v++) {
+                offsets[v + 1] += offsets[v];
+            }
+            int[] t = new int[size];
+            double[] w = new double[size];
+            int[] m = new int[size];
+            int[] cursor = Arrays.copyOf(offsets, nodeCount);
+            for (int i = 0; i < size; i++) {
+                int slot = cursor[sources[i]]++;
+                t[slot] = targets[i];
+                w[slot] = weights[i];
+                m[slot] = middles[i];
+            }
+            return new ContractionHierarchy.SearchGraph(offsets, t, w, m);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.Vishal.FindShortestPath.service;
+
+import com.Vishal.FindShortestPath.model.CompiledGraph;
+import com.Vishal.FindShortestPath.model.ContractionHierarchy;
+import com.Vishal.FindShortestPath.model.PathResult;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Builds Contraction Hierarchies in the background and answers queries on them.
+ * Only one build runs at a time; starting a new one cancels the previous build.
+ * Until a hierarchy is ready for the current graph, {@link #ready} returns null
+ * and callers fall back to plain Dijkstra.
+ */
+@Service
+public class ContractionHierarchyService {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ch-preprocess");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Build current;
+
+    // Query state is borrowed per search, so a query costs what it touches, not O(V)
+    private final SearchWorkspace.Pool workspaces =
+            new SearchWorkspace.Pool(2 * Runtime.getRuntime().availableProcessors());
+
+    public synchronized void preprocess(CompiledGraph graph) {
+        Build previous = current;
+        if (previous != null && previous.future != null) {
+            previous.future.cancel(true);
+        }
+        Build build = new Build(graph);
+        current = build;
+        build.future = executor.submit(() -> run(build));
+    }
+
+    /** Uses a hierarchy that was built earlier, e.g. loaded from a snapshot file. */
+    public synchronized void install(ContractionHierarchy hierarchy) {
+        Build previous = current;
+        if (previous != null && previous.future != null) {
+            previous.future.cancel(true);
+        }
+        Build build = new Build(hierarchy.graph());
+        build.hierarchy = hierarchy;
+        build.contracted.set(hierarchy.graph().nodeCount());
+        build.state = "loaded";
+        build.finishedAt = build.startedAt;
+        current = build;
+    }
+
+    /** The finished hierarchy for this graph, or null while none is available. */
+    public ContractionHierarchy ready(CompiledGraph graph) {
+        Build build = current;
+        if (build == null || build.graph != graph) return null;
+        return build.hierarchy;
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        Build build = current;
+        if (build == null) {
+            map.put("state", "none");
+            return map;
+        }
+        int total = build.graph.nodeCount();
+        int done = build.contracted.get();
+        map.put("state", build.state);
+        map.put("contractedNodes", done);
+        map.put("totalNodes", total);
+        map.put("progress", total == 0 ? 1.0 : (double) done / total);
+        long end = build.finishedAt > 0 ? build.finishedAt : System.nanoTime();
+        map.put("elapsedMs", (end - build.startedAt) / 1_000_000.0);
+        if (build.hierarchy != null) {
+            map.put("shortcuts", build.hierarchy.shortcutCount());
+        }
+        if (build.error != null) {
+            map.put("error", build.error);
+        }
+        return map;
+    }
+
+    private void run(Build build) {
+        build.startedAt = System.nanoTime();
+        build.state = "building";
+        try {
+            ContractionHierarchy hierarchy = new ContractionHierarchyBuilder(build.graph)
+                    .build(build.contracted::set);
+            build.hierarchy = hierarchy;
+            build.state = "ready";
+        } catch (CancellationException e) {
+            build.state = "cancelled";
+        } catch (RuntimeException e) {
+            build.state = "failed";
+            build.error = e.getMessage();
+        } finally {
+            build.finishedAt = System.nanoTime();
+        }
+    }
+
+    // Bidirectional Dijkstra that only moves up the hierarchy. A side stops once its
+    // smallest key reaches the best meeting distance; the result is then unpacked.
+    public PathResult query(ContractionHierarchy ch, String startId, String endId, SearchContext ctx) {
+        CompiledGraph graph = ch.graph();
+        int source = graph.indexOf(startId);
+        int target = graph.indexOf(endId);
+        if (source < 0 || target < 0) {
+            return ctx.unreachable("CH");
+        }
+
+        ContractionHierarchy.SearchGraph up = ch.upward();
+        ContractionHierarchy.SearchGraph down = ch.downward();
+        try (SearchWorkspace wsF = workspaces.acquire(graph.nodeCount());
+             SearchWorkspace wsB = workspaces.acquire(graph.nodeCount())) {
+            SearchQueue queueF = wsF.queue(ctx);
+            SearchQueue queueB = wsB.queue(ctx);
+            wsF.reach(source, 0.0, -1);
+            wsB.reach(target, 0.0, -1);
+            if (queueF.offer(source, 0.0)) ctx.pushed();
+            if (queueB.offer(target, 0.0)) ctx.pushed();
+            ctx.initialize(graph, source);
+            ctx.initializeBackward(graph, target);
+
+            double best = source == target ? 0.0 : Double.MAX_VALUE;
+            int meet = source == target ? source : -1;
+
+            while (true) {
+                boolean forwardOpen = !queueF.isEmpty() && queueF.peekKey() < best;
+                boolean backwardOpen = !queueB.isEmpty() && queueB.peekKey() < best;
+                if (!forwardOpen && !backwardOpen) break;
+
+                boolean forward = forwardOpen && (!backwardOpen || queueF.size() <= queueB.size());
+                ContractionHierarchy.SearchGraph side = forward ? up : down;
+                SearchQueue queue = forward ? queueF : queueB;
+                SearchWorkspace ws = forward ? wsF : wsB;
+                SearchWorkspace other = forward ? wsB : wsF;
+
+                double key = queue.peekKey();
+                int current = queue.poll();
+                double base = ws.distance(current);
+                if (key > base) continue; // stale entry
+                if (forward) ctx.settle(graph, current, base);
+                else ctx.settleBackward(graph, current, base);
+
+                int first = side.firstEdge(current), end = side.endEdge(current);
+                ctx.scanned(end - first);
+                for (int e = first; e < end; e++) {
+                    int neighbor = side.target(e);
+                    double newDist = base + side.weight(e);
+                    if (newDist < ws.distance(neighbor)) {
+                        ws.reach(neighbor, newDist, current, e);
+                        if (queue.offer(neighbor, newDist)) ctx.pushed();
+                        // Downward arcs are stored reversed, so current -> neighbor is neighbor -> current
+                        if (forward) ctx.relax(graph, current, neighbor, newDist);
+                        else ctx.relaxBackward(graph, neighbor, current, newDist);
+
+                        double otherDist = other.distance(neighbor);
+                        if (otherDist != Double.MAX_VALUE && newDist + otherDist < best) {
+                            best = newDist + otherDist;
+                            meet = neighbor;
+                        }
+                    }
+                }
+            }
+
+            if (meet < 0) {
+                return ctx.unreachable("CH");
+            }
+
+            // Upward arcs from source to meet, then downward arcs from meet to target
+            Deque<Integer> upChain = new ArrayDeque<>();
+            for (int v = meet; v != source; v = wsF.parent(v)) {
+                upChain.push(v);
+            }
+            List<String> path = new ArrayList<>();
+            path.add(graph.id(source));
+            for (int v : upChain) {
+                ch.unpack(wsF.parent(v), v, up.middle(wsF.arc(v)), path);
+            }
+            for (int v = meet; v != target; v = wsB.parent(v)) {
+                // downward entry parent -> v stands for the original arc v -> parent
+                ch.unpack(v, wsB.parent(v), down.middle(wsB.arc(v)), path);
+            }
+            return ctx.result(path, best, "CH");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static final class Build {
+        final CompiledGraph graph;
+        final AtomicInteger contracted = new AtomicInteger();
+        volatile String state = "queued";
+        volatile ContractionHierarchy hierarchy;
+        volatile String error;
+        volatile long startedAt = System.nanoTime();
+        volatile long finishedAt;
+        volatile Future<?> future;
+
+        Build(CompiledGraph graph) {
+            this.graph = graph;
+        }
+    }
+}
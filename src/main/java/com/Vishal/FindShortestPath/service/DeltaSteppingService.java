@@ -0,0 +1,319 @@
+package com.Vishal.FindShortestPath.service;
+
+import com.Vishal.FindShortestPath.model.CompiledGraph;
+import com.Vishal.FindShortestPath.model.PathResult;
+import com.Vishal.FindShortestPath.model.ShortestPathTree;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Parallel delta-stepping (Meyer and Sanders) for graphs with non-negative weights.
+ * Nodes are kept in buckets of width delta by tentative distance. The lowest bucket is
+ * emptied by relaxing its light arcs ({@code weight <= delta}) in parallel until no node
+ * re-enters it; then the heavy arcs of everything it settled are relaxed in parallel.
+ * Distances live in an {@link AtomicLongArray} as raw double bits, which for non-negative
+ * doubles order like the doubles, so relaxing is a compare-and-set loop on a long.
+ * <p>
+ * Only distances are updated concurrently. Parents are recovered afterwards along tight
+ * arcs ({@code d(u) + w == d(v)}, which holds exactly for the arc that set d(v)), so paths
+ * are shortest paths and distances are identical to {@link DijkstraService}; on ties the
+ * path may differ. Small frontiers are relaxed on the calling thread. Steps are not
+ * traced since parallel relaxations have no meaningful order.
+ */
+@Service
+public class DeltaSteppingService {
+
+    private static final String NAME = "Delta-stepping";
+    private static final long INFINITY = Double.doubleToLongBits(Double.POSITIVE_INFINITY);
+    private static final int PARALLEL_THRESHOLD = 256;
+    private static final int DELTA_SAMPLE = 1024;
+
+    // Worker threads; 0 uses one per core
+    @Value("${graph.delta-stepping.parallelism:0}")
+    private int parallelism;
+
+    // Bucket width; 0 uses the mean of a sample of arc weights
+    @Value("${graph.delta-stepping.delta:0}")
+    private double delta;
+
+    private ForkJoinPool pool;
+
+    public DeltaSteppingService() {
+    }
+
+    /** For benchmarks and tests that run outside the application context. */
+    public DeltaSteppingService(int parallelism, double delta) {
+        this.parallelism = parallelism;
+        this.delta = delta;
+        init();
+    }
+
+    @PostConstruct
+    void init() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(threads, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("delta-stepping-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+
+    public PathResult deltaStepping(CompiledGraph graph, String startId, String endId, SearchContext ctx) {
+        int source = graph.indexOf(startId);
+        int target = graph.indexOf(endId);
+        if (source < 0 || target < 0) {
+            return ctx.unreachable(NAME);
+        }
+        Run run = new Run(graph, deltaFor(graph), target, ctx);
+        run.search(source);
+
+        double distance = run.distance(target);
+        if (distance == Double.POSITIVE_INFINITY) {
+            return ctx.unreachable(NAME);
+        }
+        return ctx.result(run.pathTo(source, target), distance, NAME);
+    }
+
+    /** Full single-source search; unreached nodes get {@link Double#MAX_VALUE} like Dijkstra's trees. */
+    public ShortestPathTree shortestPathTree(CompiledGraph graph, int source) {
+        Run run = new Run(graph, deltaFor(graph), -1, SearchContext.untraced());
+        run.search(source);
+        return run.tree(source);
+    }
+
+    double deltaFor(CompiledGraph graph) {
+        if (delta > 0) return delta;
+        int m = graph.edgeCount();
+        int stride = Math.max(1, m / DELTA_SAMPLE);
+        double sum = 0;
+        int count = 0;
+        for (int e = 0; e < m; e += stride) {
+            sum += graph.weight(e);
+            count++;
+        }
+        double mean = count == 0 ? 0 : sum / count;
+        return mean > 0 ? mean : 1.0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /** State of one search. Buckets are only touched by the calling thread. */
+    private final class Run {
+        final CompiledGraph graph;
+        final double delta;
+        final int target;
+        final SearchContext ctx;
+        final AtomicLongArray distances;
+        final LongAdder scanned = new LongAdder();
+        final TreeMap<Long, IntList> buckets = new TreeMap<>();
+        // 1 + bucket a node was last queued in (0: none), and 1 + bucket it was last settled in
+        final long[] queuedIn;
+        final long[] settledIn;
+
+        Run(CompiledGraph graph, double delta, int target, SearchContext ctx) {
+            int n = graph.nodeCount();
+            this.graph = graph;
+            this.delta = delta;
+            this.target = target;
+            this.ctx = ctx;
+            this.distances = new AtomicLongArray(n);
+            for (int v = 0; v < n; v++) {
+                distances.set(v, INFINITY);
+            }
+            this.queuedIn = new long[n];
+            this.settledIn = new long[n];
+        }
+
+        double distance(int node) {
+            return Double.longBitsToDouble(distances.get(node));
+        }
+
+        void search(int source) {
+            distances.set(source, Double.doubleToLongBits(0.0));
+            ctx.initialize(graph, source);
+            enqueue(source);
+
+            while (!buckets.isEmpty()) {
+                Map.Entry<Long, IntList> lowest = buckets.pollFirstEntry();
+                long bucket = lowest.getKey();
+                // Everything below this bucket is final
+                if (target >= 0 && distance(target) < bucket * delta) break;
+
+                IntList settled = new IntList();
+                int[] frontier = live(lowest.getValue(), bucket, settled);
+                while (frontier.length > 0) {
+                    enqueueAll(relax(frontier, true));
+                    IntList again = buckets.remove(bucket);
+                    frontier = again == null ? new int[0] : live(again, bucket, settled);
+                }
+                enqueueAll(relax(settled.toArray(), false));
+            }
+            ctx.scanned((int) Math.min(Integer.MAX_VALUE, scanned.sum()));
+        }
+
+        // Nodes of the bucket whose distance still falls in it; records them as settled here
+        private int[] live(IntList queued, long bucket, IntList settled) {
+            IntList live = new IntList();
+            for (int i = 0; i < queued.size; i++) {
+                int v = queued.items[i];
+                if (queuedIn[v] != bucket + 1 || bucketOf(distance(v)) != bucket) continue;
+                queuedIn[v] = 0;
+                live.add(v);
+                ctx.settle(graph, v, distance(v));
+                if (settledIn[v] != bucket + 1) {
+                    settledIn[v] = bucket + 1;
+                    settled.add(v);
+                }
+            }
+            return live.toArray();
+        }
+
+        private int[] relax(int[] nodes, boolean light) {
+            IntStream stream = IntStream.of(nodes).mapMulti((u, sink) -> {
+                double base = distance(u);
+                int count = 0;
+                for (int e = graph.firstEdge(u), end = graph.endEdge(u); e < end; e++) {
+                    double weight = graph.weight(e);
+                    if (weight < 0) {
+                        throw new IllegalArgumentException(NAME + " needs non-negative weights");
+                    }
+                    if ((weight <= delta) != light) continue;
+                    count++;
+                    int v = graph.target(e);
+                    if (lower(v, base + weight)) sink.accept(v);
+                }
+                scanned.add(count);
+            });
+            if (nodes.length < PARALLEL_THRESHOLD) {
+                return stream.toArray();
+            }
+            IntStream parallel = stream.parallel();
+            return pool.submit(parallel::toArray).join();
+        }
+
+        private boolean lower(int node, double distance) {
+            long bits = Double.doubleToLongBits(distance);
+            long current = distances.get(node);
+            while (bits < current) {
+                long witness = distances.compareAndExchange(node, current, bits);
+                if (witness == current) return true;
+                current = witness;
+            }
+            return false;
+        }
+
+        private void enqueueAll(int[] nodes) {
+            for (int v : nodes) {
+                enqueue(v);
+            }
+        }
+
+        private void enqueue(int v) {
+            long bucket = bucketOf(distance(v));
+            if (queuedIn[v] == bucket + 1) return;
+            queuedIn[v] = bucket + 1;
+            buckets.computeIfAbsent(bucket, b -> new IntList()).add(v);
+            ctx.pushed();
+        }
+
+        private long bucketOf(double distance) {
+            return (long) (distance / delta);
+        }
+
+        private boolean tight(int from, int to, double weight) {
+            double d = distance(to);
+            return d != Double.POSITIVE_INFINITY && distance(from) + weight == d;
+        }
+
+        // Breadth-first search back from the target over tight arcs; next[u] leads toward the target
+        List<String> pathTo(int source, int target) {
+            int n = graph.nodeCount();
+            int[] next = new int[n];
+            Arrays.fill(next, -1);
+            CompiledGraph reverse = graph.reverse();
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            queue.add(target);
+            next[target] = target;
+            while (!queue.isEmpty() && next[source] < 0) {
+                int v = queue.poll();
+                for (int e = reverse.firstEdge(v); e < reverse.endEdge(v); e++) {
+                    int u = reverse.target(e);
+                    if (next[u] < 0 && tight(u, v, reverse.weight(e))) {
+                        next[u] = v;
+                        queue.add(u);
+                    }
+                }
+            }
+            List<String> path = new ArrayList<>();
+            for (int v = source; ; v = next[v]) {
+                path.add(graph.id(v));
+                if (v == target) break;
+            }
+            return path;
+        }
+
+        // Level-synchronous search forward over tight arcs; the first claim of a node sets its parent
+        ShortestPathTree tree(int source) {
+            int n = graph.nodeCount();
+            AtomicIntegerArray parents = new AtomicIntegerArray(n);
+            for (int v = 0; v < n; v++) {
+                parents.set(v, -1);
+            }
+            parents.set(source, source);
+            int[] frontier = {source};
+            while (frontier.length > 0) {
+                IntStream stream = IntStream.of(frontier).mapMulti((u, sink) -> {
+                    for (int e = graph.firstEdge(u), end = graph.endEdge(u); e < end; e++) {
+                        int v = graph.target(e);
+                        if (parents.get(v) < 0 && tight(u, v, graph.weight(e)) && parents.compareAndSet(v, -1, u)) {
+                            sink.accept(v);
+                        }
+                    }
+                });
+                if (frontier.length < PARALLEL_THRESHOLD) {
+                    frontier = stream.toArray();
+                } else {
+                    IntStream parallel = stream.parallel();
+                    frontier = pool.submit(parallel::toArray).join();
+                }
+            }
+
+            double[] dist = new double[n];
+            int[] parent = new int[n];
+            for (int v = 0; v < n; v++) {
+                double d = distance(v);
+                dist[v] = d == Double.POSITIVE_INFINITY ? Double.MAX_VALUE : d;
+                parent[v] = v == source ? -1 : parents.get(v);
+            }
+            return new ShortestPathTree(source, dist, parent);
+        }
+    }
+
+    private static final class IntList {
+        int[] items = new int[8];
+        int size;
+
+        void add(int value) {
+            if (size == items.length) items = Arrays.copyOf(items, size * 2);
+            items[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(items, size);
+        }
+    }
+}
@@ -4,201 +4,654 @@ import com.Vishal.FindShortestPath.model.*;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
 
 @Service
 public class DijkstraService {
 
-    public PathResult findShortestPath(Graph graph, String startId, String endId) {
-        Map<String, Double> distances = new HashMap<>();
-        Map<String, String> previous = new HashMap<>();
-        PriorityQueue<NodeDistance> pq = new PriorityQueue<>(
-                Comparator.comparingDouble(NodeDistance::getDistance)
-        );
-        Set<String> visited = new HashSet<>();
-        List<AlgorithmStep> steps = new ArrayList<>();
+    // Point-to-point searches borrow their state from here instead of allocating O(V) arrays
+    private final SearchWorkspace.Pool workspaces =
+            new SearchWorkspace.Pool(2 * Runtime.getRuntime().availableProcessors());
 
-        // Initialize distances
-        for (String nodeId : graph.getAllNodeIds()) {
-            distances.put(nodeId, Double.MAX_VALUE);
+    public PathResult findShortestPath(CompiledGraph graph, String startId, String endId) {
+        return findShortestPath(graph, startId, endId, SearchContext.untraced());
+    }
+
+    public PathResult findShortestPath(CompiledGraph graph, String startId, String endId, SearchContext ctx) {
+        int source = graph.indexOf(startId);
+        int target = graph.indexOf(endId);
+        if (source < 0 || target < 0) {
+            return ctx.unreachable("Dijkstra");
         }
-        distances.put(startId, 0.0);
-        pq.offer(new NodeDistance(startId, 0.0));
 
-        steps.add(new AlgorithmStep("initialize", startId, null, 0.0,
-                new HashMap<>(distances), new HashSet<>()));
+        try (SearchWorkspace ws = workspaces.acquire(graph.nodeCount())) {
+            SearchQueue pq = ws.queue(ctx);
+
+            ws.reach(source, 0.0, -1);
+            if (pq.offer(source, 0.0)) ctx.pushed();
+            ctx.initialize(graph, source);
+            ctx.onTimeout(() -> partial(graph, ws::distance, ws::parent, source, target, "Dijkstra", ctx));
+
+            while (!pq.isEmpty()) {
+                int current = pq.poll();
+
+                if (ws.isSettled(current)) continue;
+                ws.settle(current);
+                double base = ws.distance(current);
+                ctx.settle(graph, current, base);
+
+                if (current == target) break;
+
+                int first = graph.firstEdge(current), end = graph.endEdge(current);
+                ctx.scanned(end - first);
+                for (int e = first; e < end; e++) {
+                    int neighbor = graph.target(e);
+                    if (ws.isSettled(neighbor)) continue;
 
-        while (!pq.isEmpty()) {
-            NodeDistance current = pq.poll();
-            String currentId = current.getNodeId();
+                    double newDist = base + graph.weight(e);
+
+                    if (newDist < ws.distance(neighbor)) {
+                        ws.reach(neighbor, newDist, current);
+                        if (pq.offer(neighbor, newDist)) ctx.pushed();
+                        ctx.relax(graph, current, neighbor, newDist);
+                    }
+                }
+            }
+
+            if (ws.distance(target) == Double.MAX_VALUE) {
+                return ctx.unreachable("Dijkstra");
+            }
 
-            if (visited.contains(currentId)) continue;
-            visited.add(currentId);
+            return ctx.result(buildPath(graph, ws::parent, target), ws.distance(target), "Dijkstra");
+        }
+    }
 
-            steps.add(new AlgorithmStep("visit", currentId, null,
-                    distances.get(currentId), new HashMap<>(distances), new HashSet<>(visited)));
+    /** Full single-source search with no target; used to build indexes and tables. */
+    public ShortestPathTree shortestPathTree(CompiledGraph graph, int source) {
+        return shortestPathTree(graph, source, SearchContext.untraced());
+    }
 
-            if (currentId.equals(endId)) break;
+    /** Same, counting its work and stopping at the context's deadline. */
+    public ShortestPathTree shortestPathTree(CompiledGraph graph, int source, SearchContext ctx) {
+        return search(graph, source, null, ctx);
+    }
 
-            for (Edge edge : graph.getEdges(currentId)) {
-                String neighborId = edge.getTo();
-                if (visited.contains(neighborId)) continue;
+    /**
+     * Single-source search that stops as soon as every target is settled. Distances
+     * and parents of the targets are exact; other nodes may be left unreached.
+     */
+    public ShortestPathTree oneToMany(CompiledGraph graph, int source, int[] targets) {
+        return oneToMany(graph, source, targets, SearchContext.untraced());
+    }
 
-                double newDist = distances.get(currentId) + edge.getWeight();
+    public ShortestPathTree oneToMany(CompiledGraph graph, int source, int[] targets, SearchContext ctx) {
+        return search(graph, source, targets, ctx);
+    }
 
-                if (newDist < distances.getOrDefault(neighborId, Double.MAX_VALUE)) {
-                    distances.put(neighborId, newDist);
-                    previous.put(neighborId, currentId);
-                    pq.offer(new NodeDistance(neighborId, newDist));
+    private ShortestPathTree search(CompiledGraph graph, int source, int[] targets, SearchContext ctx) {
+        int n = graph.nodeCount();
+        double[] distances = new double[n];
+        int[] parents = new int[n];
+        boolean[] visited = new boolean[n];
+        IndexedDaryHeap heap = new IndexedDaryHeap(n);
+
+        boolean[] wanted = null;
+        int remaining = 0;
+        if (targets != null) {
+            wanted = new boolean[n];
+            for (int t : targets) {
+                if (!wanted[t]) remaining++;
+                wanted[t] = true;
+            }
+        }
 
-                    steps.add(new AlgorithmStep("relax", currentId, neighborId,
-                            newDist, new HashMap<>(distances), new HashSet<>(visited)));
+        Arrays.fill(distances, Double.MAX_VALUE);
+        Arrays.fill(parents, -1);
+        distances[source] = 0.0;
+        if (heap.offer(source, 0.0)) ctx.pushed();
+        ctx.initialize(graph, source);
+
+        while (!heap.isEmpty()) {
+            int current = heap.poll();
+            visited[current] = true;
+            double base = distances[current];
+            ctx.settle(graph, current, base);
+            if (wanted != null && wanted[current] && --remaining == 0) break;
+            int first = graph.firstEdge(current), end = graph.endEdge(current);
+            ctx.scanned(end - first);
+            for (int e = first; e < end; e++) {
+                int neighbor = graph.target(e);
+                if (visited[neighbor]) continue;
+                double newDist = base + graph.weight(e);
+                if (newDist < distances[neighbor]) {
+                    distances[neighbor] = newDist;
+                    parents[neighbor] = current;
+                    if (heap.offer(neighbor, newDist)) ctx.pushed();
+                    ctx.relax(graph, current, neighbor, newDist);
                 }
             }
         }
+        return new ShortestPathTree(source, distances, parents);
+    }
+
+    /** Receives the nodes of a budget-bounded search in order of distance. */
+    @FunctionalInterface
+    public interface SettledNodeVisitor {
+        void settled(int node, double distance, int parent);
+    }
 
-        // Reconstruct path
-        List<String> path = new ArrayList<>();
-        String curr = endId;
-        // if end node unreachable, distances.get(endId) might be null or Double.MAX_VALUE
-        if (!distances.containsKey(endId) || distances.get(endId) == Double.MAX_VALUE) {
-            return new PathResult(Collections.emptyList(), Double.POSITIVE_INFINITY, steps, "Dijkstra");
+    /**
+     * Dijkstra from the source that settles only nodes within the budget and hands each
+     * one to the visitor as it is settled, so callers can stream a service area without
+     * holding it. Arcs leading past the budget are never queued. Pass an untraced
+     * context: steps are never recorded here. Returns the number of nodes settled.
+     */
+    public int withinBudget(CompiledGraph graph, int source, double budget, SearchContext ctx,
+                            SettledNodeVisitor visitor) {
+        try (SearchWorkspace ws = workspaces.acquire(graph.nodeCount())) {
+            SearchQueue pq = ws.queue(ctx);
+
+            ws.reach(source, 0.0, -1);
+            if (pq.offer(source, 0.0)) ctx.pushed();
+
+            int settled = 0;
+            while (!pq.isEmpty()) {
+                int current = pq.poll();
+
+                if (ws.isSettled(current)) continue;
+                ws.settle(current);
+                double base = ws.distance(current);
+                ctx.settle(graph, current, base);
+                visitor.settled(current, base, ws.parent(current));
+                settled++;
+
+                int first = graph.firstEdge(current), end = graph.endEdge(current);
+                ctx.scanned(end - first);
+                for (int e = first; e < end; e++) {
+                    int neighbor = graph.target(e);
+                    if (ws.isSettled(neighbor)) continue;
+
+                    double newDist = base + graph.weight(e);
+                    if (newDist <= budget && newDist < ws.distance(neighbor)) {
+                        ws.reach(neighbor, newDist, current);
+                        if (pq.offer(neighbor, newDist)) ctx.pushed();
+                    }
+                }
+            }
+            return settled;
         }
+    }
 
-        while (curr != null) {
-            path.add(0, curr);
-            curr = previous.get(curr);
+    /** Answers a single query from a precomputed tree; the result is untraced. */
+    public PathResult pathFromTree(CompiledGraph graph, ShortestPathTree tree, String endId) {
+        SearchContext ctx = SearchContext.untraced();
+        int target = graph.indexOf(endId);
+        if (target < 0 || !tree.reached(target)) {
+            return ctx.unreachable("Dijkstra");
         }
+        LinkedList<String> path = new LinkedList<>();
+        for (int v = target; v != -1; v = tree.parent(v)) {
+            path.addFirst(graph.id(v));
+        }
+        return ctx.result(new ArrayList<>(path), tree.distance(target), "Dijkstra");
+    }
 
-        return new PathResult(
-                path,
-                distances.get(endId),
-                steps,
-                "Dijkstra"
-        );
+    public PathResult bellmanFord(CompiledGraph graph, String startId, String endId) {
+        return bellmanFord(graph, startId, endId, SearchContext.untraced());
     }
 
     // Bellman-Ford Algorithm (handles negative weights)
-    public PathResult bellmanFord(Graph graph, String startId, String endId) {
-        Map<String, Double> distances = new HashMap<>();
-        Map<String, String> previous = new HashMap<>();
-        List<AlgorithmStep> steps = new ArrayList<>();
-
-        // Initialize
-        for (String nodeId : graph.getAllNodeIds()) {
-            distances.put(nodeId, Double.MAX_VALUE);
+    public PathResult bellmanFord(CompiledGraph graph, String startId, String endId, SearchContext ctx) {
+        int source = graph.indexOf(startId);
+        int target = graph.indexOf(endId);
+        if (source < 0 || target < 0) {
+            return ctx.unreachable("Bellman-Ford");
         }
-        distances.put(startId, 0.0);
 
-        int n = graph.getAllNodeIds().size();
+        int n = graph.nodeCount();
+        double[] distances = new double[n];
+        int[] previous = new int[n];
 
-        // Relax edges n-1 times
-        for (int i = 0; i < n - 1; i++) {
+        // Initialize
+        Arrays.fill(distances, Double.MAX_VALUE);
+        Arrays.fill(previous, -1);
+        distances[source] = 0.0;
+        ctx.initialize(graph, source);
+        ctx.onTimeout(() -> partial(graph, v -> distances[v], v -> previous[v], source, target, "Bellman-Ford", ctx));
+
+        // Relax edges up to n-1 times; anything still improving in an n-th pass lies on
+        // or behind a negative cycle
+        for (int i = 0; i < n; i++) {
             boolean updated = false;
-            for (String nodeId : graph.getAllNodeIds()) {
-                if (distances.get(nodeId) == Double.MAX_VALUE) continue;
-
-                for (Edge edge : graph.getEdges(nodeId)) {
-                    double newDist = distances.get(nodeId) + edge.getWeight();
-                    if (newDist < distances.getOrDefault(edge.getTo(), Double.MAX_VALUE)) {
-                        distances.put(edge.getTo(), newDist);
-                        previous.put(edge.getTo(), nodeId);
+            for (int node = 0; node < n; node++) {
+                ctx.checkpoint();
+                if (distances[node] == Double.MAX_VALUE) continue;
+
+                int first = graph.firstEdge(node), end = graph.endEdge(node);
+                ctx.scanned(end - first);
+                for (int e = first; e < end; e++) {
+                    int neighbor = graph.target(e);
+                    double newDist = distances[node] + graph.weight(e);
+                    if (newDist < distances[neighbor]) {
+                        distances[neighbor] = newDist;
+                        previous[neighbor] = node;
                         updated = true;
-                        steps.add(new AlgorithmStep("relax", nodeId, edge.getTo(),
-                                newDist, new HashMap<>(distances), new HashSet<>()));
+                        ctx.relax(graph, node, neighbor, newDist);
                     }
                 }
             }
             if (!updated) break;
+            if (i == n - 1) {
+                List<String> cycle = negativeCycle(graph, previous);
+                return ctx.negativeCycle(cycle != null ? cycle : Collections.emptyList(), "Bellman-Ford");
+            }
         }
 
-        // Reconstruct path
-        List<String> path = new ArrayList<>();
-        String curr = endId;
-        if (!distances.containsKey(endId) || distances.get(endId) == Double.MAX_VALUE) {
-            return new PathResult(Collections.emptyList(), Double.POSITIVE_INFINITY, steps, "Bellman-Ford");
+        if (distances[target] == Double.MAX_VALUE) {
+            return ctx.unreachable("Bellman-Ford");
         }
 
-        while (curr != null) {
-            path.add(0, curr);
-            curr = previous.get(curr);
+        return ctx.result(buildPath(graph, v -> previous[v], target), distances[target], "Bellman-Ford");
+    }
+
+    public PathResult spfa(CompiledGraph graph, String startId, String endId) {
+        return spfa(graph, startId, endId, SearchContext.untraced());
+    }
+
+    // Queue-based Bellman-Ford (SPFA): only nodes whose distance changed are scanned again.
+    // A shortest path has fewer than n edges, so a label reached over n edges means a negative cycle.
+    public PathResult spfa(CompiledGraph graph, String startId, String endId, SearchContext ctx) {
+        int source = graph.indexOf(startId);
+        int target = graph.indexOf(endId);
+        if (source < 0 || target < 0) {
+            return ctx.unreachable("SPFA");
         }
 
-        return new PathResult(path, distances.get(endId), steps, "Bellman-Ford");
+        int n = graph.nodeCount();
+        double[] distances = new double[n];
+        int[] previous = new int[n];
+        int[] hops = new int[n];
+        boolean[] queued = new boolean[n];
+        int[] queue = new int[n]; // ring buffer; a node is in it at most once
+        int head = 0, size = 0;
+
+        Arrays.fill(distances, Double.MAX_VALUE);
+        Arrays.fill(previous, -1);
+        distances[source] = 0.0;
+        queue[size++] = source;
+        queued[source] = true;
+        ctx.pushed();
+        ctx.initialize(graph, source);
+        ctx.onTimeout(() -> partial(graph, v -> distances[v], v -> previous[v], source, target, "SPFA", ctx));
+
+        while (size > 0) {
+            int current = queue[head];
+            head = (head + 1) % n;
+            size--;
+            queued[current] = false;
+            double base = distances[current];
+            ctx.settle(graph, current, base);
+
+            int first = graph.firstEdge(current), end = graph.endEdge(current);
+            ctx.scanned(end - first);
+            for (int e = first; e < end; e++) {
+                int neighbor = graph.target(e);
+                double newDist = base + graph.weight(e);
+                if (newDist < distances[neighbor]) {
+                    distances[neighbor] = newDist;
+                    previous[neighbor] = current;
+                    hops[neighbor] = hops[current] + 1;
+                    ctx.relax(graph, current, neighbor, newDist);
+                    if (hops[neighbor] >= n) {
+                        return ctx.negativeCycle(cycleOrRecompute(graph, previous, source, ctx), "SPFA");
+                    }
+                    if (!queued[neighbor]) {
+                        queue[(head + size) % n] = neighbor;
+                        size++;
+                        queued[neighbor] = true;
+                        ctx.pushed();
+                    }
+                }
+            }
+        }
+
+        if (distances[target] == Double.MAX_VALUE) {
+            return ctx.unreachable("SPFA");
+        }
+
+        return ctx.result(buildPath(graph, v -> previous[v], target), distances[target], "SPFA");
     }
 
-    // A* Algorithm (with heuristic)
-    public PathResult aStar(Graph graph, String startId, String endId) {
-        Map<String, Double> gScore = new HashMap<>();
-        Map<String, Double> fScore = new HashMap<>();
-        Map<String, String> previous = new HashMap<>();
-        PriorityQueue<NodeDistance> openSet = new PriorityQueue<>(
-                Comparator.comparingDouble(NodeDistance::getDistance)
-        );
-        Set<String> visited = new HashSet<>();
-        List<AlgorithmStep> steps = new ArrayList<>();
+    public PathResult parallelBellmanFord(CompiledGraph graph, String startId, String endId) {
+        return parallelBellmanFord(graph, startId, endId, SearchContext.untraced());
+    }
 
-        Node endNode = graph.getNode(endId);
-        if (endNode == null) {
-            return new PathResult(Collections.emptyList(), Double.POSITIVE_INFINITY, steps, "A*");
+    // Bellman-Ford with each round split over the fork-join pool. Every node pulls the best
+    // value over its incoming arcs from the previous round's distances and writes only its own
+    // slot, so the rounds need no locks. Per-edge relax steps are not recorded in this mode.
+    public PathResult parallelBellmanFord(CompiledGraph graph, String startId, String endId, SearchContext ctx) {
+        int source = graph.indexOf(startId);
+        int target = graph.indexOf(endId);
+        if (source < 0 || target < 0) {
+            return ctx.unreachable("Parallel Bellman-Ford");
         }
 
-        for (String nodeId : graph.getAllNodeIds()) {
-            gScore.put(nodeId, Double.MAX_VALUE);
-            fScore.put(nodeId, Double.MAX_VALUE);
+        int n = graph.nodeCount();
+        CompiledGraph reverse = graph.reverse();
+        double[] distances = new double[n];
+        double[] nextDistances = new double[n];
+        int[] previous = new int[n];
+        int[] nextPrevious = new int[n];
+
+        Arrays.fill(distances, Double.MAX_VALUE);
+        Arrays.fill(previous, -1);
+        distances[source] = 0.0;
+        ctx.initialize(graph, source);
+
+        for (int round = 0; round < n; round++) {
+            ctx.checkDeadline();
+            double[] in = distances, out = nextDistances;
+            int[] inPrev = previous, outPrev = nextPrevious;
+            int changed = IntStream.range(0, n).parallel().map(v -> {
+                double best = in[v];
+                int parent = inPrev[v];
+                for (int e = reverse.firstEdge(v), end = reverse.endEdge(v); e < end; e++) {
+                    int u = reverse.target(e);
+                    if (in[u] == Double.MAX_VALUE) continue;
+                    double d = in[u] + reverse.weight(e);
+                    if (d < best) {
+                        best = d;
+                        parent = u;
+                    }
+                }
+                out[v] = best;
+                outPrev[v] = parent;
+                return best < in[v] ? 1 : 0;
+            }).sum();
+            ctx.scanned(graph.edgeCount());
+
+            distances = out;
+            nextDistances = in;
+            previous = outPrev;
+            nextPrevious = inPrev;
+            if (changed == 0) break;
+            if (round == n - 1) {
+                return ctx.negativeCycle(cycleOrRecompute(graph, previous, source, ctx), "Parallel Bellman-Ford");
+            }
         }
 
-        gScore.put(startId, 0.0);
-        fScore.put(startId, heuristic(graph.getNode(startId), endNode));
-        openSet.offer(new NodeDistance(startId, fScore.get(startId)));
+        if (distances[target] == Double.MAX_VALUE) {
+            return ctx.unreachable("Parallel Bellman-Ford");
+        }
 
-        while (!openSet.isEmpty()) {
-            NodeDistance current = openSet.poll();
-            String currentId = current.getNodeId();
+        int[] parents = previous;
+        return ctx.result(buildPath(graph, v -> parents[v], target), distances[target], "Parallel Bellman-Ford");
+    }
 
-            if (visited.contains(currentId)) continue;
-            visited.add(currentId);
+    public PathResult aStar(CompiledGraph graph, String startId, String endId) {
+        return aStar(graph, startId, endId, SearchContext.untraced());
+    }
 
-            steps.add(new AlgorithmStep("visit", currentId, null,
-                    gScore.get(currentId), new HashMap<>(gScore), new HashSet<>(visited)));
+    // A* Algorithm (with heuristic)
+    public PathResult aStar(CompiledGraph graph, String startId, String endId, SearchContext ctx) {
+        int source = graph.indexOf(startId);
+        int target = graph.indexOf(endId);
+        if (source < 0 || target < 0) {
+            return ctx.unreachable("A*");
+        }
+        return aStar(graph, source, target, node -> heuristic(graph, node, target), "A*", ctx);
+    }
 
-            if (currentId.equals(endId)) break;
+    // A* with landmark lower bounds instead of straight-line distance
+    public PathResult alt(LandmarkIndex landmarks, String startId, String endId, SearchContext ctx) {
+        CompiledGraph graph = landmarks.graph();
+        int source = graph.indexOf(startId);
+        int target = graph.indexOf(endId);
+        if (source < 0 || target < 0) {
+            return ctx.unreachable("ALT");
+        }
+        return aStar(graph, source, target, landmarks.heuristicTo(target), "ALT", ctx);
+    }
+
+    private PathResult aStar(CompiledGraph graph, int source, int target, IntToDoubleFunction heuristic,
+                             String name, SearchContext ctx) {
+        try (SearchWorkspace ws = workspaces.acquire(graph.nodeCount())) {
+            SearchQueue openSet = ws.queue(ctx);
+
+            ws.reach(source, 0.0, -1);
+            if (openSet.offer(source, heuristic.applyAsDouble(source))) ctx.pushed();
+            ctx.onTimeout(() -> partial(graph, ws::distance, ws::parent, source, target, name, ctx));
 
-            for (Edge edge : graph.getEdges(currentId)) {
-                String neighborId = edge.getTo();
-                if (visited.contains(neighborId)) continue;
+            while (!openSet.isEmpty()) {
+                int current = openSet.poll();
 
-                double tentativeG = gScore.get(currentId) + edge.getWeight();
+                if (ws.isSettled(current)) continue;
+                ws.settle(current);
+                double gScore = ws.distance(current);
+                ctx.settle(graph, current, gScore);
 
-                if (tentativeG < gScore.getOrDefault(neighborId, Double.MAX_VALUE)) {
-                    previous.put(neighborId, currentId);
-                    gScore.put(neighborId, tentativeG);
-                    fScore.put(neighborId, tentativeG + heuristic(graph.getNode(neighborId), endNode));
-                    openSet.offer(new NodeDistance(neighborId, fScore.get(neighborId)));
+                if (current == target) break;
 
-                    steps.add(new AlgorithmStep("relax", currentId, neighborId,
-                            tentativeG, new HashMap<>(gScore), new HashSet<>(visited)));
+                int first = graph.firstEdge(current), end = graph.endEdge(current);
+                ctx.scanned(end - first);
+                for (int e = first; e < end; e++) {
+                    int neighbor = graph.target(e);
+                    if (ws.isSettled(neighbor)) continue;
+
+                    double tentativeG = gScore + graph.weight(e);
+
+                    if (tentativeG < ws.distance(neighbor)) {
+                        ws.reach(neighbor, tentativeG, current);
+                        if (openSet.offer(neighbor, tentativeG + heuristic.applyAsDouble(neighbor))) ctx.pushed();
+                        ctx.relax(graph, current, neighbor, tentativeG);
+                    }
                 }
             }
+
+            if (ws.distance(target) == Double.MAX_VALUE) {
+                return ctx.unreachable(name);
+            }
+
+            return ctx.result(buildPath(graph, ws::parent, target), ws.distance(target), name);
+        }
+    }
+
+    public PathResult bidirectionalDijkstra(CompiledGraph graph, String startId, String endId, SearchContext ctx) {
+        return bidirectional(graph, startId, endId, false, ctx);
+    }
+
+    public PathResult bidirectionalAStar(CompiledGraph graph, String startId, String endId, SearchContext ctx) {
+        return bidirectional(graph, startId, endId, true, ctx);
+    }
+
+    // Forward search from start on the graph, backward search from end on its reverse,
+    // always expanding the side with the smaller queue. best is the shortest s-t path seen
+    // so far through a node labelled by both searches.
+    private PathResult bidirectional(CompiledGraph graph, String startId, String endId,
+                                     boolean useHeuristic, SearchContext ctx) {
+        String name = useHeuristic ? "Bidirectional A*" : "Bidirectional Dijkstra";
+        int source = graph.indexOf(startId);
+        int target = graph.indexOf(endId);
+        if (source < 0 || target < 0) {
+            return ctx.unreachable(name);
         }
 
-        List<String> path = new ArrayList<>();
-        String curr = endId;
-        if (!gScore.containsKey(endId) || gScore.get(endId) == Double.MAX_VALUE) {
-            return new PathResult(Collections.emptyList(), Double.POSITIVE_INFINITY, steps, "A*");
+        CompiledGraph backward = graph.reverse();
+        try (SearchWorkspace wsF = workspaces.acquire(graph.nodeCount());
+             SearchWorkspace wsB = workspaces.acquire(graph.nodeCount())) {
+            SearchQueue queueF = wsF.queue(ctx);
+            SearchQueue queueB = wsB.queue(ctx);
+            wsF.reach(source, 0.0, -1);
+            wsB.reach(target, 0.0, -1);
+            if (queueF.offer(source, useHeuristic ? heuristic(graph, source, target) : 0.0)) ctx.pushed();
+            if (queueB.offer(target, useHeuristic ? heuristic(graph, target, source) : 0.0)) ctx.pushed();
+            ctx.initialize(graph, source);
+            ctx.initializeBackward(graph, target);
+
+            double best = source == target ? 0.0 : Double.MAX_VALUE;
+            int meet = source == target ? source : -1;
+
+            while (!queueF.isEmpty() && !queueB.isEmpty()) {
+                double topF = queueF.peekKey();
+                double topB = queueB.peekKey();
+                // Dijkstra: no path through unsettled nodes can beat topF + topB.
+                // A*: once either side's smallest f-key reaches best, that side can't improve it.
+                boolean done = useHeuristic
+                        ? topF >= best || topB >= best
+                        : topF + topB >= best;
+                if (done) break;
+
+                boolean forward = queueF.size() <= queueB.size();
+                CompiledGraph side = forward ? graph : backward;
+                SearchQueue queue = forward ? queueF : queueB;
+                SearchWorkspace ws = forward ? wsF : wsB;
+                SearchWorkspace other = forward ? wsB : wsF;
+                int goal = forward ? target : source;
+
+                int current = queue.poll();
+                if (ws.isSettled(current)) continue;
+                ws.settle(current);
+                double base = ws.distance(current);
+                if (forward) ctx.settle(graph, current, base);
+                else ctx.settleBackward(graph, current, base);
+
+                int first = side.firstEdge(current), end = side.endEdge(current);
+                ctx.scanned(end - first);
+                for (int e = first; e < end; e++) {
+                    int neighbor = side.target(e);
+                    if (ws.isSettled(neighbor)) continue;
+
+                    double newDist = base + side.weight(e);
+                    if (newDist < ws.distance(neighbor)) {
+                        ws.reach(neighbor, newDist, current);
+                        double key = useHeuristic ? newDist + heuristic(graph, neighbor, goal) : newDist;
+                        if (queue.offer(neighbor, key)) ctx.pushed();
+                        // A reverse arc current -> neighbor is neighbor -> current in the graph
+                        if (forward) ctx.relax(graph, current, neighbor, newDist);
+                        else ctx.relaxBackward(graph, neighbor, current, newDist);
+
+                        double otherDist = other.distance(neighbor);
+                        if (otherDist != Double.MAX_VALUE && newDist + otherDist < best) {
+                            best = newDist + otherDist;
+                            meet = neighbor;
+                        }
+                    }
+                }
+            }
+
+            if (meet < 0) {
+                return ctx.unreachable(name);
+            }
+
+            List<String> path = buildPath(graph, wsF::parent, meet);
+            for (int curr = wsB.parent(meet), hops = 0; curr != -1 && hops <= graph.nodeCount();
+                 curr = wsB.parent(curr), hops++) {
+                path.add(graph.id(curr));
+            }
+            return ctx.result(path, best, name);
         }
+    }
 
-        while (curr != null) {
-            path.add(0, curr);
-            curr = previous.get(curr);
+    private double heuristic(CompiledGraph graph, int a, int b) {
+        double dx = graph.x(a) - graph.x(b);
+        double dy = graph.y(a) - graph.y(b);
+        double h = Math.sqrt(dx * dx + dy * dy);
+        // NaN when either node has no coordinates
+        return Double.isNaN(h) ? 0.0 : h;
+    }
+
+    /** ====================== HELPER METHODS ====================== **/
+
+    // Tentative path to the target for a timed-out search, if the target has a label that
+    // really leads back to the source (mid-run Bellman-Ford parents may still hold cycles)
+    private PathResult partial(CompiledGraph graph, IntToDoubleFunction distance, IntUnaryOperator previous,
+                               int source, int target, String name, SearchContext ctx) {
+        if (distance.applyAsDouble(target) == Double.MAX_VALUE) return null;
+        List<String> path = buildPath(graph, previous, target);
+        if (!path.get(0).equals(graph.id(source))) return null;
+        return ctx.result(path, distance.applyAsDouble(target), name);
+    }
+
+    /**
+     * Finds a cycle in the predecessor graph. Label-correcting searches only ever form
+     * cycles of negative weight there. Returns the closed walk in edge order, or null.
+     */
+    private List<String> negativeCycle(CompiledGraph graph, int[] previous) {
+        int n = previous.length;
+        byte[] state = new byte[n]; // 0 unseen, 1 on the current walk, 2 done
+        for (int start = 0; start < n; start++) {
+            int v = start;
+            while (v != -1 && state[v] == 0) {
+                state[v] = 1;
+                v = previous[v];
+            }
+            if (v != -1 && state[v] == 1) {
+                List<String> cycle = new ArrayList<>();
+                int u = v;
+                do {
+                    cycle.add(graph.id(u));
+                    u = previous[u];
+                } while (u != v);
+                cycle.add(graph.id(v));
+                Collections.reverse(cycle);
+                return cycle;
+            }
+            for (v = start; v != -1 && state[v] == 1; v = previous[v]) {
+                state[v] = 2;
+            }
         }
+        return null;
+    }
+
+    // The predecessor graph of SPFA or the parallel rounds need not contain the cycle yet at
+    // the moment it is detected; sequential Bellman-Ford after n passes always does
+    private List<String> cycleOrRecompute(CompiledGraph graph, int[] previous, int source, SearchContext ctx) {
+        List<String> cycle = negativeCycle(graph, previous);
+        if (cycle != null) return cycle;
+        cycle = negativeCycle(graph, bellmanFordParents(graph, source, ctx));
+        return cycle != null ? cycle : Collections.emptyList();
+    }
 
-        return new PathResult(path, gScore.get(endId), steps, "A*");
+    // Parents after n sequential Bellman-Ford passes. Counts its work and honours the
+    // caller's deadline, but records no steps: the caller's trace already has the search.
+    private int[] bellmanFordParents(CompiledGraph graph, int source, SearchContext ctx) {
+        int n = graph.nodeCount();
+        double[] distances = new double[n];
+        int[] previous = new int[n];
+        Arrays.fill(distances, Double.MAX_VALUE);
+        Arrays.fill(previous, -1);
+        distances[source] = 0.0;
+        for (int i = 0; i < n; i++) {
+            boolean updated = false;
+            for (int node = 0; node < n; node++) {
+                ctx.checkpoint();
+                if (distances[node] == Double.MAX_VALUE) continue;
+                int first = graph.firstEdge(node), end = graph.endEdge(node);
+                ctx.scanned(end - first);
+                for (int e = first; e < end; e++) {
+                    double newDist = distances[node] + graph.weight(e);
+                    if (newDist < distances[graph.target(e)]) {
+                        distances[graph.target(e)] = newDist;
+                        previous[graph.target(e)] = node;
+                        updated = true;
+                    }
+                }
+            }
+            if (!updated) break;
+        }
+        return previous;
     }
 
-    private double heuristic(Node a, Node b) {
-        if (a == null || b == null) return 0.0;
-        double dx = a.getX() - b.getX();
-        double dy = a.getY() - b.getY();
-        return Math.sqrt(dx * dx + dy * dy);
+    // Walks the predecessor chain back from target; bounded so a negative cycle cannot loop forever
+    private List<String> buildPath(CompiledGraph graph, IntUnaryOperator previous, int target) {
+        LinkedList<String> path = new LinkedList<>();
+        int curr = target;
+        for (int hops = 0; curr != -1 && hops <= graph.nodeCount(); hops++) {
+            path.addFirst(graph.id(curr));
+            curr = previous.applyAsInt(curr);
+        }
+        return new ArrayList<>(path);
     }
-}
\ No newline at end of file
+}
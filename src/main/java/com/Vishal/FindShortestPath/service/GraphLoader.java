@@ -0,0 +1,301 @@
+package com.Vishal.FindShortestPath.service;
+
+import com.Vishal.FindShortestPath.model.CompiledGraph;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads graphs straight into a {@link CompiledGraph.Builder} in one pass, without
+ * binding request DTOs or building a {@link com.Vishal.FindShortestPath.model.Graph}
+ * first. Memory use is the builder's arrays plus one buffered record; with
+ * {@code graph.storage=off-heap} the arcs go straight to direct memory and only the
+ * node arrays are on the heap.
+ * <p>
+ * Supported formats:
+ * <ul>
+ *   <li>JSON: the {@code /create} body, {@code {"nodes":[{id,x,y}], "edges":[{from,to,weight}]}},
+ *       parsed token by token; nodes and edges may come in either order.</li>
+ *   <li>CSV/TSV: one {@code from,to,weight} edge per line; blank lines, lines starting with
+ *       {@code #}, and a header line whose weight column is not a number are skipped.</li>
+ *   <li>Binary: see {@link #writeBinary}.</li>
+ * </ul>
+ * Edges are undirected unless {@code directed} is set, matching {@code Graph.addEdge}.
+ */
+@Service
+public class GraphLoader {
+
+    /** First four bytes of the binary edge format. */
+    public static final int BINARY_MAGIC = 0x46535045; // "FSPE"
+    public static final int BINARY_VERSION = 1;
+    private static final int FLAG_DIRECTED = 1;
+    private static final int PRESIZE_LIMIT = 1 << 24;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Value("${graph.storage:heap}")
+    private String storage = "heap";
+
+    public GraphLoader() {
+    }
+
+    GraphLoader(String storage) {
+        this.storage = storage;
+    }
+
+    /**
+     * Reads a graph in the given format (json, csv, tsv or binary) and reports how long
+     * it took and how many bytes were consumed.
+     */
+    public Load load(InputStream in, String format, boolean directed) throws IOException {
+        CountingInputStream counting = new CountingInputStream(in);
+        long start = System.nanoTime();
+        CompiledGraph graph;
+        try {
+            graph = switch (format) {
+                case "json" -> readJson(counting, directed);
+                case "csv" -> readDelimited(counting, ',', directed);
+                case "tsv" -> readDelimited(counting, '\t', directed);
+                case "binary" -> readBinary(counting);
+                default -> throw new IllegalArgumentException("Unknown graph format: " + format);
+            };
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        } catch (EOFException e) {
+            throw new IllegalArgumentException("Unexpected end of " + format + " input");
+        }
+        return new Load(graph, format, counting.count, System.nanoTime() - start);
+    }
+
+    /** Outcome of {@link #load}. */
+    public record Load(CompiledGraph graph, String format, long bytes, long elapsedNanos) {
+
+        public Map<String, Object> report() {
+            double seconds = Math.max(elapsedNanos, 1) / 1e9;
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("format", format);
+            map.put("nodes", graph.nodeCount());
+            map.put("arcs", graph.edgeCount());
+            map.put("bytes", bytes);
+            map.put("elapsedMs", elapsedNanos / 1e6);
+            map.put("arcsPerSecond", graph.edgeCount() / seconds);
+            map.put("megabytesPerSecond", bytes / 1e6 / seconds);
+            return map;
+        }
+    }
+
+    public CompiledGraph readJson(InputStream in, boolean directed) throws IOException {
+        CompiledGraph.Builder builder = builder(16, 16);
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT, parser);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("nodes".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        readNode(parser, builder);
+                    }
+                } else if ("edges".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        readEdge(parser, builder, directed);
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    public CompiledGraph readDelimited(InputStream in, char delimiter, boolean directed) throws IOException {
+        CompiledGraph.Builder builder = builder(16, 16);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16);
+        String line;
+        int lineNumber = 0;
+        // Only the first line after any leading comments may be a header
+        boolean headerAllowed = true;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || line.startsWith("#")) continue;
+            boolean mayBeHeader = headerAllowed;
+            headerAllowed = false;
+
+            int first = line.indexOf(delimiter);
+            int second = first < 0 ? -1 : line.indexOf(delimiter, first + 1);
+            if (second < 0) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": expected from" + delimiter
+                        + "to" + delimiter + "weight");
+            }
+            int third = line.indexOf(delimiter, second + 1);
+            String weightText = line.substring(second + 1, third < 0 ? line.length() : third).trim();
+            double weight;
+            try {
+                weight = Double.parseDouble(weightText);
+            } catch (NumberFormatException e) {
+                if (mayBeHeader) continue; // header
+                throw new IllegalArgumentException("Line " + lineNumber + ": bad weight '" + weightText + "'");
+            }
+            int from = builder.internNode(line.substring(0, first).trim());
+            int to = builder.internNode(line.substring(first + 1, second).trim());
+            addEdge(builder, from, to, weight, directed);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Binary layout, big-endian: int magic {@code FSPE}, int version, int flags (bit 0:
+     * directed), int nodeCount, long edgeCount; then per node a modified-UTF-8 id and two
+     * doubles x, y (NaN for none); then per edge int from, int to, double weight, where
+     * from/to index the node list. The counts come first so the builder is sized once.
+     */
+    public CompiledGraph readBinary(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in, 1 << 16));
+        if (data.readInt() != BINARY_MAGIC) {
+            throw new IllegalArgumentException("Not a binary edge list: bad magic");
+        }
+        int version = data.readInt();
+        if (version != BINARY_VERSION) {
+            throw new IllegalArgumentException("Unsupported binary edge list version " + version);
+        }
+        boolean directed = (data.readInt() & FLAG_DIRECTED) != 0;
+        int nodeCount = data.readInt();
+        long edgeCount = data.readLong();
+        long arcCount = directed ? edgeCount : 2 * edgeCount;
+        if (nodeCount < 0 || edgeCount < 0 || arcCount > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Binary edge list header out of range");
+        }
+
+        // The header is not trusted beyond this; the builder grows if it under-reports
+        CompiledGraph.Builder builder = builder(Math.min(nodeCount, PRESIZE_LIMIT),
+                (int) Math.min(arcCount, PRESIZE_LIMIT));
+        for (int v = 0; v < nodeCount; v++) {
+            String id = data.readUTF();
+            if (builder.addNode(id, data.readDouble(), data.readDouble()) != v) {
+                throw new IllegalArgumentException("Duplicate node id in binary edge list: " + id);
+            }
+        }
+        for (long i = 0; i < edgeCount; i++) {
+            int from = data.readInt();
+            int to = data.readInt();
+            double weight = data.readDouble();
+            if (from < 0 || from >= nodeCount || to < 0 || to >= nodeCount) {
+                throw new IllegalArgumentException("Edge " + i + " refers to a missing node");
+            }
+            addEdge(builder, from, to, weight, directed);
+        }
+        return builder.build();
+    }
+
+    /** Writes every arc of the graph as a directed edge in the binary format. */
+    public void writeBinary(CompiledGraph graph, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+        data.writeInt(BINARY_MAGIC);
+        data.writeInt(BINARY_VERSION);
+        data.writeInt(FLAG_DIRECTED);
+        data.writeInt(graph.nodeCount());
+        data.writeLong(graph.edgeCount());
+        for (int v = 0; v < graph.nodeCount(); v++) {
+            data.writeUTF(graph.id(v));
+            data.writeDouble(graph.x(v));
+            data.writeDouble(graph.y(v));
+        }
+        for (int v = 0; v < graph.nodeCount(); v++) {
+            for (int e = graph.firstEdge(v); e < graph.endEdge(v); e++) {
+                data.writeInt(v);
+                data.writeInt(graph.target(e));
+                data.writeDouble(graph.weight(e));
+            }
+        }
+        data.flush();
+    }
+
+    private CompiledGraph.Builder builder(int expectedNodes, int expectedArcs) {
+        return new CompiledGraph.Builder(expectedNodes, expectedArcs, "off-heap".equals(storage));
+    }
+
+    private void readNode(JsonParser parser, CompiledGraph.Builder builder) throws IOException {
+        String id = null;
+        double x = Double.NaN, y = Double.NaN;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "id" -> id = parser.getValueAsString();
+                case "x" -> x = parser.getValueAsDouble();
+                case "y" -> y = parser.getValueAsDouble();
+                default -> parser.skipChildren();
+            }
+        }
+        if (id == null) {
+            throw new IllegalArgumentException("Node without id at " + parser.currentLocation());
+        }
+        builder.addNode(id, x, y);
+    }
+
+    private void readEdge(JsonParser parser, CompiledGraph.Builder builder, boolean directed) throws IOException {
+        String from = null, to = null;
+        double weight = Double.NaN;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "from" -> from = parser.getValueAsString();
+                case "to" -> to = parser.getValueAsString();
+                case "weight" -> weight = parser.getValueAsDouble(Double.NaN);
+                default -> parser.skipChildren();
+            }
+        }
+        if (from == null || to == null || Double.isNaN(weight)) {
+            throw new IllegalArgumentException("Edge needs from, to and weight at " + parser.currentLocation());
+        }
+        addEdge(builder, builder.internNode(from), builder.internNode(to), weight, directed);
+    }
+
+    private static void addEdge(CompiledGraph.Builder builder, int from, int to, double weight, boolean directed) {
+        builder.addArc(from, to, weight);
+        if (!directed) builder.addArc(to, from, weight);
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected, JsonParser parser) {
+        if (actual != expected) {
+            throw new IllegalArgumentException("Expected " + expected + " at " + parser.currentLocation());
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) count += n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.Vishal.FindShortestPath.service;
+
+import com.Vishal.FindShortestPath.model.CompiledGraph;
+import com.Vishal.FindShortestPath.model.GraphSnapshot;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link GraphSnapshot}. Readers call {@link #current} once and
+ * keep the snapshot for the whole request; writers build a new graph on their own
+ * thread and swap it in with {@link #publish}. Neither side takes a lock.
+ */
+@Service
+public class GraphStore {
+
+    private final AtomicReference<GraphSnapshot> current = new AtomicReference<>();
+
+    /** The latest published snapshot, or null before the first publish. */
+    public GraphSnapshot current() {
+        return current.get();
+    }
+
+    /**
+     * Publishes a new version unconditionally. Every publish takes the version after the
+     * one it replaces in a single compare-and-set, so it cannot be undone by a racing
+     * {@link #publishIfCurrent}: that one either lands first and is replaced, or fails
+     * and re-applies its change on top of this graph.
+     */
+    public GraphSnapshot publish(CompiledGraph graph) {
+        while (true) {
+            GraphSnapshot base = current.get();
+            GraphSnapshot snapshot = publishIfCurrent(base, graph);
+            if (snapshot != null) return snapshot;
+        }
+    }
+
+    /**
+     * Publishes a graph derived from {@code base} only if {@code base} is still current,
+     * so a read-modify-write never overwrites a graph it has not seen. Returns null when
+     * another writer got in first; the caller re-applies its change to the new current.
+     */
+    public GraphSnapshot publishIfCurrent(GraphSnapshot base, CompiledGraph graph) {
+        GraphSnapshot snapshot = new GraphSnapshot(base == null ? 1 : base.version() + 1, graph);
+        return current.compareAndSet(base, snapshot) ? snapshot : null;
+    }
+}
@@ -0,0 +1,243 @@
+package com.Vishal.FindShortestPath.service;
+
+import com.Vishal.FindShortestPath.model.CompiledGraph;
+import com.Vishal.FindShortestPath.model.PathResult;
+import com.Vishal.FindShortestPath.model.ShortestPathTree;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Applies a batch of edge changes to a graph and produces the next graph, leaving
+ * the input untouched so it can be published as a new snapshot in one step.
+ * Either every change in the batch applies or the batch is rejected.
+ * <p>
+ * A batch that only changes weights shares ids, coordinates and CSR structure with
+ * the old graph and copies just the weight columns; adding or removing arcs relays
+ * the CSR arrays once. Either way the new columns are on the heap or off it like the
+ * input graph's. The result also says which arcs got longer, so callers can
+ * keep cached answers and landmark tables that are still correct.
+ */
+@Service
+public class GraphUpdater {
+
+    public enum Op {
+        SET, ADD, REMOVE;
+
+        public static Op parse(String value) {
+            if (value == null) throw new IllegalArgumentException("Edge update needs an op");
+            return switch (value.toLowerCase()) {
+                case "set", "update" -> SET;
+                case "add" -> ADD;
+                case "remove", "delete" -> REMOVE;
+                default -> throw new IllegalArgumentException("Unknown edge update op: " + value);
+            };
+        }
+    }
+
+    /**
+     * One change. SET gives every from-to arc a new weight, ADD appends an arc (creating
+     * unknown nodes without coordinates, like {@code Graph.addEdge}), REMOVE deletes every
+     * from-to arc. Unless directed, the same change is applied to the to-from arcs.
+     */
+    public record EdgeUpdate(Op op, String from, String to, double weight, boolean directed) { }
+
+    /** Outcome of {@link #apply}. */
+    public record Update(CompiledGraph graph, boolean structural, boolean nonDecreasing,
+                         Set<Long> lengthened, int set, int added, int removed) {
+
+        /** True when the shortest from-to arc got longer or disappeared. */
+        public boolean lengthened(int from, int to) {
+            return lengthened.contains(key(from, to));
+        }
+
+        /**
+         * Whether a result computed on the old graph is still a shortest path. That holds
+         * when no distance went down and the path avoids every arc that went up.
+         */
+        public boolean keeps(PathResult result) {
+            if (!nonDecreasing || result.getNegativeCycle() != null) return false;
+            List<String> path = result.getPath();
+            for (int i = 0; i + 1 < path.size(); i++) {
+                if (lengthened(graph.indexOf(path.get(i)), graph.indexOf(path.get(i + 1)))) return false;
+            }
+            return true;
+        }
+
+        /** Same as {@link #keeps(PathResult)} for every path of a shortest path tree. */
+        public boolean keeps(ShortestPathTree tree) {
+            if (!nonDecreasing) return false;
+            for (long key : lengthened) {
+                int from = (int) (key >>> 32);
+                int to = (int) key;
+                if (to < tree.nodeCount() && tree.parent(to) == from) return false;
+            }
+            return true;
+        }
+    }
+
+    public Update apply(CompiledGraph graph, List<EdgeUpdate> updates) {
+        if (updates == null || updates.isEmpty()) {
+            throw new IllegalArgumentException("No edge updates given");
+        }
+        Map<String, Integer> newNodes = new LinkedHashMap<>();
+        // Weights of the parallel arcs of every touched pair, before and after the batch
+        Map<Long, List<Double>> before = new HashMap<>();
+        Map<Long, List<Double>> after = new LinkedHashMap<>();
+        int set = 0, added = 0, removed = 0;
+
+        for (EdgeUpdate update : updates) {
+            if (update.op() == null || update.from() == null || update.to() == null) {
+                throw new IllegalArgumentException("Edge update needs op, from and to");
+            }
+            if (update.op() != Op.REMOVE && !Double.isFinite(update.weight())) {
+                throw new IllegalArgumentException("Edge " + update.from() + " -> " + update.to()
+                        + " needs a finite weight");
+            }
+            boolean create = update.op() == Op.ADD;
+            int from = node(graph, newNodes, update.from(), create);
+            int to = node(graph, newNodes, update.to(), create);
+            change(graph, before, after, update, from, to, update.from(), update.to());
+            if (!update.directed() && from != to) {
+                change(graph, before, after, update, to, from, update.to(), update.from());
+            }
+            switch (update.op()) {
+                case SET -> set++;
+                case ADD -> added++;
+                case REMOVE -> removed++;
+            }
+        }
+
+        boolean structural = !newNodes.isEmpty();
+        boolean nonDecreasing = true;
+        Set<Long> lengthened = new HashSet<>();
+        for (Map.Entry<Long, List<Double>> entry : after.entrySet()) {
+            List<Double> old = before.get(entry.getKey());
+            structural |= old.size() != entry.getValue().size();
+            double oldMin = min(old), newMin = min(entry.getValue());
+            if (newMin < oldMin) nonDecreasing = false;
+            if (newMin > oldMin) lengthened.add(entry.getKey());
+        }
+
+        CompiledGraph next = structural
+                ? relayout(graph, newNodes, after)
+                : reweight(graph, after);
+        return new Update(next, structural, nonDecreasing, Set.copyOf(lengthened), set, added, removed);
+    }
+
+    private static int node(CompiledGraph graph, Map<String, Integer> newNodes, String id, boolean create) {
+        int node = graph.indexOf(id);
+        if (node >= 0) return node;
+        Integer pending = newNodes.get(id);
+        if (pending != null) return pending;
+        if (!create) throw new IllegalArgumentException("Unknown node: " + id);
+        int index = graph.nodeCount() + newNodes.size();
+        newNodes.put(id, index);
+        return index;
+    }
+
+    private static void change(CompiledGraph graph, Map<Long, List<Double>> before, Map<Long, List<Double>> after,
+                               EdgeUpdate update, int from, int to, String fromId, String toId) {
+        long key = key(from, to);
+        List<Double> weights = after.get(key);
+        if (weights == null) {
+            weights = new ArrayList<>();
+            if (from < graph.nodeCount()) {
+                for (int e = graph.firstEdge(from); e < graph.endEdge(from); e++) {
+                    if (graph.target(e) == to) weights.add(graph.weight(e));
+                }
+            }
+            before.put(key, List.copyOf(weights));
+            after.put(key, weights);
+        }
+        switch (update.op()) {
+            case SET -> {
+                if (weights.isEmpty()) throw new IllegalArgumentException("No edge " + fromId + " -> " + toId);
+                Collections.fill(weights, update.weight());
+            }
+            case ADD -> weights.add(update.weight());
+            case REMOVE -> {
+                if (weights.isEmpty()) throw new IllegalArgumentException("No edge " + fromId + " -> " + toId);
+                weights.clear();
+            }
+        }
+    }
+
+    // Same arcs, new weights: list the touched arcs in both directions for withWeights to patch
+    private static CompiledGraph reweight(CompiledGraph graph, Map<Long, List<Double>> after) {
+        CompiledGraph reverse = graph.reverse();
+        int touched = 0;
+        for (List<Double> weights : after.values()) {
+            touched += weights.size();
+        }
+        int[] arcs = new int[touched];
+        double[] weights = new double[touched];
+        int[] reverseArcs = new int[touched];
+        double[] reverseWeights = new double[touched];
+        int i = 0, j = 0;
+        for (Map.Entry<Long, List<Double>> entry : after.entrySet()) {
+            int from = (int) (entry.getKey() >>> 32);
+            int to = (int) (long) entry.getKey();
+            Iterator<Double> forward = entry.getValue().iterator();
+            for (int e = graph.firstEdge(from); e < graph.endEdge(from); e++) {
+                if (graph.target(e) == to) {
+                    arcs[i] = e;
+                    weights[i++] = forward.next();
+                }
+            }
+            Iterator<Double> backward = entry.getValue().iterator();
+            for (int e = reverse.firstEdge(to); e < reverse.endEdge(to); e++) {
+                if (reverse.target(e) == from) {
+                    reverseArcs[j] = e;
+                    reverseWeights[j++] = backward.next();
+                }
+            }
+        }
+        return graph.withWeights(arcs, weights, reverseArcs, reverseWeights);
+    }
+
+    // Arcs added or removed: copy untouched arcs and emit touched pairs from the batch, into
+    // the same storage as the input graph
+    private static CompiledGraph relayout(CompiledGraph graph, Map<String, Integer> newNodes,
+                                          Map<Long, List<Double>> after) {
+        int n = graph.nodeCount();
+        int arcs = graph.edgeCount();
+        for (List<Double> weights : after.values()) {
+            arcs += weights.size();
+        }
+        CompiledGraph.Builder builder = new CompiledGraph.Builder(n + newNodes.size(), arcs, graph.isOffHeap());
+        for (int v = 0; v < n; v++) {
+            builder.addNode(graph.id(v), graph.x(v), graph.y(v));
+        }
+        for (String id : newNodes.keySet()) {
+            builder.internNode(id);
+        }
+        for (int v = 0; v < n; v++) {
+            for (int e = graph.firstEdge(v); e < graph.endEdge(v); e++) {
+                if (!after.containsKey(key(v, graph.target(e)))) {
+                    builder.addArc(v, graph.target(e), graph.weight(e));
+                }
+            }
+        }
+        for (Map.Entry<Long, List<Double>> entry : after.entrySet()) {
+            int from = (int) (entry.getKey() >>> 32);
+            int to = (int) (long) entry.getKey();
+            for (double weight : entry.getValue()) {
+                builder.addArc(from, to, weight);
+            }
+        }
+        return builder.build();
+    }
+
+    private static double min(List<Double> weights) {
+        double min = Double.POSITIVE_INFINITY;
+        for (double weight : weights) {
+            min = Math.min(min, weight);
+        }
+        return min;
+    }
+
+    private static long key(int from, int to) {
+        return ((long) from << 32) | (to & 0xffffffffL);
+    }
+}
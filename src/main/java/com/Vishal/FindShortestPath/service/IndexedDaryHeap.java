@@ -0,0 +1,130 @@
+package com.Vishal.FindShortestPath.service;
+
+import java.util.Arrays;
+
+/**
+ * Indexed d-ary min-heap over node ids {@code 0..capacity-1} with true decrease-key.
+ * Nodes and keys live in parallel primitive arrays and {@code position[node]} tracks
+ * where each node sits, so the heap never holds more than one entry per node and
+ * an improvement allocates nothing.
+ */
+public class IndexedDaryHeap implements SearchQueue {
+    private static final int DEFAULT_ARITY = 4;
+
+    private final int arity;
+    private final int[] nodes;
+    private final double[] keys;
+    private final int[] position;
+    private int size;
+
+    public IndexedDaryHeap(int capacity) {
+        this(capacity, DEFAULT_ARITY);
+    }
+
+    public IndexedDaryHeap(int capacity, int arity) {
+        if (arity < 2) throw new IllegalArgumentException("Heap arity must be at least 2");
+        this.arity = arity;
+        this.nodes = new int[capacity];
+        this.keys = new double[capacity];
+        this.position = new int[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    @Override
+    public boolean offer(int node, double key) {
+        int pos = position[node];
+        if (pos >= 0) {
+            if (key < keys[pos]) siftUp(pos, node, key);
+            return false;
+        }
+        siftUp(size++, node, key);
+        return true;
+    }
+
+    /** Sets the key of a queued node in either direction, or inserts the node. */
+    public void update(int node, double key) {
+        int pos = position[node];
+        if (pos < 0) {
+            siftUp(size++, node, key);
+        } else if (key < keys[pos]) {
+            siftUp(pos, node, key);
+        } else {
+            siftDown(pos, node, key);
+        }
+    }
+
+    @Override
+    public int poll() {
+        int top = nodes[0];
+        position[top] = -1;
+        int last = --size;
+        if (last > 0) {
+            siftDown(0, nodes[last], keys[last]);
+        }
+        return top;
+    }
+
+    @Override
+    public double peekKey() {
+        return keys[0];
+    }
+
+    public boolean contains(int node) {
+        return position[node] >= 0;
+    }
+
+    /** Current key of a queued node. */
+    public double key(int node) {
+        return keys[position[node]];
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /** Empties the heap in time proportional to its size, not its capacity. */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[nodes[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int pos, int node, double key) {
+        while (pos > 0) {
+            int parent = (pos - 1) / arity;
+            if (keys[parent] <= key) break;
+            place(pos, nodes[parent], keys[parent]);
+            pos = parent;
+        }
+        place(pos, node, key);
+    }
+
+    private void siftDown(int pos, int node, double key) {
+        while (true) {
+            int first = pos * arity + 1;
+            if (first >= size) break;
+            int last = Math.min(first + arity, size);
+            int best = first;
+            for (int child = first + 1; child < last; child++) {
+                if (keys[child] < keys[best]) best = child;
+            }
+            if (keys[best] >= key) break;
+            place(pos, nodes[best], keys[best]);
+            pos = best;
+        }
+        place(pos, node, key);
+    }
+
+    private void place(int pos, int node, double key) {
+        nodes[pos] = node;
+        keys[pos] = key;
+        position[node] = pos;
+    }
+}
@@ -0,0 +1,214 @@
+package com.Vishal.FindShortestPath.service;
+
+import com.Vishal.FindShortestPath.model.CompiledGraph;
+import com.Vishal.FindShortestPath.model.LandmarkIndex;
+import com.Vishal.FindShortestPath.model.ShortestPathTree;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Selects landmarks and builds their distance tables for the ALT heuristic.
+ * Tables are built once per graph in the background and kept until the graph
+ * is replaced; {@link #ready} returns null until then.
+ */
+@Service
+public class LandmarkService {
+
+    private final DijkstraService dijkstraService;
+
+    @Value("${graph.alt.landmarks:8}")
+    private int landmarkCount = 8;
+
+    // farthest or avoid
+    @Value("${graph.alt.strategy:farthest}")
+    private String strategy = "farthest";
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "alt-landmarks");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile LandmarkIndex current;
+    private Future<?> pending;
+
+    public LandmarkService(DijkstraService dijkstraService) {
+        this.dijkstraService = dijkstraService;
+    }
+
+    public synchronized void preprocess(CompiledGraph graph) {
+        if (pending != null) {
+            pending.cancel(true);
+        }
+        current = null;
+        pending = executor.submit(() -> {
+            LandmarkIndex index = build(graph, landmarkCount, strategy);
+            synchronized (this) {
+                if (!Thread.currentThread().isInterrupted()) current = index;
+            }
+        });
+    }
+
+    /** Uses tables that were built earlier, e.g. loaded from a snapshot file. */
+    public synchronized void install(LandmarkIndex index) {
+        if (pending != null) {
+            pending.cancel(true);
+            pending = null;
+        }
+        current = index;
+    }
+
+    /** Landmark tables for this graph, or null while none are available. */
+    public LandmarkIndex ready(CompiledGraph graph) {
+        LandmarkIndex index = current;
+        return index != null && index.graph() == graph ? index : null;
+    }
+
+    public LandmarkIndex build(CompiledGraph graph, int count, String strategy) {
+        int n = graph.nodeCount();
+        int k = Math.min(count, n);
+        boolean avoid = "avoid".equalsIgnoreCase(strategy);
+        if (!avoid && !"farthest".equalsIgnoreCase(strategy)) {
+            throw new IllegalArgumentException("Unknown landmark strategy: " + strategy);
+        }
+
+        int[] landmarks = new int[k];
+        double[][] from = new double[k][];
+        double[][] to = new double[k][];
+        boolean[] chosen = new boolean[n];
+        // For farthest: min over chosen landmarks of d(L, v); MAX_VALUE when no landmark reaches v
+        double[] nearest = new double[n];
+        Arrays.fill(nearest, Double.MAX_VALUE);
+
+        int selected = 0;
+        while (selected < k) {
+            int next;
+            if (selected == 0) {
+                next = farthestFrom(dijkstraService.shortestPathTree(graph, 0));
+            } else if (avoid) {
+                next = avoidSelect(graph, from, to, selected, chosen, nearest);
+            } else {
+                next = argMax(nearest, chosen);
+            }
+            if (next < 0 || chosen[next]) break;
+
+            ShortestPathTree forward = dijkstraService.shortestPathTree(graph, next);
+            ShortestPathTree backward = dijkstraService.shortestPathTree(graph.reverse(), next);
+            landmarks[selected] = next;
+            from[selected] = new double[n];
+            to[selected] = new double[n];
+            for (int v = 0; v < n; v++) {
+                from[selected][v] = forward.distance(v);
+                to[selected][v] = backward.distance(v);
+                nearest[v] = Math.min(nearest[v], forward.distance(v));
+            }
+            chosen[next] = true;
+            selected++;
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Landmark selection cancelled");
+            }
+        }
+
+        // Node-major tables: all landmarks of one node are adjacent
+        double[] fromTable = new double[n * selected];
+        double[] toTable = new double[n * selected];
+        for (int v = 0; v < n; v++) {
+            for (int i = 0; i < selected; i++) {
+                fromTable[v * selected + i] = from[i][v];
+                toTable[v * selected + i] = to[i][v];
+            }
+        }
+        return new LandmarkIndex(graph, Arrays.copyOf(landmarks, selected), fromTable, toTable);
+    }
+
+    private int farthestFrom(ShortestPathTree tree) {
+        int best = tree.source();
+        for (int v = 0; v < tree.nodeCount(); v++) {
+            if (tree.reached(v) && tree.distance(v) > tree.distance(best)) best = v;
+        }
+        return best;
+    }
+
+    // Node farthest from all chosen landmarks; nodes no landmark reaches come first
+    private int argMax(double[] nearest, boolean[] chosen) {
+        int best = -1;
+        for (int v = 0; v < nearest.length; v++) {
+            if (chosen[v]) continue;
+            if (best < 0 || nearest[v] > nearest[best]) best = v;
+        }
+        return best;
+    }
+
+    // Goldberg-Werneck "avoid": in a shortest path tree from a random root, weight each
+    // node by how badly the current landmarks bound d(root, v), sum weights per subtree,
+    // skip subtrees that already contain a landmark and descend into the heaviest one.
+    private int avoidSelect(CompiledGraph graph, double[][] from, double[][] to, int selected,
+                            boolean[] chosen, double[] nearest) {
+        int n = graph.nodeCount();
+        int root = new Random(31L * selected + n).nextInt(n);
+        ShortestPathTree tree = dijkstraService.shortestPathTree(graph, root);
+
+        Integer[] order = new Integer[n];
+        int reached = 0;
+        for (int v = 0; v < n; v++) {
+            if (tree.reached(v)) order[reached++] = v;
+        }
+        Arrays.sort(order, 0, reached, (a, b) -> Double.compare(tree.distance(b), tree.distance(a)));
+
+        double[] size = new double[n];
+        boolean[] covered = new boolean[n];
+        for (int i = 0; i < reached; i++) {
+            int v = order[i];
+            double lowerBound = 0.0;
+            for (int l = 0; l < selected; l++) {
+                double lr = from[l][root], lv = from[l][v];
+                if (lr != Double.MAX_VALUE && lv != Double.MAX_VALUE) lowerBound = Math.max(lowerBound, lv - lr);
+                double rl = to[l][root], vl = to[l][v];
+                if (rl != Double.MAX_VALUE && vl != Double.MAX_VALUE) lowerBound = Math.max(lowerBound, rl - vl);
+            }
+            size[v] += tree.distance(v) - lowerBound;
+            covered[v] |= chosen[v];
+            if (covered[v]) size[v] = 0.0;
+            int parent = tree.parent(v);
+            if (parent >= 0) {
+                size[parent] += size[v];
+                covered[parent] |= covered[v];
+            }
+        }
+
+        // Children lists of the tree in CSR form
+        int[] offsets = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            if (tree.parent(v) >= 0) offsets[tree.parent(v) + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] children = new int[offsets[n]];
+        int[] cursor = Arrays.copyOf(offsets, n);
+        for (int v = 0; v < n; v++) {
+            if (tree.parent(v) >= 0) children[cursor[tree.parent(v)]++] = v;
+        }
+
+        int v = root;
+        while (true) {
+            int best = -1;
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                int c = children[i];
+                if (!covered[c] && size[c] > 0 && (best < 0 || size[c] > size[best])) best = c;
+            }
+            if (best < 0) break;
+            v = best;
+        }
+        return chosen[v] ? argMax(nearest, chosen) : v;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
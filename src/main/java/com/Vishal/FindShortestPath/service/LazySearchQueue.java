@@ -0,0 +1,39 @@
+package com.Vishal.FindShortestPath.service;
+
+import com.Vishal.FindShortestPath.model.NodeDistance;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/** The original PriorityQueue approach: every improvement adds an entry, stale ones stay queued. */
+public class LazySearchQueue implements SearchQueue {
+    private final PriorityQueue<NodeDistance> queue = new PriorityQueue<>(
+            Comparator.comparingDouble(NodeDistance::getDistance)
+    );
+
+    @Override
+    public boolean offer(int node, double key) {
+        queue.offer(new NodeDistance(node, key));
+        return true;
+    }
+
+    @Override
+    public int poll() {
+        return queue.poll().getNode();
+    }
+
+    @Override
+    public double peekKey() {
+        return queue.peek().getDistance();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return queue.size();
+    }
+}
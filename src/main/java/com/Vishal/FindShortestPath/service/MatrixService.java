@@ -0,0 +1,109 @@
+package com.Vishal.FindShortestPath.service;
+
+import com.Vishal.FindShortestPath.model.AllPairsTable;
+import com.Vishal.FindShortestPath.model.CompiledGraph;
+import com.Vishal.FindShortestPath.model.ShortestPathTree;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Many-to-many distances: one early-stopping search per source, with the sources
+ * spread over the common fork-join pool. Each search allocates its own arrays, so
+ * the parallel tasks share nothing but the read-only graph. When the graph has an
+ * all-pairs table the cells are read from it instead.
+ */
+@Service
+public class MatrixService {
+
+    private final DijkstraService dijkstraService;
+
+    // Upper bound on sources x targets per request
+    @Value("${graph.matrix.max-cells:1000000}")
+    private long maxCells = 1_000_000;
+
+    public MatrixService(DijkstraService dijkstraService) {
+        this.dijkstraService = dijkstraService;
+    }
+
+    /**
+     * Distances from every source to every target; null where a target is unreachable.
+     * With paths, also the node ids of each shortest path (empty when unreachable).
+     */
+    public Map<String, Object> matrix(CompiledGraph graph, List<String> sourceIds, List<String> targetIds,
+                                      boolean paths) {
+        return matrix(graph, null, sourceIds, targetIds, paths);
+    }
+
+    /** Same as above, reading from the table when it is not null. */
+    public Map<String, Object> matrix(CompiledGraph graph, AllPairsTable table, List<String> sourceIds,
+                                      List<String> targetIds, boolean paths) {
+        return matrix(graph, table, sourceIds, targetIds, paths, SearchContext.untraced());
+    }
+
+    /**
+     * Same again, with every per-source search stopping at the deadline of the given
+     * context; a {@link SearchTimeoutException} then ends the whole matrix.
+     */
+    public Map<String, Object> matrix(CompiledGraph graph, AllPairsTable table, List<String> sourceIds,
+                                      List<String> targetIds, boolean paths, SearchContext ctx) {
+        if (sourceIds == null || sourceIds.isEmpty() || targetIds == null || targetIds.isEmpty()) {
+            throw new IllegalArgumentException("sources and targets must not be empty");
+        }
+        if ((long) sourceIds.size() * targetIds.size() > maxCells) {
+            throw new IllegalArgumentException("Matrix too large: at most " + maxCells + " cells");
+        }
+        int[] sources = resolve(graph, sourceIds);
+        int[] targets = resolve(graph, targetIds);
+
+        Double[][] distances = new Double[sources.length][];
+        List<List<List<String>>> pathRows = paths ? new ArrayList<>(Collections.nCopies(sources.length, null)) : null;
+
+        IntStream.range(0, sources.length).parallel().forEach(i -> {
+            if (table != null) {
+                Double[] row = new Double[targets.length];
+                List<List<String>> pathRow = paths ? new ArrayList<>(targets.length) : null;
+                for (int j = 0; j < targets.length; j++) {
+                    if (table.reachable(sources[i], targets[j])) row[j] = table.distance(sources[i], targets[j]);
+                    if (paths) pathRow.add(table.path(sources[i], targets[j]));
+                }
+                distances[i] = row;
+                if (paths) pathRows.set(i, pathRow);
+                return;
+            }
+            // Contexts are not thread-safe: each parallel search gets its own, sharing the deadline
+            ShortestPathTree tree = dijkstraService.oneToMany(graph, sources[i], targets,
+                    SearchContext.untraced().withDeadlineOf(ctx));
+            Double[] row = new Double[targets.length];
+            List<List<String>> pathRow = paths ? new ArrayList<>(targets.length) : null;
+            for (int j = 0; j < targets.length; j++) {
+                if (tree.reached(targets[j])) row[j] = tree.distance(targets[j]);
+                if (paths) pathRow.add(dijkstraService.pathFromTree(graph, tree, targetIds.get(j)).getPath());
+            }
+            distances[i] = row;
+            if (paths) pathRows.set(i, pathRow);
+        });
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("sources", sourceIds);
+        response.put("targets", targetIds);
+        response.put("distances", distances);
+        if (paths) {
+            response.put("paths", pathRows);
+        }
+        return response;
+    }
+
+    private int[] resolve(CompiledGraph graph, List<String> ids) {
+        int[] nodes = new int[ids.size()];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = graph.indexOf(ids.get(i));
+            if (nodes[i] < 0) {
+                throw new IllegalArgumentException("Unknown node: " + ids.get(i));
+            }
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,164 @@
+package com.Vishal.FindShortestPath.service;
+
+import com.Vishal.FindShortestPath.model.PathResult;
+import com.Vishal.FindShortestPath.model.ShortestPathTree;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Bounded LRU cache of untraced shortest-path results, keyed by graph version and
+ * query. Entries are evicted when either the entry count or the total number of
+ * cached path nodes exceeds its limit. Optionally it also keeps whole shortest
+ * path trees per source so any destination from a popular source is answered
+ * from memory.
+ */
+@Service
+public class PathCache {
+
+    @Value("${graph.cache.max-entries:10000}")
+    private int maxEntries = 10_000;
+
+    @Value("${graph.cache.max-path-nodes:1000000}")
+    private long maxPathNodes = 1_000_000;
+
+    // 0 disables the per-source tree cache
+    @Value("${graph.cache.max-trees:0}")
+    private int maxTrees;
+
+    private final LinkedHashMap<Key, PathResult> results = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<TreeKey, ShortestPathTree> trees = new LinkedHashMap<>(16, 0.75f, true);
+    private long pathNodes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong treeHits = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public PathCache() {
+    }
+
+    PathCache(int maxEntries, long maxPathNodes, int maxTrees) {
+        this.maxEntries = maxEntries;
+        this.maxPathNodes = maxPathNodes;
+        this.maxTrees = maxTrees;
+    }
+
+    public PathResult get(long version, String start, String end, String algorithm) {
+        PathResult result;
+        synchronized (this) {
+            result = results.get(new Key(version, start, end, algorithm));
+        }
+        (result != null ? hits : misses).incrementAndGet();
+        return result;
+    }
+
+    public synchronized void put(long version, String start, String end, String algorithm, PathResult result) {
+        PathResult previous = results.put(new Key(version, start, end, algorithm), result);
+        if (previous != null) pathNodes -= previous.getPath().size();
+        pathNodes += result.getPath().size();
+
+        Iterator<PathResult> eldest = results.values().iterator();
+        while ((results.size() > maxEntries || pathNodes > maxPathNodes) && eldest.hasNext()) {
+            pathNodes -= eldest.next().getPath().size();
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    public boolean treesEnabled() {
+        return maxTrees > 0;
+    }
+
+    public ShortestPathTree getTree(long version, int source) {
+        ShortestPathTree tree;
+        synchronized (this) {
+            tree = trees.get(new TreeKey(version, source));
+        }
+        if (tree != null) treeHits.incrementAndGet();
+        return tree;
+    }
+
+    public synchronized void putTree(long version, ShortestPathTree tree) {
+        if (maxTrees <= 0) return;
+        trees.put(new TreeKey(version, tree.source()), tree);
+        Iterator<ShortestPathTree> eldest = trees.values().iterator();
+        while (trees.size() > maxTrees && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    /** Drops everything; called when the graph is replaced. */
+    public synchronized void invalidateAll() {
+        results.clear();
+        trees.clear();
+        pathNodes = 0;
+    }
+
+    /**
+     * Moves the entries of one graph version that are still correct on the next version
+     * over to it and drops the rest; used after edge updates instead of clearing
+     * everything. Recency order is kept. Returns the number of entries kept.
+     */
+    public synchronized int carryOver(long fromVersion, long toVersion,
+                                      Predicate<PathResult> keepResult, Predicate<ShortestPathTree> keepTree) {
+        LinkedHashMap<Key, PathResult> keptResults = new LinkedHashMap<>();
+        long keptNodes = 0;
+        for (Map.Entry<Key, PathResult> entry : results.entrySet()) {
+            Key key = entry.getKey();
+            if (key.version() == fromVersion && keepResult.test(entry.getValue())) {
+                keptResults.put(new Key(toVersion, key.start(), key.end(), key.algorithm()), entry.getValue());
+                keptNodes += entry.getValue().getPath().size();
+            }
+        }
+        LinkedHashMap<TreeKey, ShortestPathTree> keptTrees = new LinkedHashMap<>();
+        for (Map.Entry<TreeKey, ShortestPathTree> entry : trees.entrySet()) {
+            if (entry.getKey().version() == fromVersion && keepTree.test(entry.getValue())) {
+                keptTrees.put(new TreeKey(toVersion, entry.getKey().source()), entry.getValue());
+            }
+        }
+        results.clear();
+        results.putAll(keptResults);
+        trees.clear();
+        trees.putAll(keptTrees);
+        pathNodes = keptNodes;
+        return results.size() + trees.size();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        long h = hits.get(), m = misses.get();
+        synchronized (this) {
+            map.put("entries", results.size());
+            map.put("pathNodes", pathNodes);
+            map.put("trees", trees.size());
+        }
+        map.put("hits", h);
+        map.put("misses", m);
+        map.put("hitRatio", h + m == 0 ? 0.0 : (double) h / (h + m));
+        map.put("treeHits", treeHits.get());
+        map.put("evictions", evictions.get());
+        return map;
+    }
+
+    public synchronized int size() {
+        return results.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private record Key(long version, String start, String end, String algorithm) { }
+
+    private record TreeKey(long version, int source) { }
+}
@@ -0,0 +1,193 @@
+package com.Vishal.FindShortestPath.service;
+
+import com.Vishal.FindShortestPath.model.*;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Per-query state threaded through the search loops: counters are always kept
+ * (they are plain fields), steps are only recorded at {@link TraceLevel#DELTA},
+ * either into the result or, for a streaming context, straight to a sink.
+ * <p>
+ * A context may carry a deadline. Searches check it as they settle nodes (and
+ * Bellman-Ford as it scans them), reading the clock only every few hundred calls,
+ * and give up with a {@link SearchTimeoutException} once it has passed.
+ * Not thread-safe; create one per search.
+ */
+public final class SearchContext {
+    // Settled nodes between clock reads
+    private static final int CHECK_INTERVAL = 256;
+
+    private final TraceLevel traceLevel;
+    private final List<AlgorithmStep> steps;
+    private final Consumer<AlgorithmStep> sink;
+    private QueueType queueType = QueueType.PRIORITY_QUEUE;
+    private long nodesSettled;
+    private long edgesRelaxed;
+    private long heapPushes;
+    private long timeoutNanos; // 0: no deadline
+    private long deadline;
+    private int untilCheck = CHECK_INTERVAL;
+    private Supplier<PathResult> partial;
+
+    private SearchContext(TraceLevel traceLevel, Consumer<AlgorithmStep> sink) {
+        this.traceLevel = traceLevel;
+        this.sink = sink;
+        this.steps = traceLevel == TraceLevel.DELTA && sink == null ? new ArrayList<>() : null;
+    }
+
+    public static SearchContext of(TraceLevel traceLevel) {
+        return new SearchContext(traceLevel, null);
+    }
+
+    public static SearchContext untraced() {
+        return new SearchContext(TraceLevel.NONE, null);
+    }
+
+    /**
+     * Delta trace whose steps go to the sink as they happen instead of into the result,
+     * so the caller can forward them without holding the whole trace. The sink runs on
+     * the search thread; a sink that blocks slows the search down to its pace.
+     */
+    public static SearchContext streaming(Consumer<AlgorithmStep> sink) {
+        return new SearchContext(TraceLevel.DELTA, Objects.requireNonNull(sink));
+    }
+
+    public SearchContext withQueue(QueueType queueType) {
+        this.queueType = queueType;
+        return this;
+    }
+
+    /** Starts the clock now; a null, zero or negative timeout means none. */
+    public SearchContext withTimeout(Duration timeout) {
+        if (timeout != null && !timeout.isZero() && !timeout.isNegative()) {
+            this.timeoutNanos = timeout.toNanos();
+            this.deadline = System.nanoTime() + timeoutNanos;
+        }
+        return this;
+    }
+
+    /**
+     * Takes over another context's deadline, clock already running, so the several
+     * searches of one request (or its parallel tasks) all stop at the same time.
+     */
+    public SearchContext withDeadlineOf(SearchContext other) {
+        this.timeoutNanos = other.timeoutNanos;
+        this.deadline = other.deadline;
+        return this;
+    }
+
+    public TraceLevel getTraceLevel() {
+        return traceLevel;
+    }
+
+    public QueueType getQueueType() {
+        return queueType;
+    }
+
+    SearchQueue newQueue(int nodeCount) {
+        return queueType == QueueType.DARY_HEAP
+                ? new IndexedDaryHeap(nodeCount)
+                : new LazySearchQueue();
+    }
+
+    void initialize(CompiledGraph graph, int node) {
+        if (recording()) record(new AlgorithmStep("initialize", graph.id(node), null, 0.0));
+    }
+
+    /** Called by a search once its state exists, to describe its best answer so far on timeout. */
+    void onTimeout(Supplier<PathResult> partial) {
+        this.partial = partial;
+    }
+
+    /** Cheap enough for an inner loop: only every CHECK_INTERVAL-th call reads the clock. */
+    void checkpoint() {
+        if (timeoutNanos != 0 && --untilCheck <= 0) {
+            untilCheck = CHECK_INTERVAL;
+            checkDeadline();
+        }
+    }
+
+    /** Reads the clock every time; for loops whose iterations are already expensive. */
+    void checkDeadline() {
+        if (timeoutNanos != 0 && System.nanoTime() - deadline >= 0) {
+            throw new SearchTimeoutException(timeoutNanos / 1_000_000, partial == null ? null : partial.get());
+        }
+    }
+
+    void settle(CompiledGraph graph, int node, double distance) {
+        nodesSettled++;
+        checkpoint();
+        if (recording()) record(new AlgorithmStep("visit", graph.id(node), null, distance));
+    }
+
+    void relax(CompiledGraph graph, int from, int to, double distance) {
+        if (recording()) record(new AlgorithmStep("relax", graph.id(from), graph.id(to), distance));
+    }
+
+    // The backward half of a bidirectional search: distances are to its target
+    void initializeBackward(CompiledGraph graph, int node) {
+        if (recording()) record(new AlgorithmStep("initialize", graph.id(node), null, 0.0, AlgorithmStep.BACKWARD));
+    }
+
+    void settleBackward(CompiledGraph graph, int node, double distance) {
+        nodesSettled++;
+        checkpoint();
+        if (recording()) record(new AlgorithmStep("visit", graph.id(node), null, distance, AlgorithmStep.BACKWARD));
+    }
+
+    /** from -> to is the arc in the forward graph; the search, running against it, labels from. */
+    void relaxBackward(CompiledGraph graph, int from, int to, double distance) {
+        if (recording()) record(new AlgorithmStep("relax", graph.id(from), graph.id(to), distance, AlgorithmStep.BACKWARD));
+    }
+
+    private boolean recording() {
+        return steps != null || sink != null;
+    }
+
+    private void record(AlgorithmStep step) {
+        if (sink != null) sink.accept(step);
+        else steps.add(step);
+    }
+
+    void scanned(int edges) {
+        edgesRelaxed += edges;
+    }
+
+    void pushed() {
+        heapPushes++;
+    }
+
+    public long getNodesSettled() {
+        return nodesSettled;
+    }
+
+    public long getEdgesRelaxed() {
+        return edgesRelaxed;
+    }
+
+    public long getHeapPushes() {
+        return heapPushes;
+    }
+
+    PathResult result(List<String> path, double distance, String algorithm) {
+        SearchStats stats = traceLevel == TraceLevel.NONE
+                ? null
+                : new SearchStats(nodesSettled, edgesRelaxed, heapPushes);
+        List<AlgorithmStep> recorded = steps != null ? steps : Collections.emptyList();
+        return new PathResult(path, distance, recorded, algorithm, stats);
+    }
+
+    PathResult unreachable(String algorithm) {
+        return result(Collections.emptyList(), Double.POSITIVE_INFINITY, algorithm);
+    }
+
+    PathResult negativeCycle(List<String> cycle, String algorithm) {
+        PathResult base = result(Collections.emptyList(), Double.NEGATIVE_INFINITY, algorithm);
+        return new PathResult(base.getPath(), base.getTotalDistance(), base.getSteps(), algorithm,
+                base.getStats(), cycle);
+    }
+}
@@ -0,0 +1,102 @@
+package com.Vishal.FindShortestPath.service;
+
+import com.Vishal.FindShortestPath.model.GraphSnapshot;
+import com.Vishal.FindShortestPath.model.PathResult;
+import io.micrometer.core.instrument.*;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Micrometer meters for the query endpoints. Searches keep their work counters in
+ * plain {@link SearchContext} fields, so the search loops themselves are untouched;
+ * this adds them to per-algorithm counters once per query. Meters are looked up once
+ * per algorithm and reused. Graph size and cache state are gauges read at scrape time.
+ */
+@Service
+public class SearchMetrics {
+
+    public enum Outcome { FOUND, UNREACHABLE, NEGATIVE_CYCLE, CACHED }
+
+    private final MeterRegistry registry;
+    private final Map<String, Meters> byAlgorithm = new ConcurrentHashMap<>();
+    private final Timer matrix;
+
+    public SearchMetrics(MeterRegistry registry, GraphStore graphStore, PathCache pathCache) {
+        this.registry = registry;
+        matrix = Timer.builder("graph.matrix")
+                .description("Distance matrix requests")
+                .register(registry);
+
+        graphGauge("graph.nodes", graphStore, s -> s.graph().nodeCount());
+        graphGauge("graph.arcs", graphStore, s -> s.graph().edgeCount());
+        graphGauge("graph.version", graphStore, GraphSnapshot::version);
+
+        FunctionCounter.builder("graph.cache.requests", pathCache, PathCache::getHits)
+                .tag("result", "hit").register(registry);
+        FunctionCounter.builder("graph.cache.requests", pathCache, PathCache::getMisses)
+                .tag("result", "miss").register(registry);
+        Gauge.builder("graph.cache.hit.ratio", pathCache, c -> {
+            long hits = c.getHits(), total = hits + c.getMisses();
+            return total == 0 ? 0.0 : (double) hits / total;
+        }).register(registry);
+        Gauge.builder("graph.cache.entries", pathCache, PathCache::size).register(registry);
+    }
+
+    /** Records one answered shortest-path query; ctx is null for cached answers. */
+    public void record(PathResult result, SearchContext ctx, long nanos) {
+        Meters meters = byAlgorithm.computeIfAbsent(result.getAlgorithm(), this::meters);
+        Outcome outcome = ctx == null ? Outcome.CACHED
+                : result.getNegativeCycle() != null ? Outcome.NEGATIVE_CYCLE
+                : result.getPath().isEmpty() ? Outcome.UNREACHABLE
+                : Outcome.FOUND;
+        meters.latency[outcome.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+        if (ctx != null) {
+            meters.settled.increment(ctx.getNodesSettled());
+            meters.relaxed.increment(ctx.getEdgesRelaxed());
+            meters.pushes.increment(ctx.getHeapPushes());
+            meters.settledPerQuery.record(ctx.getNodesSettled());
+        }
+    }
+
+    public void recordMatrix(long nanos) {
+        matrix.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Meters meters(String algorithm) {
+        Timer[] latency = new Timer[Outcome.values().length];
+        for (Outcome outcome : Outcome.values()) {
+            latency[outcome.ordinal()] = Timer.builder("graph.search")
+                    .description("Shortest-path query latency")
+                    .tag("algorithm", algorithm)
+                    .tag("outcome", outcome.name().toLowerCase().replace('_', '-'))
+                    .register(registry);
+        }
+        return new Meters(latency,
+                counter("graph.search.nodes.settled", algorithm),
+                counter("graph.search.edges.relaxed", algorithm),
+                counter("graph.search.heap.pushes", algorithm),
+                DistributionSummary.builder("graph.search.settled")
+                        .description("Nodes settled per query")
+                        .baseUnit("nodes")
+                        .tag("algorithm", algorithm)
+                        .register(registry));
+    }
+
+    private Counter counter(String name, String algorithm) {
+        return Counter.builder(name).tag("algorithm", algorithm).register(registry);
+    }
+
+    private void graphGauge(String name, GraphStore store, ToDoubleFunction<GraphSnapshot> value) {
+        Gauge.builder(name, store, s -> {
+            GraphSnapshot snapshot = s.current();
+            return snapshot == null ? 0.0 : value.applyAsDouble(snapshot);
+        }).register(registry);
+    }
+
+    private record Meters(Timer[] latency, Counter settled, Counter relaxed, Counter pushes,
+                          DistributionSummary settledPerQuery) { }
+}
@@ -0,0 +1,24 @@
+package com.Vishal.FindShortestPath.service;
+
+/**
+ * Min-priority queue of int node ids keyed by double distances.
+ * Implementations may return a node more than once; searches skip settled nodes.
+ */
+public interface SearchQueue {
+
+    /**
+     * Inserts the node, or lowers its key if it is already queued with a larger one.
+     * Returns true if a new entry was added to the queue.
+     */
+    boolean offer(int node, double key);
+
+    /** Removes and returns the node with the smallest key. */
+    int poll();
+
+    /** Smallest key in the queue; may be a stale entry's key for lazy queues. */
+    double peekKey();
+
+    boolean isEmpty();
+
+    int size();
+}
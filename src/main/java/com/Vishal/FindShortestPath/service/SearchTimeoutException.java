@@ -0,0 +1,28 @@
+package com.Vishal.FindShortestPath.service;
+
+import com.Vishal.FindShortestPath.model.PathResult;
+
+/**
+ * Thrown from inside a search loop once its {@link SearchContext} deadline has passed.
+ * Carries the best path to the target found so far, when the algorithm can give one;
+ * it is an upper bound, not necessarily the shortest path.
+ */
+public class SearchTimeoutException extends RuntimeException {
+    private final long timeoutMillis;
+    private final PathResult partial;
+
+    public SearchTimeoutException(long timeoutMillis, PathResult partial) {
+        super("Search did not finish within " + timeoutMillis + " ms");
+        this.timeoutMillis = timeoutMillis;
+        this.partial = partial;
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /** Partial result, or null when the target had not been reached yet. */
+    public PathResult getPartial() {
+        return partial;
+    }
+}
@@ -0,0 +1,144 @@
+package com.Vishal.FindShortestPath.service;
+
+import com.Vishal.FindShortestPath.model.QueueType;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Distance, parent and settled state for one search, kept between searches so a
+ * query costs what it touches instead of O(V) to allocate and fill. Entries belong
+ * to the current search only if their stamp equals the current generation; starting
+ * a search bumps the generation, which resets every node at once. When the counter
+ * wraps the stamps are cleared for real. The d-ary heap is reused the same way,
+ * emptied in time proportional to what the last search left in it.
+ * <p>
+ * Workspaces come from a {@link Pool} and must be closed to go back to it.
+ */
+final class SearchWorkspace implements AutoCloseable {
+    private final Pool pool;
+    private double[] distances = new double[0];
+    private int[] parents = new int[0];
+    private int[] arcs = new int[0];
+    private int[] reached = new int[0];
+    private int[] settled = new int[0];
+    private IndexedDaryHeap heap;
+    private int generation;
+
+    private SearchWorkspace(Pool pool) {
+        this.pool = pool;
+    }
+
+    private void begin(int nodeCount) {
+        if (reached.length < nodeCount) {
+            distances = new double[nodeCount];
+            parents = new int[nodeCount];
+            reached = new int[nodeCount];
+            settled = new int[nodeCount];
+            arcs = new int[0];
+            heap = null;
+            generation = 0;
+        }
+        if (++generation == 0) {
+            Arrays.fill(reached, 0);
+            Arrays.fill(settled, 0);
+            generation = 1;
+        }
+    }
+
+    /** Distance found so far, {@link Double#MAX_VALUE} if the node has not been reached. */
+    double distance(int node) {
+        return reached[node] == generation ? distances[node] : Double.MAX_VALUE;
+    }
+
+    /** Parent on the best path found so far, -1 for the source and unreached nodes. */
+    int parent(int node) {
+        return reached[node] == generation ? parents[node] : -1;
+    }
+
+    void reach(int node, double distance, int parent) {
+        reached[node] = generation;
+        distances[node] = distance;
+        parents[node] = parent;
+    }
+
+    /** Like {@link #reach(int, double, int)}, also remembering the arc the node was reached by. */
+    void reach(int node, double distance, int parent, int arc) {
+        // Only searches that unpack arcs afterwards need the column
+        if (arcs.length < reached.length) {
+            arcs = new int[reached.length];
+        }
+        reach(node, distance, parent);
+        arcs[node] = arc;
+    }
+
+    /** Arc given with the last {@code reach} of this node; undefined if none was given. */
+    int arc(int node) {
+        return arcs[node];
+    }
+
+    boolean isSettled(int node) {
+        return settled[node] == generation;
+    }
+
+    void settle(int node) {
+        settled[node] = generation;
+    }
+
+    /** Queue for this search: the pooled d-ary heap, or a fresh lazy queue, which starts small anyway. */
+    SearchQueue queue(SearchContext ctx) {
+        if (ctx.getQueueType() != QueueType.DARY_HEAP) {
+            return new LazySearchQueue();
+        }
+        if (heap == null) {
+            heap = new IndexedDaryHeap(reached.length);
+        } else {
+            heap.clear();
+        }
+        return heap;
+    }
+
+    @Override
+    public void close() {
+        pool.release(this);
+    }
+
+    /**
+     * Idle workspaces, at most {@code retained} of them; a search that finds none
+     * creates one, and extras are dropped when released. Each holds arrays as large
+     * as the biggest graph it has searched.
+     */
+    static final class Pool {
+        private final ConcurrentLinkedDeque<SearchWorkspace> idle = new ConcurrentLinkedDeque<>();
+        private final AtomicInteger idleCount = new AtomicInteger();
+        private final int retained;
+
+        Pool(int retained) {
+            this.retained = retained;
+        }
+
+        SearchWorkspace acquire(int nodeCount) {
+            SearchWorkspace workspace = idle.pollFirst();
+            if (workspace != null) {
+                idleCount.decrementAndGet();
+            } else {
+                workspace = new SearchWorkspace(this);
+            }
+            workspace.begin(nodeCount);
+            return workspace;
+        }
+
+        private void release(SearchWorkspace workspace) {
+            if (idleCount.incrementAndGet() <= retained) {
+                idle.offerFirst(workspace);
+            } else {
+                idleCount.decrementAndGet();
+            }
+        }
+
+        int idle() {
+            return idleCount.get();
+        }
+    }
+}
@@ -0,0 +1,395 @@
+package com.Vishal.FindShortestPath.service;
+
+import com.Vishal.FindShortestPath.model.*;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Saves a graph and its preprocessed indexes to one binary file and maps it back
+ * read-only. A loaded graph reads every column straight from the mapping, so
+ * loading costs a header parse regardless of graph size and the data lives in the
+ * page cache rather than on the heap.
+ * <p>
+ * Layout, little-endian: a fixed header (magic {@code FSPG}, format version, graph
+ * version, node and arc counts, shortcut count or -1, section count) followed by a
+ * section table of (id, offset, length) entries. Each section is one column,
+ * 8-byte aligned. ALT and CH sections are optional.
+ */
+@Service
+public class SnapshotFileService {
+
+    public static final int MAGIC = 0x46535047; // "FSPG"
+    public static final int FORMAT_VERSION = 1;
+
+    private static final int FIXED_HEADER_BYTES = 32;
+    private static final int SECTION_ENTRY_BYTES = 24;
+    private static final int HEADER_BYTES = FIXED_HEADER_BYTES + SECTION_ENTRY_BYTES * Section.values().length;
+
+    private enum Section {
+        ID_BYTES, ID_OFFSETS, ID_SORTED, XS, YS,
+        OFFSETS, TARGETS, WEIGHTS, REVERSE_OFFSETS, REVERSE_TARGETS, REVERSE_WEIGHTS,
+        ALT_LANDMARKS, ALT_FROM, ALT_TO,
+        CH_RANK, CH_UP_OFFSETS, CH_UP_TARGETS, CH_UP_WEIGHTS, CH_UP_MIDDLES,
+        CH_DOWN_OFFSETS, CH_DOWN_TARGETS, CH_DOWN_WEIGHTS, CH_DOWN_MIDDLES
+    }
+
+    /** A mapped graph with whatever indexes the file contained (null when absent). */
+    public record Loaded(CompiledGraph graph, LandmarkIndex landmarks, ContractionHierarchy hierarchy,
+                         long savedVersion) {
+    }
+
+    /**
+     * Writes the file next to its final location and moves it into place, so a reader
+     * never sees a half-written file and existing mappings of the old file stay valid.
+     * Returns the number of bytes written.
+     */
+    public long save(Path file, long version, CompiledGraph graph, LandmarkIndex landmarks,
+                     ContractionHierarchy hierarchy) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        long size;
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            SectionWriter out = new SectionWriter(channel, HEADER_BYTES);
+            writeGraph(out, graph);
+            if (landmarks != null) writeLandmarks(out, landmarks);
+            if (hierarchy != null) writeHierarchy(out, hierarchy);
+            out.flush();
+            size = out.position;
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(version)
+                    .putInt(graph.nodeCount()).putInt(graph.edgeCount())
+                    .putInt(hierarchy != null ? hierarchy.shortcutCount() : -1)
+                    .putInt(out.sections.size());
+            for (Map.Entry<Section, long[]> entry : out.sections.entrySet()) {
+                header.putInt(entry.getKey().ordinal()).putInt(0)
+                        .putLong(entry.getValue()[0]).putLong(entry.getValue()[1]);
+            }
+            header.clear();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return size;
+    }
+
+    public Loaded load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < FIXED_HEADER_BYTES) {
+                throw new IllegalArgumentException("Not a graph snapshot: " + file);
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    Math.min(channel.size(), HEADER_BYTES)).order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a graph snapshot: " + file);
+            }
+            int format = header.getInt();
+            if (format != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported snapshot format " + format + " in " + file);
+            }
+            long version = header.getLong();
+            int nodeCount = header.getInt();
+            int arcCount = header.getInt();
+            int shortcutCount = header.getInt();
+            int sectionCount = header.getInt();
+
+            Map<Section, ByteBuffer> sections = new EnumMap<>(Section.class);
+            for (int i = 0; i < sectionCount; i++) {
+                int id = header.getInt();
+                header.getInt();
+                long offset = header.getLong();
+                long length = header.getLong();
+                if (id < 0 || id >= Section.values().length || offset + length > channel.size()) {
+                    throw new IllegalArgumentException("Corrupt section table in " + file);
+                }
+                if (length > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("Section larger than 2 GB in " + file);
+                }
+                // The mapping stays valid after the channel is closed
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+                sections.put(Section.values()[id], mapped.order(ByteOrder.LITTLE_ENDIAN));
+            }
+
+            CompiledGraph graph = CompiledGraph.of(
+                    IdIndex.of(require(sections, Section.ID_BYTES),
+                            ints(sections, Section.ID_OFFSETS, nodeCount + 1),
+                            ints(sections, Section.ID_SORTED, nodeCount)),
+                    doubles(sections, Section.XS, nodeCount),
+                    doubles(sections, Section.YS, nodeCount),
+                    ints(sections, Section.OFFSETS, nodeCount + 1),
+                    ints(sections, Section.TARGETS, arcCount),
+                    doubles(sections, Section.WEIGHTS, arcCount),
+                    ints(sections, Section.REVERSE_OFFSETS, nodeCount + 1),
+                    ints(sections, Section.REVERSE_TARGETS, arcCount),
+                    doubles(sections, Section.REVERSE_WEIGHTS, arcCount));
+
+            LandmarkIndex landmarks = null;
+            if (sections.containsKey(Section.ALT_LANDMARKS)) {
+                IntColumn ids = ints(sections, Section.ALT_LANDMARKS, -1);
+                int[] chosen = new int[ids.size()];
+                for (int i = 0; i < chosen.length; i++) {
+                    chosen[i] = ids.get(i);
+                }
+                long tableSize = (long) nodeCount * chosen.length;
+                landmarks = new LandmarkIndex(graph, chosen, doubles(sections, Section.ALT_FROM, tableSize),
+                        doubles(sections, Section.ALT_TO, tableSize));
+            }
+
+            ContractionHierarchy hierarchy = null;
+            if (sections.containsKey(Section.CH_RANK)) {
+                hierarchy = new ContractionHierarchy(graph, ints(sections, Section.CH_RANK, nodeCount),
+                        searchGraph(sections, Section.CH_UP_OFFSETS, Section.CH_UP_TARGETS,
+                                Section.CH_UP_WEIGHTS, Section.CH_UP_MIDDLES, nodeCount),
+                        searchGraph(sections, Section.CH_DOWN_OFFSETS, Section.CH_DOWN_TARGETS,
+                                Section.CH_DOWN_WEIGHTS, Section.CH_DOWN_MIDDLES, nodeCount),
+                        shortcutCount);
+            }
+            return new Loaded(graph, landmarks, hierarchy, version);
+        }
+    }
+
+    /** ====================== WRITING ====================== **/
+
+    private void writeGraph(SectionWriter out, CompiledGraph graph) throws IOException {
+        int n = graph.nodeCount();
+        byte[][] encoded = new byte[n][];
+        for (int v = 0; v < n; v++) {
+            encoded[v] = graph.id(v).getBytes(StandardCharsets.UTF_8);
+        }
+
+        out.begin(Section.ID_BYTES);
+        for (byte[] bytes : encoded) {
+            out.putBytes(bytes);
+        }
+        out.end();
+
+        out.begin(Section.ID_OFFSETS);
+        int offset = 0;
+        out.putInt(0);
+        for (byte[] bytes : encoded) {
+            offset += bytes.length;
+            out.putInt(offset);
+        }
+        out.end();
+
+        Integer[] sorted = new Integer[n];
+        for (int v = 0; v < n; v++) {
+            sorted[v] = v;
+        }
+        Arrays.sort(sorted, (a, b) -> Arrays.compareUnsigned(encoded[a], encoded[b]));
+        out.begin(Section.ID_SORTED);
+        for (int v : sorted) {
+            out.putInt(v);
+        }
+        out.end();
+
+        out.begin(Section.XS);
+        for (int v = 0; v < n; v++) {
+            out.putDouble(graph.x(v));
+        }
+        out.end();
+        out.begin(Section.YS);
+        for (int v = 0; v < n; v++) {
+            out.putDouble(graph.y(v));
+        }
+        out.end();
+
+        writeCsr(out, graph, Section.OFFSETS, Section.TARGETS, Section.WEIGHTS);
+        writeCsr(out, graph.reverse(), Section.REVERSE_OFFSETS, Section.REVERSE_TARGETS, Section.REVERSE_WEIGHTS);
+    }
+
+    private void writeCsr(SectionWriter out, CompiledGraph graph, Section offsets, Section targets,
+                          Section weights) throws IOException {
+        int n = graph.nodeCount();
+        out.begin(offsets);
+        for (int v = 0; v <= n; v++) {
+            out.putInt(v < n ? graph.firstEdge(v) : graph.edgeCount());
+        }
+        out.end();
+        out.begin(targets);
+        for (int e = 0; e < graph.edgeCount(); e++) {
+            out.putInt(graph.target(e));
+        }
+        out.end();
+        out.begin(weights);
+        for (int e = 0; e < graph.edgeCount(); e++) {
+            out.putDouble(graph.weight(e));
+        }
+        out.end();
+    }
+
+    private void writeLandmarks(SectionWriter out, LandmarkIndex landmarks) throws IOException {
+        int k = landmarks.landmarkCount();
+        int n = landmarks.graph().nodeCount();
+        out.begin(Section.ALT_LANDMARKS);
+        for (int i = 0; i < k; i++) {
+            out.putInt(landmarks.landmark(i));
+        }
+        out.end();
+        out.begin(Section.ALT_FROM);
+        for (int v = 0; v < n; v++) {
+            for (int i = 0; i < k; i++) {
+                out.putDouble(landmarks.fromLandmark(i, v));
+            }
+        }
+        out.end();
+        out.begin(Section.ALT_TO);
+        for (int v = 0; v < n; v++) {
+            for (int i = 0; i < k; i++) {
+                out.putDouble(landmarks.toLandmark(i, v));
+            }
+        }
+        out.end();
+    }
+
+    private void writeHierarchy(SectionWriter out, ContractionHierarchy hierarchy) throws IOException {
+        int n = hierarchy.graph().nodeCount();
+        out.begin(Section.CH_RANK);
+        for (int v = 0; v < n; v++) {
+            out.putInt(hierarchy.rank(v));
+        }
+        out.end();
+        writeSearchGraph(out, hierarchy.upward(), n, Section.CH_UP_OFFSETS, Section.CH_UP_TARGETS,
+                Section.CH_UP_WEIGHTS, Section.CH_UP_MIDDLES);
+        writeSearchGraph(out, hierarchy.downward(), n, Section.CH_DOWN_OFFSETS, Section.CH_DOWN_TARGETS,
+                Section.CH_DOWN_WEIGHTS, Section.CH_DOWN_MIDDLES);
+    }
+
+    private void writeSearchGraph(SectionWriter out, ContractionHierarchy.SearchGraph graph, int n,
+                                  Section offsets, Section targets, Section weights, Section middles)
+            throws IOException {
+        out.begin(offsets);
+        for (int v = 0; v <= n; v++) {
+            out.putInt(v < n ? graph.firstEdge(v) : graph.edgeCount());
+        }
+        out.end();
+        out.begin(targets);
+        for (int e = 0; e < graph.edgeCount(); e++) {
+            out.putInt(graph.target(e));
+        }
+        out.end();
+        out.begin(weights);
+        for (int e = 0; e < graph.edgeCount(); e++) {
+            out.putDouble(graph.weight(e));
+        }
+        out.end();
+        out.begin(middles);
+        for (int e = 0; e < graph.edgeCount(); e++) {
+            out.putInt(graph.middle(e));
+        }
+        out.end();
+    }
+
+    /** ====================== READING ====================== **/
+
+    private static ByteBuffer require(Map<Section, ByteBuffer> sections, Section section) {
+        ByteBuffer buffer = sections.get(section);
+        if (buffer == null) {
+            throw new IllegalArgumentException("Snapshot is missing section " + section);
+        }
+        return buffer;
+    }
+
+    // expected is the element count, or -1 to accept any length
+    private static IntColumn ints(Map<Section, ByteBuffer> sections, Section section, long expected) {
+        ByteBuffer buffer = require(sections, section);
+        if (expected >= 0 && buffer.capacity() != expected * Integer.BYTES) {
+            throw new IllegalArgumentException("Section " + section + " has the wrong length");
+        }
+        return IntColumn.of(buffer.asIntBuffer());
+    }
+
+    private static DoubleColumn doubles(Map<Section, ByteBuffer> sections, Section section, long expected) {
+        ByteBuffer buffer = require(sections, section);
+        if (buffer.capacity() != expected * Double.BYTES) {
+            throw new IllegalArgumentException("Section " + section + " has the wrong length");
+        }
+        return DoubleColumn.of(buffer.asDoubleBuffer());
+    }
+
+    private static ContractionHierarchy.SearchGraph searchGraph(Map<Section, ByteBuffer> sections,
+                                                                Section offsets, Section targets,
+                                                                Section weights, Section middles, int n) {
+        IntColumn offsetColumn = ints(sections, offsets, n + 1);
+        int arcs = offsetColumn.get(n);
+        return new ContractionHierarchy.SearchGraph(offsetColumn, ints(sections, targets, arcs),
+                doubles(sections, weights, arcs), ints(sections, middles, arcs));
+    }
+
+    /** Streams sections through a little-endian staging buffer and records where each one landed. */
+    private static final class SectionWriter {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+        private final Map<Section, long[]> sections = new EnumMap<>(Section.class);
+        private long position;
+        private Section open;
+        private long start;
+
+        SectionWriter(FileChannel channel, long start) {
+            this.channel = channel;
+            this.position = start;
+        }
+
+        void begin(Section section) throws IOException {
+            while (position % 8 != 0) {
+                put(1);
+                buffer.put((byte) 0);
+                position++;
+            }
+            open = section;
+            start = position;
+        }
+
+        void end() {
+            sections.put(open, new long[]{start, position - start});
+            open = null;
+        }
+
+        void putInt(int value) throws IOException {
+            put(Integer.BYTES);
+            buffer.putInt(value);
+            position += Integer.BYTES;
+        }
+
+        void putDouble(double value) throws IOException {
+            put(Double.BYTES);
+            buffer.putDouble(value);
+            position += Double.BYTES;
+        }
+
+        void putBytes(byte[] bytes) throws IOException {
+            for (byte b : bytes) {
+                put(1);
+                buffer.put(b);
+                position++;
+            }
+        }
+
+        // Makes room for the next value
+        private void put(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) flush();
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            long at = position - buffer.remaining();
+            while (buffer.hasRemaining()) {
+                at += channel.write(buffer, at);
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -1,13 +1,163 @@
 package com.Vishal.FindShortestPath;
 
+import com.Vishal.FindShortestPath.service.AdmissionControl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
+@AutoConfigureMockMvc
 class FindShortestPathApplicationTests {
 
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AdmissionControl admissionControl;
+
+	@Value("${graph.admission.light.max-concurrent}")
+	private int lightSlots;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void pathsAreJsonByDefaultAndCborOnRequest() throws Exception {
+		String body = "{\"start\":\"A\",\"end\":\"I\",\"trace\":\"delta\"}";
+
+		MvcResult json = mockMvc.perform(post("/api/graph/shortest-path")
+						.contentType(MediaType.APPLICATION_JSON).content(body))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+				.andReturn();
+		MvcResult cbor = mockMvc.perform(post("/api/graph/shortest-path")
+						.contentType(MediaType.APPLICATION_JSON).content(body)
+						.accept(MediaType.APPLICATION_CBOR))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+				.andReturn();
+
+		Map<?, ?> fromJson = new ObjectMapper().readValue(json.getResponse().getContentAsByteArray(), Map.class);
+		Map<?, ?> fromCbor = new CBORMapper().readValue(cbor.getResponse().getContentAsByteArray(), Map.class);
+		assertEquals(List.of("A", "C", "E", "I"), fromCbor.get("path"));
+		assertEquals(9.0, ((Number) fromCbor.get("totalDistance")).doubleValue());
+		assertEquals(((List<?>) fromJson.get("steps")).size(), ((List<?>) fromCbor.get("steps")).size());
+	}
+
+	@Test
+	void pathsCarryTheSearchStateAtARequestedStep() throws Exception {
+		String first = "{\"start\":\"A\",\"end\":\"I\",\"step\":1}";
+		mockMvc.perform(post("/api/graph/shortest-path").contentType(MediaType.APPLICATION_JSON).content(first))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.state.distances.A").value(0.0))
+				.andExpect(jsonPath("$.state.distances.I").doesNotExist())
+				.andExpect(jsonPath("$.state.visited").isEmpty());
+
+		// Past the last step: the final state of the search
+		String last = "{\"start\":\"A\",\"end\":\"I\",\"step\":100000}";
+		mockMvc.perform(post("/api/graph/shortest-path").contentType(MediaType.APPLICATION_JSON).content(last))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.steps").isNotEmpty())
+				.andExpect(jsonPath("$.state.distances.I").value(9.0))
+				.andExpect(jsonPath("$.state.visited", hasItem("I")));
+
+		mockMvc.perform(post("/api/graph/shortest-path").contentType(MediaType.APPLICATION_JSON)
+						.content("{\"start\":\"A\",\"end\":\"I\",\"step\":1,\"trace\":\"summary\"}"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(post("/api/graph/shortest-path").contentType(MediaType.APPLICATION_JSON)
+						.content("{\"start\":\"A\",\"end\":\"I\"}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.state").doesNotExist());
+	}
+
+	@Test
+	void streamedSearchEndsWithTimeoutEventAtItsDeadline() throws Exception {
+		StringBuilder csv = new StringBuilder();
+		for (int i = 0; i < 20000; i++) {
+			csv.append('n').append(i).append(",n").append(i + 1).append(",1\n");
+		}
+		mockMvc.perform(post("/api/graph/load").param("format", "csv").param("directed", "true")
+						.contentType("text/csv").content(csv.toString()))
+				.andExpect(status().isOk());
+		try {
+			MvcResult started = mockMvc.perform(get("/api/graph/shortest-path/stream")
+							.param("start", "n0").param("end", "n20000").param("timeoutMs", "1"))
+					.andExpect(request().asyncStarted())
+					.andReturn();
+			String events = mockMvc.perform(asyncDispatch(started))
+					.andExpect(status().isOk())
+					.andReturn().getResponse().getContentAsString();
+			assertTrue(events.contains("event: timeout"), "no timeout event");
+			assertFalse(events.contains("event: result"), "search was not stopped");
+		} finally {
+			// Later tests expect the default graph
+			mockMvc.perform(get("/api/graph/default")).andExpect(status().isOk());
+		}
+	}
+
+	@Test
+	void streamsAreTurnedAwayBeforeTheyReachTheExecutor() throws Exception {
+		List<AdmissionControl.Permit> held = new ArrayList<>();
+		try {
+			// Fill every light slot; each stream then waits out max-wait-ms on the request thread
+			while (admissionControl.running(AdmissionControl.CostClass.LIGHT) < lightSlots) {
+				held.add(admissionControl.admit(AdmissionControl.CostClass.LIGHT));
+			}
+			mockMvc.perform(get("/api/graph/shortest-path/stream").param("start", "A").param("end", "I"))
+					.andExpect(request().asyncNotStarted())
+					.andExpect(status().isTooManyRequests())
+					.andExpect(header().exists("Retry-After"));
+			mockMvc.perform(post("/api/graph/isochrone")
+							.contentType(MediaType.APPLICATION_JSON).content("{\"source\":\"A\",\"budget\":5}"))
+					.andExpect(request().asyncNotStarted())
+					.andExpect(status().isTooManyRequests())
+					.andExpect(header().exists("Retry-After"));
+		} finally {
+			held.forEach(AdmissionControl.Permit::close);
+		}
+		assertEquals(0, admissionControl.running(AdmissionControl.CostClass.LIGHT));
+	}
+
+	@Test
+	void streamsHoldTheirSlotUntilTheyEnd() throws Exception {
+		MvcResult started = mockMvc.perform(get("/api/graph/shortest-path/stream").param("start", "A").param("end", "I"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+		assertEquals(0, admissionControl.running(AdmissionControl.CostClass.LIGHT));
+	}
+
+	@Test
+	void asyncExecutorHasAThreadForEveryRunningQuery(@Autowired ThreadPoolTaskExecutor applicationTaskExecutor) {
+		// No queue: an admitted stream never waits behind other streams for a thread
+		assertEquals(0, applicationTaskExecutor.getQueueCapacity());
+		int heavySlots = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+		assertTrue(applicationTaskExecutor.getMaxPoolSize() >= lightSlots + heavySlots);
+	}
 }
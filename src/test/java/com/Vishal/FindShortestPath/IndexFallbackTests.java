@@ -0,0 +1,52 @@
+package com.Vishal.FindShortestPath;
+
+import com.Vishal.FindShortestPath.service.ContractionHierarchyService;
+import com.Vishal.FindShortestPath.service.GraphStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// No CH until it is asked for, so the first "ch" query is sure to fall back
+@SpringBootTest(properties = "graph.ch.auto-preprocess=false")
+@AutoConfigureMockMvc
+class IndexFallbackTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ContractionHierarchyService chService;
+
+	@Autowired
+	private GraphStore graphStore;
+
+	@Test
+	void fallbackResultsDoNotOutliveTheirIndex() throws Exception {
+		String body = "{\"start\":\"A\",\"end\":\"I\",\"algorithm\":\"ch\"}";
+		mockMvc.perform(post("/api/graph/shortest-path").contentType(MediaType.APPLICATION_JSON).content(body))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.algorithm").value("Dijkstra"))
+				.andExpect(jsonPath("$.totalDistance").value(9.0));
+
+		mockMvc.perform(post("/api/graph/ch/preprocess")).andExpect(status().isAccepted());
+		long deadline = System.nanoTime() + 10_000_000_000L;
+		while (chService.ready(graphStore.current().graph()) == null) {
+			assertTrue(System.nanoTime() < deadline, "CH was not built in time");
+			Thread.sleep(10);
+		}
+
+		// Same graph version: the cached Dijkstra answer must not stand in for the CH
+		mockMvc.perform(post("/api/graph/shortest-path").contentType(MediaType.APPLICATION_JSON).content(body))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.algorithm").value("CH"))
+				.andExpect(jsonPath("$.totalDistance").value(9.0));
+	}
+}
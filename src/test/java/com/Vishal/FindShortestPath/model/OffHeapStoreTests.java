@@ -0,0 +1,173 @@
+package com.Vishal.FindShortestPath.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapStoreTests {
+
+	@Test
+	void columnsReadBackAcrossChunkBoundaries() {
+		Random random = new Random(11);
+		int[] targets = new int[1000];
+		double[] weights = new double[1000];
+		for (int e = 0; e < targets.length; e++) {
+			targets[e] = random.nextInt();
+			weights[e] = random.nextDouble() * 100 - 50;
+		}
+		// 64-byte chunks hold 4 arcs or 16 ints
+		OffHeapStore.Arcs arcs = OffHeapStore.arcs(IntColumn.of(targets), DoubleColumn.of(weights), 64);
+		IntColumn ints = OffHeapStore.ints(IntColumn.of(targets), 64);
+		assertEquals(targets.length, arcs.targets().size());
+		assertEquals(targets.length, ints.size());
+		for (int e = 0; e < targets.length; e++) {
+			assertEquals(targets[e], arcs.targets().get(e));
+			assertEquals(weights[e], arcs.weights().get(e));
+			assertEquals(targets[e], ints.get(e));
+		}
+		assertEquals(0, OffHeapStore.ints(IntColumn.of(new int[0])).size());
+	}
+
+	@Test
+	void copiesIdsAndBothDirections() {
+		CompiledGraph.Builder builder = new CompiledGraph.Builder();
+		builder.addNode("Zürich", 1, 2);
+		builder.addNode("A", 3, 4);
+		builder.addNode("", 5, 6);
+		builder.internNode("no-coordinates");
+		builder.addArc(0, 1, 1.5);
+		builder.addArc(1, 2, 2.5);
+		builder.addArc(3, 0, 0.25);
+		CompiledGraph graph = builder.build();
+		CompiledGraph offHeap = graph.offHeap();
+
+		for (int v = 0; v < graph.nodeCount(); v++) {
+			assertEquals(graph.id(v), offHeap.id(v));
+			assertEquals(v, offHeap.indexOf(graph.id(v)));
+			assertEquals(graph.x(v), offHeap.x(v));
+			assertEquals(graph.y(v), offHeap.y(v));
+			for (CompiledGraph[] pair : new CompiledGraph[][] {{graph, offHeap}, {graph.reverse(), offHeap.reverse()}}) {
+				assertEquals(pair[0].firstEdge(v), pair[1].firstEdge(v));
+				assertEquals(pair[0].endEdge(v), pair[1].endEdge(v));
+				for (int e = pair[0].firstEdge(v); e < pair[0].endEdge(v); e++) {
+					assertEquals(pair[0].target(e), pair[1].target(e));
+					assertEquals(pair[0].weight(e), pair[1].weight(e));
+				}
+			}
+		}
+		assertEquals(-1, offHeap.indexOf("B"));
+		assertSame(offHeap, offHeap.reverse().reverse());
+	}
+
+	@Test
+	void offHeapBuilderLaysOutTheSameGraphWithoutHeapArrays() {
+		Random random = new Random(5);
+		CompiledGraph.Builder heap = new CompiledGraph.Builder();
+		CompiledGraph.Builder offHeap = new CompiledGraph.Builder(16, 16, true);
+		for (CompiledGraph.Builder builder : new CompiledGraph.Builder[] {heap, offHeap}) {
+			builder.addNode("Zürich", 1, 2);
+			builder.addNode("", 3, 4);
+			builder.internNode("\uD83D\uDE00");
+			for (int v = 3; v < 300; v++) {
+				builder.addNode("n" + v, v, -v);
+			}
+		}
+		// Enough arcs for the log to double its first chunk twice
+		for (int i = 0; i < 10_000; i++) {
+			int from = random.nextInt(300), to = random.nextInt(300);
+			double weight = random.nextInt(100) / 4.0;
+			heap.addArc(from, to, weight);
+			offHeap.addArc(from, to, weight);
+		}
+		assertEquals(10_000, offHeap.arcCount());
+		CompiledGraph expected = heap.build();
+		CompiledGraph graph = offHeap.build();
+
+		assertFalse(expected.isOffHeap());
+		assertTrue(graph.isOffHeap());
+		assertTrue(graph.reverse().isOffHeap());
+		assertSame(graph, graph.reverse().reverse());
+		assertSameGraph(expected, graph);
+		assertSameGraph(expected.reverse(), graph.reverse());
+	}
+
+	@Test
+	void csrAndTransposeCrossChunkBoundaries() {
+		Random random = new Random(3);
+		int n = 50;
+		// 64-byte chunks hold 4 logged arcs, 4 arc records or 16 offsets
+		OffHeapStore.ArcLog log = new OffHeapStore.ArcLog(64);
+		CompiledGraph.Builder builder = new CompiledGraph.Builder();
+		for (int v = 0; v < n; v++) {
+			builder.internNode("n" + v);
+		}
+		for (int i = 0; i < 1000; i++) {
+			int from = random.nextInt(n), to = random.nextInt(n);
+			double weight = random.nextDouble();
+			log.add(from, to, weight);
+			builder.addArc(from, to, weight);
+		}
+		CompiledGraph expected = builder.build();
+		OffHeapStore.Csr forward = OffHeapStore.csr(log, n, 64);
+		OffHeapStore.Csr backward = OffHeapStore.transpose(forward, 64);
+
+		for (Object[] pair : new Object[][] {{expected, forward}, {expected.reverse(), backward}}) {
+			CompiledGraph graph = (CompiledGraph) pair[0];
+			OffHeapStore.Csr csr = (OffHeapStore.Csr) pair[1];
+			assertEquals(n + 1, csr.offsets().size());
+			assertEquals(graph.edgeCount(), csr.targets().size());
+			for (int v = 0; v < n; v++) {
+				assertEquals(graph.firstEdge(v), csr.offsets().get(v));
+				assertEquals(graph.endEdge(v), csr.offsets().get(v + 1));
+			}
+			for (int e = 0; e < graph.edgeCount(); e++) {
+				assertEquals(graph.target(e), csr.targets().get(e));
+				assertEquals(graph.weight(e), csr.weights().get(e));
+			}
+		}
+	}
+
+	@Test
+	void idsAreSortedByUnsignedBytes() {
+		String[] ids = new String[1001];
+		Random random = new Random(9);
+		for (int v = 0; v < ids.length - 5; v++) {
+			ids[v] = Integer.toString(random.nextInt(1_000_000), 36) + "-" + v;
+		}
+		// Bytes above 0x7f must sort after ASCII, and prefixes before their extensions
+		ids[ids.length - 5] = "";
+		ids[ids.length - 4] = "é";
+		ids[ids.length - 3] = "\uD83D\uDE00";
+		ids[ids.length - 2] = "z";
+		ids[ids.length - 1] = "z-";
+		IdIndex index = OffHeapStore.ids(ids.length, v -> ids[v]);
+
+		assertEquals(ids.length, index.size());
+		for (int v = 0; v < ids.length; v++) {
+			assertEquals(ids[v], index.id(v));
+			assertEquals(v, index.indexOf(ids[v]));
+		}
+		assertEquals(-1, index.indexOf("zz"));
+		assertEquals(-1, index.indexOf("\u00e8"));
+		assertEquals(0, OffHeapStore.ids(0, v -> ids[v]).size());
+	}
+
+	private static void assertSameGraph(CompiledGraph expected, CompiledGraph actual) {
+		assertEquals(expected.nodeCount(), actual.nodeCount());
+		assertEquals(expected.edgeCount(), actual.edgeCount());
+		for (int v = 0; v < expected.nodeCount(); v++) {
+			assertEquals(expected.id(v), actual.id(v));
+			assertEquals(v, actual.indexOf(expected.id(v)));
+			assertEquals(expected.x(v), actual.x(v));
+			assertEquals(expected.y(v), actual.y(v));
+			assertEquals(expected.firstEdge(v), actual.firstEdge(v));
+			assertEquals(expected.endEdge(v), actual.endEdge(v));
+		}
+		for (int e = 0; e < expected.edgeCount(); e++) {
+			assertEquals(expected.target(e), actual.target(e));
+			assertEquals(expected.weight(e), actual.weight(e));
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package com.Vishal.FindShortestPath.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpatialIndexTests {
+
+	@Test
+	void matchesLinearScan() {
+		Random random = new Random(7);
+		CompiledGraph.Builder builder = new CompiledGraph.Builder();
+		for (int i = 0; i < 2000; i++) {
+			// Coarse grid so many points share a coordinate on one axis
+			builder.addNode("n" + i, random.nextInt(200), random.nextInt(200));
+		}
+		builder.internNode("no-coordinates");
+		CompiledGraph graph = builder.build();
+		SpatialIndex index = graph.spatialIndex();
+		assertEquals(2000, index.size());
+		assertSame(index, graph.spatialIndex());
+
+		for (int q = 0; q < 500; q++) {
+			double x = random.nextDouble() * 240 - 20;
+			double y = random.nextDouble() * 240 - 20;
+			int found = index.nearest(x, y);
+			double best = Double.POSITIVE_INFINITY;
+			for (int v = 0; v < graph.nodeCount(); v++) {
+				if (!Double.isNaN(graph.x(v))) best = Math.min(best, Math.hypot(graph.x(v) - x, graph.y(v) - y));
+			}
+			assertEquals(best, Math.hypot(graph.x(found) - x, graph.y(found) - y), 1e-9);
+		}
+	}
+
+	@Test
+	void emptyWithoutCoordinates() {
+		CompiledGraph.Builder builder = new CompiledGraph.Builder();
+		builder.internNode("A");
+		builder.internNode("B");
+		builder.addArc(0, 1, 1);
+		assertEquals(-1, builder.build().spatialIndex().nearest(0, 0));
+	}
+}
@@ -0,0 +1,77 @@
+package com.Vishal.FindShortestPath.service;
+
+import com.Vishal.FindShortestPath.model.CompiledGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.Vishal.FindShortestPath.service.AdmissionControl.CostClass.HEAVY;
+import static com.Vishal.FindShortestPath.service.AdmissionControl.CostClass.LIGHT;
+import static com.Vishal.FindShortestPath.service.DijkstraServiceTests.randomGraph;
+import static com.Vishal.FindShortestPath.service.DijkstraServiceTests.smallGraph;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlTests {
+
+	@Test
+	void onlyQuadraticQueriesOnLargeGraphsAreHeavy() {
+		AdmissionControl admission = new AdmissionControl(100, 4, 4, 10, 1, 0, 0);
+		CompiledGraph small = CompiledGraph.compile(smallGraph());
+		CompiledGraph large = CompiledGraph.compile(randomGraph(1, 100, 300));
+
+		assertEquals(LIGHT, admission.classify("bellman-ford", small));
+		assertEquals(HEAVY, admission.classify("bellman-ford", large));
+		assertEquals(HEAVY, admission.classify("compare", large));
+		assertEquals(LIGHT, admission.classify("dijkstra", large));
+		assertEquals(LIGHT, admission.classify("ch", large));
+	}
+
+	@Test
+	void fullClassRejectsWithoutTouchingTheOther() throws Exception {
+		AdmissionControl admission = new AdmissionControl(0, 4, 4, 1000, 1, 0, 0);
+
+		AdmissionControl.Permit heavy = admission.admit(HEAVY);
+		AdmissionRejectedException rejected = assertThrows(AdmissionRejectedException.class,
+				() -> admission.admit(HEAVY));
+		assertEquals("heavy", rejected.getCostClass());
+		assertTrue(rejected.getRetryAfterSeconds() >= 1);
+		assertEquals(1, admission.rejected(HEAVY));
+
+		try (AdmissionControl.Permit light = admission.admit(LIGHT)) {
+			assertEquals(1, admission.running(LIGHT));
+		}
+		heavy.close();
+		heavy.close();
+		assertEquals(0, admission.running(HEAVY));
+		admission.admit(HEAVY).close();
+	}
+
+	@Test
+	void queuedRequestGetsTheSlotWhenItFrees() throws Exception {
+		AdmissionControl admission = new AdmissionControl(0, 1, 1, 5000, 1, 0, 0);
+		AdmissionControl.Permit first = admission.admit(LIGHT);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			CountDownLatch started = new CountDownLatch(1);
+			Future<?> waiter = executor.submit(() -> {
+				started.countDown();
+				admission.admit(LIGHT).close();
+				return null;
+			});
+			started.await();
+			while (admission.queued(LIGHT) == 0) {
+				Thread.onSpinWait();
+			}
+			// The single queue place is taken
+			assertThrows(AdmissionRejectedException.class, () -> admission.admit(LIGHT));
+			first.close();
+			waiter.get(5, TimeUnit.SECONDS);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
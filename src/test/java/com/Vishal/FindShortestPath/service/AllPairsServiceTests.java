@@ -0,0 +1,105 @@
+package com.Vishal.FindShortestPath.service;
+
+import com.Vishal.FindShortestPath.model.AllPairsTable;
+import com.Vishal.FindShortestPath.model.CompiledGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static com.Vishal.FindShortestPath.service.DijkstraServiceTests.assertPath;
+import static com.Vishal.FindShortestPath.service.DijkstraServiceTests.randomGraph;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AllPairsServiceTests {
+
+	private final DijkstraService dijkstra = new DijkstraService();
+	private final AllPairsService allPairs = new AllPairsService(dijkstra);
+
+	@Test
+	void bothMethodsMatchDijkstraForEveryPair() {
+		// 150 nodes: three blocks per side, the last one partial
+		CompiledGraph graph = CompiledGraph.compile(randomGraph(4, 150, 600));
+		AllPairsTable blocked = allPairs.floydWarshall(graph);
+		AllPairsTable repeated = allPairs.repeatedDijkstra(graph);
+
+		for (int s = 0; s < graph.nodeCount(); s += 7) {
+			for (int t = 0; t < graph.nodeCount(); t++) {
+				double expected = dijkstra.findShortestPath(graph, graph.id(s), graph.id(t)).getTotalDistance();
+				for (AllPairsTable table : List.of(blocked, repeated)) {
+					assertPath(graph, expected, allPairs.query(table, graph.id(s), graph.id(t)));
+				}
+			}
+		}
+	}
+
+	@Test
+	void floydWarshallHandlesNegativeArcsAndRejectsNegativeCycles() {
+		Random random = new Random(9);
+		CompiledGraph.Builder builder = new CompiledGraph.Builder();
+		for (int i = 0; i < 80; i++) {
+			builder.addNode("n" + i, 0, 0);
+		}
+		for (int i = 0; i < 400; i++) {
+			int a = random.nextInt(80), b = random.nextInt(80);
+			if (a != b) builder.addArc(Math.min(a, b), Math.max(a, b), random.nextInt(20) - 8);
+		}
+		CompiledGraph graph = builder.build();
+		AllPairsTable table = allPairs.build(graph);
+		assertNotNull(table);
+		assertTrue(table.hasNegativeArcs());
+		for (int t = 0; t < graph.nodeCount(); t++) {
+			double expected = dijkstra.bellmanFord(graph, "n0", graph.id(t)).getTotalDistance();
+			assertPath(graph, expected, allPairs.query(table, "n0", graph.id(t)));
+		}
+
+		CompiledGraph.Builder cyclic = new CompiledGraph.Builder();
+		for (String id : List.of("A", "B", "C")) {
+			cyclic.addNode(id, 0, 0);
+		}
+		cyclic.addArc(0, 1, 1);
+		cyclic.addArc(1, 2, -3);
+		cyclic.addArc(2, 0, 1);
+		assertNull(allPairs.build(cyclic.build()));
+	}
+
+	@Test
+	void onlyTablesWithoutNegativeArcsStandInForDijkstra() throws Exception {
+		CompiledGraph positive = CompiledGraph.compile(randomGraph(5, 60, 200));
+		allPairs.preprocess(positive);
+		AllPairsTable table = awaitTable(positive);
+		assertSame(table, allPairs.readyForDijkstra(positive));
+		String end = positive.id(positive.nodeCount() - 1);
+		assertEquals("Dijkstra", allPairs.query(table, positive.id(0), end, "Dijkstra").getAlgorithm());
+
+		CompiledGraph.Builder builder = new CompiledGraph.Builder();
+		builder.addNode("A", 0, 0);
+		builder.addNode("B", 0, 0);
+		builder.addArc(0, 1, -1);
+		CompiledGraph negative = builder.build();
+		allPairs.preprocess(negative);
+		assertNotNull(awaitTable(negative));
+		assertNull(allPairs.readyForDijkstra(negative));
+	}
+
+	@Test
+	void limitsKeepTablesWithinArraysAndMemory() throws Exception {
+		assertThrows(IllegalStateException.class, () -> new AllPairsService(dijkstra, 50_000, Long.MAX_VALUE));
+		assertEquals(46_340L * 46_340 * 12, AllPairsTable.bytesFor(46_340));
+
+		// 60 nodes need 43200 bytes
+		AllPairsService small = new AllPairsService(dijkstra, 2048, 40_000);
+		CompiledGraph graph = CompiledGraph.compile(randomGraph(5, 60, 200));
+		small.preprocess(graph);
+		Thread.sleep(50);
+		assertNull(small.ready(graph));
+		small.shutdown();
+	}
+
+	private AllPairsTable awaitTable(CompiledGraph graph) throws InterruptedException {
+		for (int i = 0; i < 500 && allPairs.ready(graph) == null; i++) {
+			Thread.sleep(10);
+		}
+		return allPairs.ready(graph);
+	}
+}
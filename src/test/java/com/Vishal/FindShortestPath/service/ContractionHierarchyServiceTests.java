@@ -0,0 +1,57 @@
+package com.Vishal.FindShortestPath.service;
+
+import com.Vishal.FindShortestPath.model.CompiledGraph;
+import com.Vishal.FindShortestPath.model.ContractionHierarchy;
+import com.Vishal.FindShortestPath.model.PathResult;
+import com.Vishal.FindShortestPath.model.QueueType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static com.Vishal.FindShortestPath.service.DijkstraServiceTests.assertPath;
+import static com.Vishal.FindShortestPath.service.DijkstraServiceTests.randomGraph;
+
+class ContractionHierarchyServiceTests {
+
+	private final DijkstraService dijkstra = new DijkstraService();
+	private final ContractionHierarchyService service = new ContractionHierarchyService();
+
+	@Test
+	void matchesDijkstraOnUndirectedGraphs() {
+		for (int seed = 0; seed < 10; seed++) {
+			CompiledGraph graph = CompiledGraph.compile(randomGraph(seed, 80, 200));
+			assertAgrees(graph);
+		}
+	}
+
+	@Test
+	void matchesDijkstraOnDirectedGraphs() {
+		for (int seed = 0; seed < 10; seed++) {
+			Random random = new Random(seed);
+			CompiledGraph.Builder builder = new CompiledGraph.Builder();
+			for (int i = 0; i < 80; i++) {
+				builder.addNode("n" + i, 0, 0);
+			}
+			for (int i = 0; i < 300; i++) {
+				builder.addArc(random.nextInt(80), random.nextInt(80), 1 + random.nextInt(20));
+			}
+			assertAgrees(builder.build());
+		}
+	}
+
+	private void assertAgrees(CompiledGraph graph) {
+		ContractionHierarchy ch = new ContractionHierarchyBuilder(graph).build(contracted -> { });
+		for (int s = 0; s < graph.nodeCount(); s += 9) {
+			for (int t = 0; t < graph.nodeCount(); t += 7) {
+				String start = graph.id(s);
+				String end = graph.id(t);
+				double expected = dijkstra.findShortestPath(graph, start, end).getTotalDistance();
+				PathResult result = service.query(ch, start, end, SearchContext.untraced());
+				assertPath(graph, expected, result);
+				// Pooled heap workspaces are reused between these queries
+				assertPath(graph, expected, service.query(ch, start, end,
+						SearchContext.untraced().withQueue(QueueType.DARY_HEAP)));
+			}
+		}
+	}
+}
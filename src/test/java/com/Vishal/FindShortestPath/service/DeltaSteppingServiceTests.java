@@ -0,0 +1,85 @@
+package com.Vishal.FindShortestPath.service;
+
+import com.Vishal.FindShortestPath.model.CompiledGraph;
+import com.Vishal.FindShortestPath.model.ShortestPathTree;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static com.Vishal.FindShortestPath.service.DijkstraServiceTests.assertPath;
+import static com.Vishal.FindShortestPath.service.DijkstraServiceTests.randomGraph;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeltaSteppingServiceTests {
+
+	private final DijkstraService dijkstra = new DijkstraService();
+	private final DeltaSteppingService auto = new DeltaSteppingService(4, 0);
+	private final DeltaSteppingService narrow = new DeltaSteppingService(4, 5);
+
+	@AfterEach
+	void shutdown() {
+		auto.shutdown();
+		narrow.shutdown();
+	}
+
+	@Test
+	void pointQueriesMatchDijkstra() {
+		for (int seed = 0; seed < 5; seed++) {
+			CompiledGraph graph = CompiledGraph.compile(randomGraph(seed, 100, 250));
+			for (int s = 0; s < graph.nodeCount(); s += 17) {
+				for (int t = 0; t < graph.nodeCount(); t += 11) {
+					String start = graph.id(s), end = graph.id(t);
+					double expected = dijkstra.findShortestPath(graph, start, end).getTotalDistance();
+					assertPath(graph, expected, auto.deltaStepping(graph, start, end, SearchContext.untraced()));
+					assertPath(graph, expected, narrow.deltaStepping(graph, start, end, SearchContext.untraced()));
+				}
+			}
+		}
+	}
+
+	@Test
+	void parallelTreesMatchDijkstraWithZeroWeights() {
+		// Large enough for the parallel path; a quarter of the arcs weigh nothing
+		Random random = new Random(3);
+		CompiledGraph.Builder builder = new CompiledGraph.Builder();
+		int n = 20_000;
+		for (int i = 0; i < n; i++) {
+			builder.addNode("n" + i, 0, 0);
+		}
+		for (int i = 0; i < 100_000; i++) {
+			int a = random.nextInt(n), b = random.nextInt(n);
+			builder.addArc(a, b, random.nextInt(4) == 0 ? 0 : 1 + random.nextInt(100));
+		}
+		CompiledGraph graph = builder.build();
+
+		for (DeltaSteppingService service : new DeltaSteppingService[]{auto, narrow}) {
+			ShortestPathTree expected = dijkstra.shortestPathTree(graph, 0);
+			ShortestPathTree actual = service.shortestPathTree(graph, 0);
+			for (int v = 0; v < n; v++) {
+				assertEquals(expected.distance(v), actual.distance(v), v + "");
+				int parent = actual.parent(v);
+				if (v == 0 || !actual.reached(v)) {
+					assertEquals(-1, parent);
+					continue;
+				}
+				double weight = Double.POSITIVE_INFINITY;
+				for (int e = graph.firstEdge(parent); e < graph.endEdge(parent); e++) {
+					if (graph.target(e) == v) weight = Math.min(weight, graph.weight(e));
+				}
+				assertEquals(actual.distance(v), actual.distance(parent) + weight);
+			}
+		}
+	}
+
+	@Test
+	void rejectsNegativeWeights() {
+		CompiledGraph.Builder builder = new CompiledGraph.Builder();
+		builder.addNode("A", 0, 0);
+		builder.addNode("B", 0, 0);
+		builder.addArc(0, 1, -1);
+		CompiledGraph graph = builder.build();
+		assertThrows(IllegalArgumentException.class,
+				() -> auto.deltaStepping(graph, "A", "B", SearchContext.untraced()));
+	}
+}
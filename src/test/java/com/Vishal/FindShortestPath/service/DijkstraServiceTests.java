@@ -0,0 +1,356 @@
+package com.Vishal.FindShortestPath.service;
+
+import com.Vishal.FindShortestPath.model.AlgorithmStep;
+import com.Vishal.FindShortestPath.model.CompiledGraph;
+import com.Vishal.FindShortestPath.model.Graph;
+import com.Vishal.FindShortestPath.model.LandmarkIndex;
+import com.Vishal.FindShortestPath.model.PathResult;
+import com.Vishal.FindShortestPath.model.QueueType;
+import com.Vishal.FindShortestPath.model.ShortestPathTree;
+import com.Vishal.FindShortestPath.model.TraceLevel;
+import com.Vishal.FindShortestPath.model.TraceState;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DijkstraServiceTests {
+
+	private final DijkstraService service = new DijkstraService();
+
+	@Test
+	void findsShortestPathOnSmallGraph() {
+		CompiledGraph graph = CompiledGraph.compile(smallGraph());
+
+		PathResult result = service.findShortestPath(graph, "A", "I");
+
+		assertEquals(List.of("A", "C", "E", "I"), result.getPath());
+		assertEquals(9.0, result.getTotalDistance());
+	}
+
+	@Test
+	void unknownNodesAreUnreachable() {
+		CompiledGraph graph = CompiledGraph.compile(smallGraph());
+
+		PathResult result = service.findShortestPath(graph, "A", "Z");
+
+		assertTrue(result.getPath().isEmpty());
+		assertEquals(Double.POSITIVE_INFINITY, result.getTotalDistance());
+	}
+
+	@Test
+	void traceLevelsControlWhatIsRecorded() {
+		CompiledGraph graph = CompiledGraph.compile(smallGraph());
+
+		PathResult none = service.findShortestPath(graph, "A", "I");
+		assertTrue(none.getSteps().isEmpty());
+		assertNull(none.getStats());
+
+		PathResult summary = service.findShortestPath(graph, "A", "I", SearchContext.of(TraceLevel.SUMMARY));
+		assertTrue(summary.getSteps().isEmpty());
+		assertTrue(summary.getStats().getNodesSettled() > 0);
+
+		PathResult delta = service.findShortestPath(graph, "A", "I", SearchContext.of(TraceLevel.DELTA));
+		TraceState state = TraceState.replay(delta.getSteps(), delta.getSteps().size());
+		assertEquals(9.0, state.getDistances().get("I"));
+		assertTrue(state.getVisited().contains("I"));
+		assertEquals(delta.getStats().getNodesSettled(), state.getVisited().size());
+
+		List<AlgorithmStep> streamed = new ArrayList<>();
+		PathResult streaming = service.findShortestPath(graph, "A", "I", SearchContext.streaming(streamed::add));
+		assertTrue(streaming.getSteps().isEmpty());
+		assertEquals(delta.getSteps().size(), streamed.size());
+		TraceState replayed = TraceState.replay(streamed, streamed.size());
+		assertEquals(state.getDistances(), replayed.getDistances());
+		assertEquals(state.getVisited(), replayed.getVisited());
+	}
+
+	@Test
+	void bidirectionalTracesReplayEachSideOnTheGraph() {
+		// Directed, so an arc reported the wrong way round does not exist
+		Random random = new Random(11);
+		CompiledGraph.Builder builder = new CompiledGraph.Builder();
+		double[][] points = new double[300][2];
+		for (int i = 0; i < points.length; i++) {
+			points[i][0] = random.nextDouble() * 1000;
+			points[i][1] = random.nextDouble() * 1000;
+			builder.addNode("n" + i, points[i][0], points[i][1]);
+		}
+		for (int i = 0; i < 1500; i++) {
+			int a = random.nextInt(points.length);
+			int b = random.nextInt(points.length);
+			if (a == b) continue;
+			double length = Math.hypot(points[a][0] - points[b][0], points[a][1] - points[b][1]);
+			builder.addArc(a, b, length * (1 + random.nextDouble()));
+		}
+		CompiledGraph graph = builder.build();
+		int source = graph.indexOf("n0");
+		int target = graph.indexOf("n299");
+		ShortestPathTree fromSource = service.shortestPathTree(graph, source);
+		ShortestPathTree toTarget = service.shortestPathTree(graph.reverse(), target);
+		assertTrue(fromSource.reached(target));
+
+		for (PathResult result : List.of(
+				service.bidirectionalDijkstra(graph, "n0", "n299", SearchContext.of(TraceLevel.DELTA)),
+				service.bidirectionalAStar(graph, "n0", "n299", SearchContext.of(TraceLevel.DELTA)))) {
+			assertEquals(fromSource.distance(target), result.getTotalDistance(), 1e-9);
+			List<AlgorithmStep> steps = result.getSteps();
+			assertTrue(steps.stream().anyMatch(AlgorithmStep::isBackward));
+			for (AlgorithmStep step : steps) {
+				if (step.getAction().equals("relax")) {
+					assertTrue(hasArc(graph, graph.indexOf(step.getCurrentNode()), graph.indexOf(step.getTargetNode())),
+							step.getCurrentNode() + " -> " + step.getTargetNode());
+				}
+			}
+
+			// Settled labels are exact: from the source going forward, to the target going backward
+			TraceState state = TraceState.replay(steps, steps.size());
+			assertFalse(state.getBackwardVisited().isEmpty());
+			for (String id : state.getVisited()) {
+				assertEquals(fromSource.distance(graph.indexOf(id)), state.getDistances().get(id), 1e-9);
+			}
+			for (String id : state.getBackwardVisited()) {
+				assertEquals(toTarget.distance(graph.indexOf(id)), state.getBackwardDistances().get(id), 1e-9);
+			}
+			assertEquals(0.0, state.getBackwardDistances().get("n299"));
+			assertEquals(result.getStats().getNodesSettled(),
+					state.getVisited().size() + state.getBackwardVisited().size());
+		}
+	}
+
+	@Test
+	void expiredDeadlineStopsSearchesWithTheirBestPathSoFar() {
+		CompiledGraph graph = CompiledGraph.compile(randomGraph(3, 3000, 9000));
+		String end = graph.id(graph.nodeCount() - 1);
+		double shortest = service.findShortestPath(graph, "n0", end).getTotalDistance();
+
+		SearchTimeoutException dijkstra = assertThrows(SearchTimeoutException.class, () ->
+				service.findShortestPath(graph, "n0", end, SearchContext.untraced().withTimeout(Duration.ofNanos(1))));
+		SearchTimeoutException bellmanFord = assertThrows(SearchTimeoutException.class, () ->
+				service.bellmanFord(graph, "n0", end, SearchContext.untraced().withTimeout(Duration.ofNanos(1))));
+		assertThrows(SearchTimeoutException.class, () ->
+				service.parallelBellmanFord(graph, "n0", end, SearchContext.untraced().withTimeout(Duration.ofNanos(1))));
+		assertThrows(SearchTimeoutException.class, () ->
+				service.shortestPathTree(graph, 0, SearchContext.untraced().withTimeout(Duration.ofNanos(1))));
+
+		for (SearchTimeoutException e : List.of(dijkstra, bellmanFord)) {
+			PathResult partial = e.getPartial();
+			if (partial == null) continue;
+			List<String> path = partial.getPath();
+			assertEquals("n0", path.get(0));
+			assertEquals(end, path.get(path.size() - 1));
+			assertTrue(partial.getTotalDistance() >= shortest - 1e-9);
+		}
+
+		// A generous deadline changes nothing
+		assertEquals(shortest, service.findShortestPath(graph, "n0", end,
+				SearchContext.untraced().withTimeout(Duration.ofMinutes(1))).getTotalDistance());
+
+		// Whole trees count their work like any other search
+		SearchContext counted = SearchContext.untraced();
+		ShortestPathTree tree = service.shortestPathTree(graph, graph.indexOf("n0"), counted);
+		assertEquals(shortest, tree.distance(graph.indexOf(end)), 1e-9);
+		assertTrue(counted.getNodesSettled() > 0 && counted.getEdgesRelaxed() > 0);
+	}
+
+	@Test
+	void algorithmsAgreeOnRandomGraphs() {
+		for (int seed = 0; seed < 20; seed++) {
+			CompiledGraph graph = CompiledGraph.compile(randomGraph(seed, 60, 150));
+			for (int t = 1; t < 60; t += 7) {
+				String end = "n" + t;
+				double expected = service.findShortestPath(graph, "n0", end).getTotalDistance();
+				assertEquals(expected, service.bellmanFord(graph, "n0", end).getTotalDistance(), 1e-9);
+				assertPath(graph, expected, service.spfa(graph, "n0", end));
+				assertPath(graph, expected, service.parallelBellmanFord(graph, "n0", end));
+				assertEquals(expected, service.findShortestPath(graph, "n0", end,
+						SearchContext.untraced().withQueue(QueueType.DARY_HEAP)).getTotalDistance(), 1e-9);
+				assertEquals(expected, service.aStar(graph, "n0", end).getTotalDistance(), 1e-9);
+				assertPath(graph, expected, service.bidirectionalDijkstra(graph, "n0", end, SearchContext.untraced()));
+				assertPath(graph, expected, service.bidirectionalAStar(graph, "n0", end,
+						SearchContext.untraced().withQueue(QueueType.DARY_HEAP)));
+			}
+		}
+	}
+
+	@Test
+	void offHeapGraphAnswersLikeTheHeapGraph() {
+		CompiledGraph graph = CompiledGraph.compile(randomGraph(5, 500, 1500));
+		CompiledGraph offHeap = graph.offHeap();
+		assertEquals(graph.nodeCount(), offHeap.nodeCount());
+		assertEquals(graph.edgeCount(), offHeap.edgeCount());
+		for (int t = 1; t < 500; t += 13) {
+			String end = "n" + t;
+			PathResult expected = service.findShortestPath(graph, "n0", end);
+			assertEquals(expected.getPath(), service.findShortestPath(offHeap, "n0", end).getPath());
+			assertPath(offHeap, expected.getTotalDistance(), service.aStar(offHeap, "n0", end));
+			assertPath(offHeap, expected.getTotalDistance(),
+					service.bidirectionalDijkstra(offHeap, "n0", end, SearchContext.untraced()));
+		}
+	}
+
+	@Test
+	void altMatchesDijkstraWithBothLandmarkStrategies() {
+		LandmarkService landmarkService = new LandmarkService(service);
+		for (String strategy : List.of("farthest", "avoid")) {
+			for (int seed = 0; seed < 5; seed++) {
+				CompiledGraph graph = CompiledGraph.compile(randomGraph(seed, 80, 200));
+				LandmarkIndex landmarks = landmarkService.build(graph, 4, strategy);
+				for (int t = 1; t < 80; t += 5) {
+					String end = "n" + t;
+					double expected = service.findShortestPath(graph, "n0", end).getTotalDistance();
+					assertPath(graph, expected, service.alt(landmarks, "n0", end, SearchContext.untraced()));
+				}
+			}
+		}
+	}
+
+	@Test
+	void budgetSearchSettlesExactlyTheNodesInside() {
+		CompiledGraph graph = CompiledGraph.compile(randomGraph(4, 300, 900));
+		int source = graph.indexOf("n0");
+		ShortestPathTree tree = service.shortestPathTree(graph, source);
+		double budget = 600;
+
+		List<Integer> nodes = new ArrayList<>();
+		double[] last = {0};
+		SearchContext ctx = SearchContext.untraced();
+		int count = service.withinBudget(graph, source, budget, ctx, (node, distance, parent) -> {
+			assertTrue(distance >= last[0]);
+			last[0] = distance;
+			assertEquals(tree.distance(node), distance, 1e-9);
+			if (parent >= 0) assertTrue(tree.distance(parent) < distance + 1e-9);
+			nodes.add(node);
+		});
+
+		long inside = IntStream.range(0, graph.nodeCount()).filter(v -> tree.distance(v) <= budget).count();
+		assertEquals(inside, count);
+		assertEquals(inside, nodes.size());
+		assertEquals(inside, ctx.getNodesSettled());
+		assertTrue(inside < graph.nodeCount());
+	}
+
+	@Test
+	void labelCorrectingVariantsHandleNegativeWeights() {
+		for (int seed = 0; seed < 10; seed++) {
+			// Directed DAG (arcs only go to higher indices), so negative weights form no cycle
+			Random random = new Random(seed);
+			CompiledGraph.Builder builder = new CompiledGraph.Builder();
+			for (int i = 0; i < 50; i++) {
+				builder.addNode("n" + i, 0, 0);
+			}
+			for (int i = 0; i < 200; i++) {
+				int a = random.nextInt(50), b = random.nextInt(50);
+				if (a != b) builder.addArc(Math.min(a, b), Math.max(a, b), random.nextInt(20) - 8);
+			}
+			CompiledGraph graph = builder.build();
+			for (int t = 1; t < 50; t += 4) {
+				String end = "n" + t;
+				PathResult expected = service.bellmanFord(graph, "n0", end);
+				assertNull(expected.getNegativeCycle());
+				assertPath(graph, expected.getTotalDistance(), service.spfa(graph, "n0", end));
+				assertPath(graph, expected.getTotalDistance(), service.parallelBellmanFord(graph, "n0", end));
+			}
+		}
+	}
+
+	@Test
+	void negativeCyclesAreReported() {
+		CompiledGraph.Builder builder = new CompiledGraph.Builder();
+		for (String id : List.of("S", "A", "B", "C", "T")) {
+			builder.addNode(id, 0, 0);
+		}
+		builder.addArc(0, 1, 1);
+		builder.addArc(1, 2, 2);
+		builder.addArc(2, 3, -4);
+		builder.addArc(3, 1, 1);
+		builder.addArc(3, 4, 1);
+		CompiledGraph graph = builder.build();
+
+		for (PathResult result : List.of(service.bellmanFord(graph, "S", "T"), service.spfa(graph, "S", "T"),
+				service.parallelBellmanFord(graph, "S", "T"))) {
+			List<String> cycle = result.getNegativeCycle();
+			assertNotNull(cycle, result.getAlgorithm());
+			assertEquals(Double.NEGATIVE_INFINITY, result.getTotalDistance());
+			assertEquals(cycle.get(0), cycle.get(cycle.size() - 1));
+			assertEquals(4, cycle.size());
+			assertTrue(cycle.containsAll(List.of("A", "B", "C")));
+		}
+	}
+
+	// The reported distance matches and the path really has that length
+	private static boolean hasArc(CompiledGraph graph, int from, int to) {
+		for (int e = graph.firstEdge(from); e < graph.endEdge(from); e++) {
+			if (graph.target(e) == to) return true;
+		}
+		return false;
+	}
+
+	static void assertPath(CompiledGraph graph, double expected, PathResult result) {
+		assertEquals(expected, result.getTotalDistance(), 1e-9);
+		if (expected == Double.POSITIVE_INFINITY) return;
+		double length = 0;
+		List<String> path = result.getPath();
+		for (int i = 0; i + 1 < path.size(); i++) {
+			int from = graph.indexOf(path.get(i));
+			int to = graph.indexOf(path.get(i + 1));
+			double weight = Double.POSITIVE_INFINITY;
+			for (int e = graph.firstEdge(from); e < graph.endEdge(from); e++) {
+				if (graph.target(e) == to) weight = Math.min(weight, graph.weight(e));
+			}
+			length += weight;
+		}
+		assertEquals(expected, length, 1e-9);
+	}
+
+	static Graph smallGraph() {
+		Graph graph = new Graph();
+		graph.addNode("A", 100, 100);
+		graph.addNode("B", 300, 100);
+		graph.addNode("C", 500, 100);
+		graph.addNode("D", 100, 250);
+		graph.addNode("E", 300, 250);
+		graph.addNode("F", 500, 250);
+		graph.addNode("G", 100, 400);
+		graph.addNode("H", 300, 400);
+		graph.addNode("I", 500, 400);
+		graph.addEdge("A", "B", 4);
+		graph.addEdge("A", "C", 2);
+		graph.addEdge("B", "C", 5);
+		graph.addEdge("B", "F", 7);
+		graph.addEdge("C", "D", 3);
+		graph.addEdge("C", "E", 3);
+		graph.addEdge("D", "G", 2);
+		graph.addEdge("E", "H", 4);
+		graph.addEdge("E", "I", 4);
+		graph.addEdge("F", "I", 2);
+		graph.addEdge("G", "H", 1);
+		graph.addEdge("H", "I", 3);
+		return graph;
+	}
+
+	// Nodes on a 1000x1000 plane, weights never shorter than the straight line
+	static Graph randomGraph(long seed, int nodes, int edges) {
+		Random random = new Random(seed);
+		Graph graph = new Graph();
+		double[][] points = new double[nodes][2];
+		for (int i = 0; i < nodes; i++) {
+			points[i][0] = random.nextDouble() * 1000;
+			points[i][1] = random.nextDouble() * 1000;
+			graph.addNode("n" + i, points[i][0], points[i][1]);
+		}
+		for (int i = 0; i < edges; i++) {
+			int a = random.nextInt(nodes);
+			int b = random.nextInt(nodes);
+			if (a == b) continue;
+			double length = Math.hypot(points[a][0] - points[b][0], points[a][1] - points[b][1]);
+			graph.addEdge("n" + a, "n" + b, length * (1 + random.nextDouble()));
+		}
+		return graph;
+	}
+}
@@ -0,0 +1,144 @@
+package com.Vishal.FindShortestPath.service;
+
+import com.Vishal.FindShortestPath.model.CompiledGraph;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static com.Vishal.FindShortestPath.service.DijkstraServiceTests.randomGraph;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphLoaderTests {
+
+	private final GraphLoader loader = new GraphLoader();
+	private final DijkstraService dijkstra = new DijkstraService();
+
+	@Test
+	void streamsJsonInAnyFieldOrder() throws IOException {
+		String json = """
+				{"edges": [{"from": "A", "to": "B", "weight": 2.5}, {"weight": 1, "to": "C", "from": "B"}],
+				 "meta": {"ignored": [1, 2]},
+				 "nodes": [{"id": "A", "x": 0, "y": 0}, {"id": "B", "x": 1, "y": 0}, {"id": "C", "x": 2, "y": 0}]}
+				""";
+		GraphLoader.Load load = loader.load(stream(json), "json", false);
+		CompiledGraph graph = load.graph();
+
+		assertEquals(3, graph.nodeCount());
+		assertEquals(4, graph.edgeCount());
+		assertEquals(1.0, graph.x(graph.indexOf("B")));
+		assertEquals(3.5, dijkstra.findShortestPath(graph, "C", "A").getTotalDistance());
+		assertEquals(json.getBytes(StandardCharsets.UTF_8).length, load.bytes());
+	}
+
+	@Test
+	void readsDelimitedEdgeLists() throws IOException {
+		CompiledGraph csv = loader.load(stream("from,to,weight\n# comment\nA,B,1\n\nB,C,2\n"), "csv", true).graph();
+		assertEquals(2, csv.edgeCount());
+		assertEquals(3.0, dijkstra.findShortestPath(csv, "A", "C").getTotalDistance());
+		assertEquals(Double.POSITIVE_INFINITY, dijkstra.findShortestPath(csv, "C", "A").getTotalDistance());
+
+		CompiledGraph tsv = loader.load(stream("A\tB\t4\n"), "tsv", false).graph();
+		assertEquals(2, tsv.edgeCount());
+
+		// Leading comments come before the header
+		CompiledGraph commented = loader.load(stream("# exported\n\n# by hand\nfrom,to,weight\nA,B,1\n"), "csv", true).graph();
+		assertEquals(1, commented.edgeCount());
+
+		assertThrows(IllegalArgumentException.class, () -> loader.load(stream("A,B,1\nB,C,x\n"), "csv", false));
+		assertThrows(IllegalArgumentException.class, () -> loader.load(stream("# c\nA,B,1\nfrom,to,weight\n"), "csv", false));
+	}
+
+	@Test
+	void binaryRoundTripKeepsDistances() throws IOException {
+		CompiledGraph original = CompiledGraph.compile(randomGraph(3, 100, 250));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		loader.writeBinary(original, out);
+
+		CompiledGraph copy = loader.load(new ByteArrayInputStream(out.toByteArray()), "binary", false).graph();
+		assertEquals(original.nodeCount(), copy.nodeCount());
+		assertEquals(original.edgeCount(), copy.edgeCount());
+		for (int t = 1; t < 100; t += 9) {
+			assertEquals(dijkstra.findShortestPath(original, "n0", "n" + t).getTotalDistance(),
+					dijkstra.findShortestPath(copy, "n0", "n" + t).getTotalDistance(), 1e-9);
+		}
+
+		byte[] truncated = Arrays.copyOf(out.toByteArray(), out.size() / 2);
+		assertThrows(IllegalArgumentException.class,
+				() -> loader.load(new ByteArrayInputStream(truncated), "binary", false));
+	}
+
+	@Test
+	void offHeapLoadsGraphsLargerThanTheHeap() throws Exception {
+		// 4M arcs need 64 MB of builder arrays alone on the heap; the child gets 48 MB
+		String offHeap = runInSmallHeap("off-heap", 4_000_000);
+		assertTrue(offHeap.contains("4000000 arcs, off-heap true"), offHeap);
+
+		String heap = runInSmallHeap("heap", 4_000_000);
+		assertTrue(heap.contains("OutOfMemoryError"), heap);
+	}
+
+	private static String runInSmallHeap(String storage, long arcs) throws Exception {
+		Process process = new ProcessBuilder(
+				Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+				"-Xmx48m", "-XX:MaxDirectMemorySize=512m",
+				"-cp", System.getProperty("java.class.path"),
+				LoadInSmallHeap.class.getName(), storage, Long.toString(arcs))
+				.redirectErrorStream(true)
+				.start();
+		String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+		process.waitFor();
+		return output;
+	}
+
+	/** Streams a generated binary edge list into {@link GraphLoader#readBinary} and searches the result. */
+	public static final class LoadInSmallHeap {
+		public static void main(String[] args) throws Exception {
+			int nodes = 1000;
+			long arcs = Long.parseLong(args[1]);
+			PipedInputStream in = new PipedInputStream(1 << 16);
+			PipedOutputStream pipe = new PipedOutputStream(in);
+			Thread writer = new Thread(() -> {
+				try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(pipe, 1 << 16))) {
+					out.writeInt(GraphLoader.BINARY_MAGIC);
+					out.writeInt(GraphLoader.BINARY_VERSION);
+					out.writeInt(1); // directed
+					out.writeInt(nodes);
+					out.writeLong(arcs);
+					for (int v = 0; v < nodes; v++) {
+						out.writeUTF("n" + v);
+						out.writeDouble(v);
+						out.writeDouble(0);
+					}
+					Random random = new Random(1);
+					for (long e = 0; e < arcs; e++) {
+						out.writeInt((int) (e % nodes));
+						out.writeInt(random.nextInt(nodes));
+						out.writeDouble(1 + random.nextInt(10));
+					}
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+			writer.start();
+			CompiledGraph graph = new GraphLoader(args[0]).readBinary(in);
+			double distance = new DijkstraService().findShortestPath(graph, "n0", "n" + (nodes - 1)).getTotalDistance();
+			System.out.println(graph.edgeCount() + " arcs, off-heap " + graph.isOffHeap() + ", distance " + distance);
+		}
+	}
+
+	private static InputStream stream(String text) {
+		return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+	}
+}
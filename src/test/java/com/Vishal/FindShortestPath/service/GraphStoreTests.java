@@ -0,0 +1,76 @@
+package com.Vishal.FindShortestPath.service;
+
+import com.Vishal.FindShortestPath.model.CompiledGraph;
+import com.Vishal.FindShortestPath.model.GraphSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static com.Vishal.FindShortestPath.service.DijkstraServiceTests.smallGraph;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphStoreTests {
+
+	@Test
+	void newestVersionWinsConcurrentPublishes() throws Exception {
+		GraphStore store = new GraphStore();
+		CompiledGraph graph = CompiledGraph.compile(smallGraph());
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<GraphSnapshot>> published = new ArrayList<>();
+			for (int i = 0; i < 200; i++) {
+				published.add(pool.submit(() -> store.publish(graph)));
+			}
+			long newest = 0;
+			for (Future<GraphSnapshot> future : published) {
+				newest = Math.max(newest, future.get().version());
+			}
+			assertEquals(200, newest);
+			assertEquals(newest, store.current().version());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	// Versions run 1..n with no gaps only if no published graph was replaced unseen
+	@Test
+	void uploadsAndUpdatesNeverOverwriteEachOther() throws Exception {
+		GraphStore store = new GraphStore();
+		CompiledGraph graph = CompiledGraph.compile(smallGraph());
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<GraphSnapshot>> published = new ArrayList<>();
+			for (int i = 0; i < 400; i++) {
+				boolean upload = i % 2 == 0;
+				published.add(pool.submit(() -> {
+					if (upload) return store.publish(graph);
+					GraphSnapshot snapshot;
+					do {
+						snapshot = store.publishIfCurrent(store.current(), graph);
+					} while (snapshot == null);
+					return snapshot;
+				}));
+			}
+			boolean[] seen = new boolean[401];
+			for (Future<GraphSnapshot> future : published) {
+				int version = (int) future.get().version();
+				assertFalse(seen[version], "version " + version + " published twice");
+				seen[version] = true;
+			}
+			assertEquals(400, store.current().version());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	void snapshotSerializesCompiledGraph() {
+		GraphSnapshot snapshot = new GraphStore().publish(CompiledGraph.compile(smallGraph()));
+
+		assertEquals(9, snapshot.nodes().size());
+		assertEquals(300, snapshot.nodes().get("B").getX());
+		assertEquals(24, snapshot.adjacencyList().values().stream().mapToInt(List::size).sum());
+	}
+}
@@ -0,0 +1,146 @@
+package com.Vishal.FindShortestPath.service;
+
+import com.Vishal.FindShortestPath.model.CompiledGraph;
+import com.Vishal.FindShortestPath.model.Edge;
+import com.Vishal.FindShortestPath.model.Graph;
+import com.Vishal.FindShortestPath.model.PathResult;
+import com.Vishal.FindShortestPath.model.LandmarkIndex;
+import com.Vishal.FindShortestPath.model.ShortestPathTree;
+import com.Vishal.FindShortestPath.service.GraphUpdater.EdgeUpdate;
+import com.Vishal.FindShortestPath.service.GraphUpdater.Op;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.Vishal.FindShortestPath.service.DijkstraServiceTests.assertPath;
+import static com.Vishal.FindShortestPath.service.DijkstraServiceTests.randomGraph;
+import static com.Vishal.FindShortestPath.service.DijkstraServiceTests.smallGraph;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphUpdaterTests {
+
+	private final GraphUpdater updater = new GraphUpdater();
+	private final DijkstraService dijkstra = new DijkstraService();
+
+	@Test
+	void weightChangesShareStructureAndMatchARebuild() {
+		CompiledGraph graph = CompiledGraph.compile(smallGraph());
+		GraphUpdater.Update update = updater.apply(graph, List.of(
+				new EdgeUpdate(Op.SET, "A", "C", 9, false),
+				new EdgeUpdate(Op.SET, "G", "H", 5, true)));
+
+		assertFalse(update.structural());
+		assertTrue(update.nonDecreasing());
+		assertTrue(update.lengthened(graph.indexOf("C"), graph.indexOf("A")));
+		assertFalse(update.lengthened(graph.indexOf("H"), graph.indexOf("G")));
+
+		Graph expected = smallGraph();
+		expected.getAdjacencyList().get("A").removeIf(e -> e.getTo().equals("C"));
+		expected.getAdjacencyList().get("C").removeIf(e -> e.getTo().equals("A"));
+		expected.getAdjacencyList().get("G").removeIf(e -> e.getTo().equals("H"));
+		expected.addEdge("A", "C", 9);
+		expected.getAdjacencyList().get("G").add(new Edge("G", "H", 5));
+		assertSameDistances(CompiledGraph.compile(expected), update.graph());
+
+		// The original is untouched
+		assertEquals(2.0, dijkstra.findShortestPath(graph, "A", "C").getTotalDistance());
+	}
+
+	@Test
+	void addsAndRemovesArcsAtomically() {
+		CompiledGraph graph = CompiledGraph.compile(smallGraph());
+		GraphUpdater.Update update = updater.apply(graph, List.of(
+				new EdgeUpdate(Op.REMOVE, "A", "C", Double.NaN, false),
+				new EdgeUpdate(Op.ADD, "A", "Z", 1, false),
+				new EdgeUpdate(Op.ADD, "Z", "I", 1, true)));
+
+		assertTrue(update.structural());
+		assertFalse(update.nonDecreasing());
+		assertEquals(graph.nodeCount() + 1, update.graph().nodeCount());
+		assertEquals(graph.edgeCount() - 2 + 3, update.graph().edgeCount());
+		assertEquals(2.0, dijkstra.findShortestPath(update.graph(), "A", "I").getTotalDistance());
+		int z = update.graph().indexOf("Z");
+		assertEquals(2, update.graph().endEdge(z) - update.graph().firstEdge(z));
+		assertEquals(1, update.graph().reverse().endEdge(z) - update.graph().reverse().firstEdge(z));
+		assertEquals(graph.id(4), update.graph().id(4));
+
+		// A bad entry rejects the whole batch
+		assertThrows(IllegalArgumentException.class, () -> updater.apply(graph, List.of(
+				new EdgeUpdate(Op.SET, "A", "B", 1, false),
+				new EdgeUpdate(Op.SET, "A", "I", 1, false))));
+		assertThrows(IllegalArgumentException.class, () -> updater.apply(graph, List.of(
+				new EdgeUpdate(Op.SET, "A", "Q", 1, false))));
+	}
+
+	@Test
+	void offHeapGraphsStayOffHeap() {
+		CompiledGraph heap = CompiledGraph.compile(smallGraph());
+		CompiledGraph graph = heap.offHeap();
+		List<EdgeUpdate> weights = List.of(new EdgeUpdate(Op.SET, "A", "C", 9, false));
+		List<EdgeUpdate> arcs = List.of(new EdgeUpdate(Op.ADD, "A", "Z", 1, false));
+
+		CompiledGraph reweighted = updater.apply(graph, weights).graph();
+		CompiledGraph relaid = updater.apply(graph, arcs).graph();
+		assertTrue(reweighted.isOffHeap());
+		assertTrue(reweighted.reverse().isOffHeap());
+		assertTrue(relaid.isOffHeap());
+		assertTrue(relaid.reverse().isOffHeap());
+		assertSameDistances(updater.apply(heap, weights).graph(), reweighted);
+		assertSameDistances(updater.apply(heap, arcs).graph(), relaid);
+		assertFalse(updater.apply(heap, weights).graph().isOffHeap());
+	}
+
+	@Test
+	void keptAnswersStayCorrectAfterIncreases() {
+		CompiledGraph graph = CompiledGraph.compile(randomGraph(11, 120, 320));
+		LandmarkIndex landmarks = new LandmarkService(dijkstra).build(graph, 4, "farthest");
+		ShortestPathTree tree = dijkstra.shortestPathTree(graph, 0);
+		String source = graph.id(0);
+
+		// Lengthen arcs off the source's tree only, so the tree and many paths stay valid
+		List<EdgeUpdate> updates = new ArrayList<>();
+		for (int v = 0; v < graph.nodeCount(); v += 3) {
+			for (int e = graph.firstEdge(v); e < graph.endEdge(v); e++) {
+				int w = graph.target(e);
+				if (tree.parent(w) != v && tree.parent(v) != w) {
+					updates.add(new EdgeUpdate(Op.SET, graph.id(v), graph.id(w), graph.weight(e) * 3, false));
+				}
+			}
+		}
+		GraphUpdater.Update update = updater.apply(graph, updates);
+		assertTrue(update.nonDecreasing());
+		assertTrue(update.keeps(tree));
+		CompiledGraph next = update.graph();
+		LandmarkIndex rebound = landmarks.withGraph(next);
+
+		ShortestPathTree fresh = dijkstra.shortestPathTree(next, 0);
+		int kept = 0;
+		for (int t = 1; t < graph.nodeCount(); t++) {
+			String end = graph.id(t);
+			double expected = dijkstra.findShortestPath(next, source, end).getTotalDistance();
+			assertEquals(fresh.reached(t) ? fresh.distance(t) : Double.POSITIVE_INFINITY, expected, 1e-9);
+			assertEquals(tree.distance(t), fresh.distance(t), 1e-9);
+			assertPath(next, expected, dijkstra.alt(rebound, source, end, SearchContext.untraced()));
+
+			PathResult old = dijkstra.findShortestPath(graph, end, source);
+			if (update.keeps(old)) {
+				kept++;
+				assertEquals(dijkstra.findShortestPath(next, end, source).getTotalDistance(), old.getTotalDistance(), 1e-9);
+			}
+		}
+		assertTrue(kept > 0);
+	}
+
+	private void assertSameDistances(CompiledGraph expected, CompiledGraph actual) {
+		for (int s = 0; s < expected.nodeCount(); s++) {
+			for (int t = 0; t < expected.nodeCount(); t++) {
+				String start = expected.id(s), end = expected.id(t);
+				assertEquals(dijkstra.findShortestPath(expected, start, end).getTotalDistance(),
+						dijkstra.findShortestPath(actual, start, end).getTotalDistance(), 1e-9, start + " -> " + end);
+				assertEquals(dijkstra.findShortestPath(expected.reverse(), start, end).getTotalDistance(),
+						dijkstra.findShortestPath(actual.reverse(), start, end).getTotalDistance(), 1e-9);
+			}
+		}
+	}
+}
@@ -0,0 +1,148 @@
+package com.Vishal.FindShortestPath.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexedDaryHeapTests {
+
+	private static final int[] ARITIES = {2, 3, 4, 8};
+
+	@Test
+	void offerOnAQueuedNodeOnlyLowersItsKey() {
+		for (int arity : ARITIES) {
+			IndexedDaryHeap heap = new IndexedDaryHeap(16, arity);
+			for (int node = 0; node < 10; node++) {
+				assertTrue(heap.offer(node, 10 + node));
+			}
+
+			// Decrease-key moves the deepest node to the root without a second entry
+			assertFalse(heap.offer(9, 1.0));
+			assertEquals(10, heap.size());
+			assertEquals(1.0, heap.key(9));
+			assertEquals(1.0, heap.peekKey());
+
+			// A larger key is ignored
+			assertFalse(heap.offer(3, 50.0));
+			assertEquals(13.0, heap.key(3));
+
+			assertEquals(9, heap.poll());
+			assertFalse(heap.contains(9));
+			for (int node = 0; node < 9; node++) {
+				assertEquals(10.0 + node, heap.peekKey());
+				assertEquals(node, heap.poll());
+			}
+			assertTrue(heap.isEmpty());
+		}
+	}
+
+	@Test
+	void pollRestoresOrderFromTheLastEntry() {
+		for (int arity : ARITIES) {
+			IndexedDaryHeap heap = new IndexedDaryHeap(100, arity);
+			// Descending inserts leave the largest keys at the end, so each poll sifts a large key down
+			for (int node = 0; node < 100; node++) {
+				heap.offer(node, 100 - node);
+			}
+			for (int expected = 99; expected >= 0; expected--) {
+				assertEquals(100.0 - expected, heap.peekKey());
+				assertEquals(expected, heap.poll());
+				assertEquals(expected, heap.size());
+			}
+		}
+	}
+
+	@Test
+	void updateMovesKeysEitherWay() {
+		for (int arity : ARITIES) {
+			IndexedDaryHeap heap = new IndexedDaryHeap(8, arity);
+			for (int node = 0; node < 8; node++) {
+				heap.offer(node, node);
+			}
+			heap.update(0, 20.0);
+			heap.update(7, -1.0);
+			heap.update(4, 4.5);
+
+			int[] expected = {7, 1, 2, 3, 4, 5, 6, 0};
+			for (int node : expected) {
+				assertEquals(node, heap.poll());
+			}
+			heap.update(2, 3.0);
+			assertTrue(heap.contains(2));
+			assertEquals(3.0, heap.key(2));
+		}
+	}
+
+	@Test
+	void clearedHeapCanBeReused() {
+		for (int arity : ARITIES) {
+			IndexedDaryHeap heap = new IndexedDaryHeap(32, arity);
+			for (int node = 0; node < 20; node++) {
+				heap.offer(node, node * 3 % 7);
+			}
+			heap.clear();
+			assertTrue(heap.isEmpty());
+			for (int node = 0; node < 32; node++) {
+				assertFalse(heap.contains(node));
+			}
+
+			// No stale positions: every node is a fresh entry again
+			for (int node = 31; node >= 0; node--) {
+				assertTrue(heap.offer(node, node));
+			}
+			for (int node = 0; node < 32; node++) {
+				assertEquals(node, heap.poll());
+			}
+		}
+	}
+
+	@Test
+	void matchesPriorityQueueOnRandomOperations() {
+		for (int arity : ARITIES) {
+			Random random = new Random(arity);
+			int capacity = 200;
+			IndexedDaryHeap heap = new IndexedDaryHeap(capacity, arity);
+
+			// Reference: a PriorityQueue with lazy deletion of entries that were improved on
+			PriorityQueue<double[]> reference = new PriorityQueue<>(Comparator.comparingDouble(entry -> entry[0]));
+			double[] best = new double[capacity];
+			boolean[] queued = new boolean[capacity];
+			int size = 0;
+
+			for (int op = 0; op < 20_000; op++) {
+				if (size > 0 && random.nextInt(3) == 0) {
+					while (!queued[(int) reference.peek()[1]] || reference.peek()[0] != best[(int) reference.peek()[1]]) {
+						reference.poll();
+					}
+					// Left in place: whichever tied node the heap returns, its entry turns stale below
+					double expected = reference.peek()[0];
+					assertEquals(expected, heap.peekKey());
+					int node = heap.poll();
+					// Ties may come out in either order, but always with the smallest key
+					assertTrue(queued[node]);
+					assertEquals(expected, best[node]);
+					queued[node] = false;
+					size--;
+				} else {
+					int node = random.nextInt(capacity);
+					double key = random.nextInt(1000);
+					boolean added = heap.offer(node, key);
+					assertEquals(!queued[node], added);
+					if (!queued[node]) {
+						queued[node] = true;
+						size++;
+					}
+					if (added || key < best[node]) {
+						best[node] = key;
+						reference.add(new double[]{key, node});
+					}
+				}
+				assertEquals(size, heap.size());
+			}
+		}
+	}
+}
@@ -0,0 +1,71 @@
+package com.Vishal.FindShortestPath.service;
+
+import com.Vishal.FindShortestPath.model.CompiledGraph;
+import com.Vishal.FindShortestPath.model.PathResult;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.Vishal.FindShortestPath.service.DijkstraServiceTests.randomGraph;
+import static com.Vishal.FindShortestPath.service.DijkstraServiceTests.smallGraph;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatrixServiceTests {
+
+	private final DijkstraService dijkstra = new DijkstraService();
+	private final MatrixService service = new MatrixService(dijkstra);
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void matchesPointToPointQueries() {
+		CompiledGraph graph = CompiledGraph.compile(randomGraph(7, 300, 700));
+		List<String> sources = new ArrayList<>();
+		List<String> targets = new ArrayList<>();
+		for (int i = 0; i < 12; i++) {
+			sources.add(graph.id(i * 17));
+			targets.add(graph.id(i * 23 + 5));
+		}
+
+		Map<String, Object> matrix = service.matrix(graph, sources, targets, true);
+		Double[][] distances = (Double[][]) matrix.get("distances");
+		List<List<List<String>>> paths = (List<List<List<String>>>) matrix.get("paths");
+		for (int i = 0; i < sources.size(); i++) {
+			for (int j = 0; j < targets.size(); j++) {
+				PathResult expected = dijkstra.findShortestPath(graph, sources.get(i), targets.get(j));
+				if (expected.getPath().isEmpty()) {
+					assertNull(distances[i][j]);
+				} else {
+					assertEquals(expected.getTotalDistance(), distances[i][j], 1e-9);
+					assertEquals(sources.get(i), paths.get(i).get(j).get(0));
+					assertEquals(targets.get(j), paths.get(i).get(j).get(paths.get(i).get(j).size() - 1));
+				}
+			}
+		}
+	}
+
+	@Test
+	void stopsAtTheDeadline() {
+		CompiledGraph graph = CompiledGraph.compile(randomGraph(3, 3000, 9000));
+		List<String> sources = List.of(graph.id(0), graph.id(1), graph.id(2), graph.id(3));
+		List<String> targets = new ArrayList<>();
+		for (int v = 0; v < graph.nodeCount(); v += 60) {
+			targets.add(graph.id(v));
+		}
+		assertThrows(SearchTimeoutException.class, () -> service.matrix(graph, null, sources, targets, false,
+				SearchContext.untraced().withTimeout(Duration.ofNanos(1))));
+		// A generous deadline gives the same matrix as none
+		assertArrayEquals((Double[][]) service.matrix(graph, sources, targets, false).get("distances"),
+				(Double[][]) service.matrix(graph, null, sources, targets, false,
+						SearchContext.untraced().withTimeout(Duration.ofMinutes(1))).get("distances"));
+	}
+
+	@Test
+	void rejectsUnknownNodes() {
+		CompiledGraph graph = CompiledGraph.compile(smallGraph());
+		assertThrows(IllegalArgumentException.class,
+				() -> service.matrix(graph, List.of("A"), List.of("Z"), false));
+	}
+}
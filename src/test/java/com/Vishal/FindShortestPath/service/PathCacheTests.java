@@ -0,0 +1,82 @@
+package com.Vishal.FindShortestPath.service;
+
+import com.Vishal.FindShortestPath.model.CompiledGraph;
+import com.Vishal.FindShortestPath.model.PathResult;
+import com.Vishal.FindShortestPath.model.ShortestPathTree;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.Vishal.FindShortestPath.service.DijkstraServiceTests.smallGraph;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PathCacheTests {
+
+	private final DijkstraService dijkstra = new DijkstraService();
+
+	@Test
+	void evictsLeastRecentlyUsedAndCountsHits() {
+		PathCache cache = new PathCache(2, 1000, 0);
+		cache.put(1, "A", "B", "dijkstra", result(2));
+		cache.put(1, "A", "C", "dijkstra", result(2));
+		assertNotNull(cache.get(1, "A", "B", "dijkstra"));
+		cache.put(1, "A", "D", "dijkstra", result(2));
+
+		assertNull(cache.get(1, "A", "C", "dijkstra"));
+		assertNotNull(cache.get(1, "A", "B", "dijkstra"));
+		assertNull(cache.get(2, "A", "B", "dijkstra"));
+		assertEquals(2, cache.getHits());
+		assertEquals(2, cache.getMisses());
+	}
+
+	@Test
+	void evictsByTotalPathLength() {
+		PathCache cache = new PathCache(100, 10, 0);
+		cache.put(1, "A", "B", "dijkstra", result(6));
+		cache.put(1, "A", "C", "dijkstra", result(6));
+
+		assertNull(cache.get(1, "A", "B", "dijkstra"));
+		assertNotNull(cache.get(1, "A", "C", "dijkstra"));
+		assertEquals(1L, cache.stats().get("evictions"));
+	}
+
+	@Test
+	void answersFromCachedTree() {
+		CompiledGraph graph = CompiledGraph.compile(smallGraph());
+		PathCache cache = new PathCache(10, 1000, 1);
+		ShortestPathTree tree = dijkstra.shortestPathTree(graph, graph.indexOf("A"));
+		cache.putTree(1, tree);
+
+		ShortestPathTree cached = cache.getTree(1, graph.indexOf("A"));
+		assertSame(tree, cached);
+		for (String end : List.of("B", "E", "I")) {
+			PathResult expected = dijkstra.findShortestPath(graph, "A", end);
+			PathResult actual = dijkstra.pathFromTree(graph, cached, end);
+			assertEquals(expected.getTotalDistance(), actual.getTotalDistance(), 1e-9);
+			assertEquals(expected.getPath(), actual.getPath());
+		}
+
+		cache.invalidateAll();
+		assertNull(cache.getTree(1, graph.indexOf("A")));
+	}
+
+	@Test
+	void carriesOverOnlyWhatTheUpdateKeeps() {
+		PathCache cache = new PathCache(10, 1000, 0);
+		cache.put(1, "A", "B", "dijkstra", result(2));
+		cache.put(1, "A", "C", "dijkstra", result(5));
+		cache.put(0, "A", "D", "dijkstra", result(2));
+
+		assertEquals(1, cache.carryOver(1, 2, r -> r.getPath().size() < 3, t -> true));
+		assertNotNull(cache.get(2, "A", "B", "dijkstra"));
+		assertNull(cache.get(2, "A", "C", "dijkstra"));
+		assertNull(cache.get(1, "A", "B", "dijkstra"));
+		assertEquals(2L, cache.stats().get("pathNodes"));
+	}
+
+	private static PathResult result(int nodes) {
+		List<String> path = IntStream.range(0, nodes).mapToObj(i -> "n" + i).toList();
+		return SearchContext.untraced().result(path, nodes, "Dijkstra");
+	}
+}
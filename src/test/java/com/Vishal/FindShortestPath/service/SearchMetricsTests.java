@@ -0,0 +1,43 @@
+package com.Vishal.FindShortestPath.service;
+
+import com.Vishal.FindShortestPath.model.CompiledGraph;
+import com.Vishal.FindShortestPath.model.PathResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static com.Vishal.FindShortestPath.service.DijkstraServiceTests.smallGraph;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchMetricsTests {
+
+	private final DijkstraService dijkstra = new DijkstraService();
+
+	@Test
+	void recordsLatencyWorkAndGraphGauges() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		GraphStore store = new GraphStore();
+		PathCache cache = new PathCache(10, 1000, 0);
+		SearchMetrics metrics = new SearchMetrics(registry, store, cache);
+		assertEquals(0.0, registry.get("graph.nodes").gauge().value());
+
+		CompiledGraph graph = store.publish(CompiledGraph.compile(smallGraph())).graph();
+		SearchContext ctx = SearchContext.untraced();
+		PathResult result = dijkstra.findShortestPath(graph, "A", "I", ctx);
+		metrics.record(result, ctx, 1_000_000);
+		metrics.record(result, null, 1_000);
+		metrics.record(dijkstra.findShortestPath(graph, "A", "Z"), SearchContext.untraced(), 1_000);
+
+		assertEquals(1, registry.get("graph.search").tags("algorithm", "Dijkstra", "outcome", "found").timer().count());
+		assertEquals(1, registry.get("graph.search").tags("outcome", "cached").timer().count());
+		assertEquals(1, registry.get("graph.search").tags("outcome", "unreachable").timer().count());
+		assertEquals(ctx.getNodesSettled(), registry.get("graph.search.nodes.settled").counter().count());
+		assertEquals(ctx.getEdgesRelaxed(), registry.get("graph.search.edges.relaxed").counter().count());
+		assertTrue(ctx.getHeapPushes() > 0);
+		assertEquals(9.0, registry.get("graph.nodes").gauge().value());
+		assertEquals(24.0, registry.get("graph.arcs").gauge().value());
+
+		cache.get(1, "A", "I", "dijkstra");
+		assertEquals(1.0, registry.get("graph.cache.requests").tag("result", "miss").functionCounter().count());
+		assertEquals(0.0, registry.get("graph.cache.hit.ratio").gauge().value());
+	}
+}
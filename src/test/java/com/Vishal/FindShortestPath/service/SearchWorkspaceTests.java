@@ -0,0 +1,59 @@
+package com.Vishal.FindShortestPath.service;
+
+import com.Vishal.FindShortestPath.model.QueueType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchWorkspaceTests {
+
+	@Test
+	void nextSearchSeesNothingOfTheLastOne() {
+		SearchWorkspace.Pool pool = new SearchWorkspace.Pool(1);
+		SearchContext ctx = SearchContext.untraced().withQueue(QueueType.DARY_HEAP);
+
+		SearchWorkspace first = pool.acquire(10);
+		first.reach(3, 2.5, 1);
+		first.settle(3);
+		first.queue(ctx).offer(7, 1.0);
+		assertEquals(2.5, first.distance(3));
+		assertEquals(1, first.parent(3));
+		assertTrue(first.isSettled(3));
+		first.close();
+
+		SearchWorkspace second = pool.acquire(10);
+		assertSame(first, second);
+		assertEquals(Double.MAX_VALUE, second.distance(3));
+		assertEquals(-1, second.parent(3));
+		assertFalse(second.isSettled(3));
+		assertTrue(second.queue(ctx).isEmpty());
+		second.close();
+
+		// Arcs are remembered only for searches that pass them
+		SearchWorkspace withArcs = pool.acquire(10);
+		withArcs.reach(4, 1.5, 2, 17);
+		assertEquals(17, withArcs.arc(4));
+		assertEquals(2, withArcs.parent(4));
+		withArcs.close();
+
+		// A larger graph gets larger arrays
+		SearchWorkspace grown = pool.acquire(1000);
+		grown.reach(999, 1.0, 0);
+		assertEquals(1.0, grown.distance(999));
+		grown.close();
+	}
+
+	@Test
+	void poolKeepsAtMostItsLimit() {
+		SearchWorkspace.Pool pool = new SearchWorkspace.Pool(2);
+		SearchWorkspace a = pool.acquire(4);
+		SearchWorkspace b = pool.acquire(4);
+		SearchWorkspace c = pool.acquire(4);
+		assertNotSame(a, b);
+		assertNotSame(b, c);
+		a.close();
+		b.close();
+		c.close();
+		assertEquals(2, pool.idle());
+	}
+}
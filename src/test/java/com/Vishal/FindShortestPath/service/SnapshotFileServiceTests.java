@@ -0,0 +1,77 @@
+package com.Vishal.FindShortestPath.service;
+
+import com.Vishal.FindShortestPath.model.CompiledGraph;
+import com.Vishal.FindShortestPath.model.ContractionHierarchy;
+import com.Vishal.FindShortestPath.model.LandmarkIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.Vishal.FindShortestPath.service.DijkstraServiceTests.assertPath;
+import static com.Vishal.FindShortestPath.service.DijkstraServiceTests.randomGraph;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotFileServiceTests {
+
+	private final SnapshotFileService files = new SnapshotFileService();
+	private final DijkstraService dijkstra = new DijkstraService();
+	private final LandmarkService landmarkService = new LandmarkService(dijkstra);
+	private final ContractionHierarchyService chService = new ContractionHierarchyService();
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void mappedSnapshotAnswersLikeTheOriginal() throws IOException {
+		CompiledGraph original = CompiledGraph.compile(randomGraph(5, 120, 300));
+		LandmarkIndex landmarks = landmarkService.build(original, 4, "farthest");
+		ContractionHierarchy ch = new ContractionHierarchyBuilder(original).build(contracted -> { });
+
+		Path file = dir.resolve("graph.fspg");
+		long bytes = files.save(file, 7, original, landmarks, ch);
+		assertEquals(Files.size(file), bytes);
+		assertFalse(Files.exists(dir.resolve("graph.fspg.tmp")));
+
+		SnapshotFileService.Loaded loaded = files.load(file);
+		CompiledGraph graph = loaded.graph();
+		assertEquals(7, loaded.savedVersion());
+		assertEquals(original.nodeCount(), graph.nodeCount());
+		assertEquals(original.edgeCount(), graph.edgeCount());
+		assertEquals(-1, graph.indexOf("missing"));
+		for (int v = 0; v < graph.nodeCount(); v++) {
+			assertEquals(original.id(v), graph.id(v));
+			assertEquals(v, graph.indexOf(original.id(v)));
+		}
+
+		assertNotNull(loaded.landmarks());
+		assertNotNull(loaded.hierarchy());
+		assertSame(graph, loaded.landmarks().graph());
+		for (int t = 1; t < graph.nodeCount(); t += 11) {
+			String end = graph.id(t);
+			double expected = dijkstra.findShortestPath(original, "n0", end).getTotalDistance();
+			assertEquals(expected, dijkstra.findShortestPath(graph, "n0", end).getTotalDistance());
+			assertEquals(expected, dijkstra.findShortestPath(graph.reverse(), end, "n0").getTotalDistance(), 1e-9);
+			assertPath(graph, expected, dijkstra.alt(loaded.landmarks(), "n0", end, SearchContext.untraced()));
+			assertPath(graph, expected, chService.query(loaded.hierarchy(), "n0", end, SearchContext.untraced()));
+		}
+	}
+
+	@Test
+	void indexesAreOptionalAndBadFilesAreRejected() throws IOException {
+		CompiledGraph original = CompiledGraph.compile(randomGraph(6, 30, 60));
+		Path file = dir.resolve("plain.fspg");
+		files.save(file, 1, original, null, null);
+
+		SnapshotFileService.Loaded loaded = files.load(file);
+		assertNull(loaded.landmarks());
+		assertNull(loaded.hierarchy());
+		assertEquals(original.edgeCount(), loaded.graph().edgeCount());
+
+		Path junk = dir.resolve("junk.fspg");
+		Files.write(junk, new byte[64]);
+		assertThrows(IllegalArgumentException.class, () -> files.load(junk));
+	}
+}